@@ -1,8 +1,12 @@
 package fr.dreamin.dreamapi.core.cuboid;
 
 import fr.dreamin.dreamapi.api.DreamAPI;
-import fr.dreamin.dreamapi.core.DreamContext;
+import fr.dreamin.dreamapi.core.cuboid.animation.RegionAnimation;
+import fr.dreamin.dreamapi.core.cuboid.animation.RegionAnimationService;
 import fr.dreamin.dreamapi.core.cuboid.core.CuboidService;
+import fr.dreamin.dreamapi.core.cuboid.edit.BlockEditOperation;
+import fr.dreamin.dreamapi.core.cuboid.edit.BlockEditTask;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.bukkit.*;
@@ -10,21 +14,36 @@ import org.bukkit.block.Block;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 @Getter @Setter
 public class Cuboid {
 
+  // Private copies: the cached bounds below are derived from them
+  @Getter(AccessLevel.NONE)
   private Location locA, locB;
 
+  // Cached bounds, recomputed whenever a corner is replaced
+  @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+  private boolean valid;
+  @Setter(AccessLevel.NONE)
+  private World world;
+  @Setter(AccessLevel.NONE)
+  private int minBlockX, minBlockY, minBlockZ, maxBlockX, maxBlockY, maxBlockZ;
+  @Setter(AccessLevel.NONE)
+  private double minX, minY, minZ, maxX, maxY, maxZ;
+
   public Cuboid(Location locA, Location locB) {
-    this.locA = locA;
-    this.locB = locB;
+    this.locA = copy(locA);
+    this.locB = copy(locB);
+    updateBounds();
 
     DreamAPI.getAPI().getService(CuboidService.class).register(this);
   }
@@ -33,13 +52,89 @@ public class Cuboid {
   // ----------------------- PUBLIC METHODS ------------------------
   // ###############################################################
 
+  /**
+   * @return A copy of the first corner; moving the cuboid goes through {@link #setLocA(Location)}
+   */
+  public Location getLocA() {
+    return copy(this.locA);
+  }
+
+  /**
+   * @return A copy of the opposite corner; moving the cuboid goes through {@link #setLocB(Location)}
+   */
+  public Location getLocB() {
+    return copy(this.locB);
+  }
+
+  public void setLocA(Location locA) {
+    this.locA = copy(locA);
+    invalidateBounds();
+  }
+
+  public void setLocB(Location locB) {
+    this.locB = copy(locB);
+    invalidateBounds();
+  }
+
+  /**
+   * Replaces both corners at once, recomputing the cached bounds a single time.
+   * @param locA The first corner
+   * @param locB The opposite corner
+   */
+  public void setLocations(Location locA, Location locB) {
+    this.locA = copy(locA);
+    this.locB = copy(locB);
+    invalidateBounds();
+  }
+
+  /**
+   * Whether both corners are set and in the same world.
+   * All block and entity queries are no-ops while this returns false.
+   * @return true if the cached bounds are usable
+   */
+  public boolean hasBounds() {
+    return this.valid;
+  }
+
+  /**
+   * Checks whether a point lies inside the cuboid, including the +1 extension on the max sides
+   * (same bounds as {@link #isLocationIn(Location)}). The world is not checked.
+   * @return true if the point is inside
+   */
+  public boolean contains(double x, double y, double z) {
+    return this.valid
+      && x >= this.minX && x <= this.maxX + 1
+      && y >= this.minY && y <= this.maxY + 1
+      && z >= this.minZ && z <= this.maxZ + 1;
+  }
+
+  /**
+   * Checks whether a block position lies inside the cuboid. The world is not checked.
+   * @return true if the block is inside
+   */
+  public boolean contains(int bx, int by, int bz) {
+    return this.valid
+      && bx >= this.minBlockX && bx <= this.maxBlockX
+      && by >= this.minBlockY && by <= this.maxBlockY
+      && bz >= this.minBlockZ && bz <= this.maxBlockZ;
+  }
+
+  /**
+   * Number of blocks covered by the cuboid.
+   * @return the block volume, or 0 if the cuboid has no bounds
+   */
+  public long getVolume() {
+    if (!this.valid) return 0;
+    return (long) (this.maxBlockX - this.minBlockX + 1) * (this.maxBlockY - this.minBlockY + 1) * (this.maxBlockZ - this.minBlockZ + 1);
+  }
+
   public Location getCenter() {
-    return (locA == null || locB == null || !locA.getWorld().equals(locB.getWorld())) ? null :
+    return !this.valid ? null :
       locA.clone().add(locB).multiply(0.5);
   }
   public Location getCenterXZ() {
-    return (locA == null || locB == null || !locA.getWorld().equals(locB.getWorld())) ? null :
-      new Location(locA.getWorld(), (locA.getX() + locB.getX()) / 2, Math.min(locA.getY(), locB.getY()) + 1, (locA.getZ() + locB.getZ()) / 2);
+    return !this.valid ? null :
+      new Location(this.world, (locA.getX() + locB.getX()) / 2, this.minY + 1, (locA.getZ() + locB.getZ()) / 2);
   }
 
   /**
@@ -47,22 +142,13 @@ public class Cuboid {
    * @return List of Blocks in the cuboid
    */
   public List<Block> getBlocks() {
-    List<Block> rs = new ArrayList<>();
-
-    if (locA == null || locB == null || !locA.getWorld().equals(locB.getWorld())) return rs;
+    if (!this.valid) return new ArrayList<>();
 
-    World world = locA.getWorld();
+    List<Block> rs = new ArrayList<>((int) Math.min(Integer.MAX_VALUE - 8, getVolume()));
 
-    int minX = Math.min(locA.getBlockX(), locB.getBlockX());
-    int maxX = Math.max(locA.getBlockX(), locB.getBlockX());
-    int minY = Math.min(locA.getBlockY(), locB.getBlockY());
-    int maxY = Math.max(locA.getBlockY(), locB.getBlockY());
-    int minZ = Math.min(locA.getBlockZ(), locB.getBlockZ());
-    int maxZ = Math.max(locA.getBlockZ(), locB.getBlockZ());
-
-    for (int x = minX; x <= maxX; x++) {
-      for (int y = minY; y <= maxY; y++) {
-        for (int z = minZ; z <= maxZ; z++) {
+    for (int x = this.minBlockX; x <= this.maxBlockX; x++) {
+      for (int y = this.minBlockY; y <= this.maxBlockY; y++) {
+        for (int z = this.minBlockZ; z <= this.maxBlockZ; z++) {
           rs.add(world.getBlockAt(x, y, z));
         }
       }
@@ -78,32 +164,81 @@ public class Cuboid {
    * @return List of entities within the cuboid with extended boundaries
    */
   public List<Entity> getEntities(Vector boundaryExtension) {
-    List<Entity> entities = new ArrayList<>();
+    return getEntities(boundaryExtension.getX(), boundaryExtension.getY(), boundaryExtension.getZ());
+  }
 
-    // Ensure locA and locB are in the same world and not null
-    if (locA == null || locB == null || !locA.getWorld().equals(locB.getWorld())) return entities;
+  /**
+   * Retrieves all entities within the cuboid area, extending the max boundaries by the given amounts.
+   * @return List of entities within the cuboid with extended boundaries
+   */
+  public List<Entity> getEntities(double extensionX, double extensionY, double extensionZ) {
+    return getEntities(extensionX, extensionY, extensionZ, null);
+  }
 
-    World world = locA.getWorld();
+  /**
+   * Retrieves the entities within the cuboid area matching a filter, extending the max boundaries by the given amounts.
+   * The filter is tested before an entity is collected.
+   * @param filter Optional filter, null to accept every entity
+   * @return List of matching entities within the cuboid with extended boundaries
+   */
+  public List<Entity> getEntities(double extensionX, double extensionY, double extensionZ, @Nullable Predicate<? super Entity> filter) {
+    List<Entity> entities = new ArrayList<>();
+    forEachEntity(extensionX, extensionY, extensionZ, filter, entities::add);
+    return entities;
+  }
 
-    // Calculate bounds of the cuboid with extension on max boundaries only
-    double minX = Math.min(locA.getX(), locB.getX());
-    double maxX = Math.max(locA.getX(), locB.getX()) + boundaryExtension.getX();
-    double minY = Math.min(locA.getY(), locB.getY());
-    double maxY = Math.max(locA.getY(), locB.getY()) + boundaryExtension.getY();
-    double minZ = Math.min(locA.getZ(), locB.getZ());
-    double maxZ = Math.max(locA.getZ(), locB.getZ()) + boundaryExtension.getZ();
+  /**
+   * Retrieves the entities of a given type within the cuboid area with a default boundary extension of 1.
+   * @param type The entity class to look for
+   * @return List of entities of that type within the cuboid
+   */
+  public <T extends Entity> List<T> getEntities(@NotNull Class<T> type) {
+    List<T> entities = new ArrayList<>();
+    forEachEntity(1, 1, 1, type::isInstance, entity -> entities.add(type.cast(entity)));
+    return entities;
+  }
 
-    // Filter entities within the extended bounds
-    for (Entity entity : world.getEntities()) {
-      Location loc = entity.getLocation();
-      if (loc.getX() >= minX && loc.getX() <= maxX &&
-        loc.getY() >= minY && loc.getY() <= maxY &&
-        loc.getZ() >= minZ && loc.getZ() <= maxZ
-      ) entities.add(entity);
+  /**
+   * Visits every entity within the cuboid area with a default boundary extension of 1, without collecting them.
+   * @param action The action applied to each entity
+   */
+  public void forEachEntity(@NotNull Consumer<? super Entity> action) {
+    forEachEntity(1, 1, 1, null, action);
+  }
 
+  /**
+   * Visits the entities within the cuboid area matching a filter, without collecting them.
+   * <p>
+   * Only the loaded chunks overlapping the extended bounds are visited, instead of every entity of the world.
+   * </p>
+   * @param filter Optional filter, null to accept every entity
+   * @param action The action applied to each matching entity
+   */
+  public void forEachEntity(double extensionX, double extensionY, double extensionZ, @Nullable Predicate<? super Entity> filter, @NotNull Consumer<? super Entity> action) {
+    if (!this.valid) return;
+
+    final double maxX = this.maxX + extensionX;
+    final double maxY = this.maxY + extensionY;
+    final double maxZ = this.maxZ + extensionZ;
+
+    final int maxChunkX = Location.locToBlock(maxX) >> 4;
+    final int maxChunkZ = Location.locToBlock(maxZ) >> 4;
+    final Location loc = new Location(this.world, 0, 0, 0);
+
+    for (int cx = Location.locToBlock(this.minX) >> 4; cx <= maxChunkX; cx++) {
+      for (int cz = Location.locToBlock(this.minZ) >> 4; cz <= maxChunkZ; cz++) {
+        if (!this.world.isChunkLoaded(cx, cz)) continue;
+
+        for (Entity entity : this.world.getChunkAt(cx, cz).getEntities()) {
+          entity.getLocation(loc);
+          if (loc.getX() >= this.minX && loc.getX() <= maxX &&
+            loc.getY() >= this.minY && loc.getY() <= maxY &&
+            loc.getZ() >= this.minZ && loc.getZ() <= maxZ &&
+            (filter == null || filter.test(entity))
+          ) action.accept(entity);
+        }
+      }
     }
-
-    return entities;
   }
 
   /**
@@ -112,7 +247,7 @@ public class Cuboid {
    * @return List of entities within the cuboid with uniformly extended boundaries
    */
   public List<Entity> getEntities(double extension) {
-    return getEntities(new Vector(extension, extension, extension));
+    return getEntities(extension, extension, extension);
   }
 
   /**
@@ -124,30 +259,22 @@ public class Cuboid {
   }
 
   public boolean isLocationIn(@NotNull Location location, Vector boundaryExtension) {
-    return location.getX() >= Math.min(locA.getX(), locB.getX()) && location.getX() <= Math.max(locA.getX(), locB.getX()) + boundaryExtension.getX()
-      && location.getY() >= Math.min(locA.getY(), locB.getY()) && location.getY() <= Math.max(locA.getY(), locB.getY()) + boundaryExtension.getY()
-      && location.getZ() >= Math.min(locA.getZ(), locB.getZ()) && location.getZ() <= Math.max(locA.getZ(), locB.getZ()) + boundaryExtension.getZ();
+    return this.valid
+      && location.getX() >= this.minX && location.getX() <= this.maxX + boundaryExtension.getX()
+      && location.getY() >= this.minY && location.getY() <= this.maxY + boundaryExtension.getY()
+      && location.getZ() >= this.minZ && location.getZ() <= this.maxZ + boundaryExtension.getZ();
   }
 
   public boolean isLocationIn(@NotNull Location location) {
-    return isLocationIn(location, new Vector(1, 1, 1));
+    return contains(location.getX(), location.getY(), location.getZ());
   }
 
   public void setMaterial(Material material) {
-    if (locA == null || locB == null || !locA.getWorld().equals(locB.getWorld())) return;
-
-    World world = locA.getWorld();
+    if (!this.valid) return;
 
-    int minX = Math.min(locA.getBlockX(), locB.getBlockX());
-    int maxX = Math.max(locA.getBlockX(), locB.getBlockX());
-    int minY = Math.min(locA.getBlockY(), locB.getBlockY());
-    int maxY = Math.max(locA.getBlockY(), locB.getBlockY());
-    int minZ = Math.min(locA.getBlockZ(), locB.getBlockZ());
-    int maxZ = Math.max(locA.getBlockZ(), locB.getBlockZ());
-
-    for (int x = minX; x <= maxX; x++) {
-      for (int y = minY; y <= maxY; y++) {
-        for (int z = minZ; z <= maxZ; z++) {
+    for (int x = this.minBlockX; x <= this.maxBlockX; x++) {
+      for (int y = this.minBlockY; y <= this.maxBlockY; y++) {
+        for (int z = this.minBlockZ; z <= this.maxBlockZ; z++) {
           Block block = world.getBlockAt(x, y, z);
           block.setType(material, false);
         }
@@ -156,20 +283,11 @@ public class Cuboid {
   }
 
   public void setBlockData(BlockData blockData) {
-    if (locA == null || locB == null || !locA.getWorld().equals(locB.getWorld())) return;
-
-    World world = locA.getWorld();
+    if (!this.valid) return;
 
-    int minX = Math.min(locA.getBlockX(), locB.getBlockX());
-    int maxX = Math.max(locA.getBlockX(), locB.getBlockX());
-    int minY = Math.min(locA.getBlockY(), locB.getBlockY());
-    int maxY = Math.max(locA.getBlockY(), locB.getBlockY());
-    int minZ = Math.min(locA.getBlockZ(), locB.getBlockZ());
-    int maxZ = Math.max(locA.getBlockZ(), locB.getBlockZ());
-
-    for (int x = minX; x <= maxX; x++) {
-      for (int y = minY; y <= maxY; y++) {
-        for (int z = minZ; z <= maxZ; z++) {
+    for (int x = this.minBlockX; x <= this.maxBlockX; x++) {
+      for (int y = this.minBlockY; y <= this.maxBlockY; y++) {
+        for (int z = this.minBlockZ; z <= this.maxBlockZ; z++) {
           Block block = world.getBlockAt(x, y, z);
           block.setBlockData(blockData, false);
         }
@@ -178,20 +296,11 @@ public class Cuboid {
   }
 
   public void replaceMaterial(Material replaced, Material newMaterial) {
-    if (locA == null || locB == null || !locA.getWorld().equals(locB.getWorld())) return;
-
-    World world = locA.getWorld();
+    if (!this.valid) return;
 
-    int minX = Math.min(locA.getBlockX(), locB.getBlockX());
-    int maxX = Math.max(locA.getBlockX(), locB.getBlockX());
-    int minY = Math.min(locA.getBlockY(), locB.getBlockY());
-    int maxY = Math.max(locA.getBlockY(), locB.getBlockY());
-    int minZ = Math.min(locA.getBlockZ(), locB.getBlockZ());
-    int maxZ = Math.max(locA.getBlockZ(), locB.getBlockZ());
-
-    for (int x = minX; x <= maxX; x++) {
-      for (int y = minY; y <= maxY; y++) {
-        for (int z = minZ; z <= maxZ; z++) {
+    for (int x = this.minBlockX; x <= this.maxBlockX; x++) {
+      for (int y = this.minBlockY; y <= this.maxBlockY; y++) {
+        for (int z = this.minBlockZ; z <= this.maxBlockZ; z++) {
           Block block = world.getBlockAt(x, y, z);
           if (block.getType() == replaced) block.setType(newMaterial, false);
         }
@@ -200,20 +309,11 @@ public class Cuboid {
   }
 
   public void replaceBlockData(BlockData replaced, BlockData newBlockData) {
-    if (locA == null || locB == null || !locA.getWorld().equals(locB.getWorld())) return;
-
-    World world = locA.getWorld();
+    if (!this.valid) return;
 
-    int minX = Math.min(locA.getBlockX(), locB.getBlockX());
-    int maxX = Math.max(locA.getBlockX(), locB.getBlockX());
-    int minY = Math.min(locA.getBlockY(), locB.getBlockY());
-    int maxY = Math.max(locA.getBlockY(), locB.getBlockY());
-    int minZ = Math.min(locA.getBlockZ(), locB.getBlockZ());
-    int maxZ = Math.max(locA.getBlockZ(), locB.getBlockZ());
-
-    for (int x = minX; x <= maxX; x++) {
-      for (int y = minY; y <= maxY; y++) {
-        for (int z = minZ; z <= maxZ; z++) {
+    for (int x = this.minBlockX; x <= this.maxBlockX; x++) {
+      for (int y = this.minBlockY; y <= this.maxBlockY; y++) {
+        for (int z = this.minBlockZ; z <= this.maxBlockZ; z++) {
           Block block = world.getBlockAt(x, y, z);
           if (block.getBlockData() == replaced) block.setBlockData(newBlockData, false);
         }
@@ -221,130 +321,73 @@ public class Cuboid {
     }
   }
 
-  public void setMaterialEveryTick(final Material material, long tick, boolean topToBottom) {
-    final int minY = Math.min(locA.getBlockY(), locB.getBlockY());
-    final int maxY = Math.max(locA.getBlockY(), locB.getBlockY());
-
-    new BukkitRunnable() {
-      private int currentY = topToBottom ? maxY : minY;
-
-      @Override
-      public void run() {
-        if (topToBottom ? currentY < minY : currentY > maxY) {
-          this.cancel();
-          return;
-        }
-
-        for (int x = Math.min(locA.getBlockX(), locB.getBlockX()); x <= Math.max(locA.getBlockX(), locB.getBlockX()); x++) {
-          for (int z = Math.min(locA.getBlockZ(), locB.getBlockZ()); z <= Math.max(locA.getBlockZ(), locB.getBlockZ()); z++) {
-            Block block = locA.getWorld().getBlockAt(x, currentY, z);
-            block.setType(material, false);
-          }
-        }
-
-        if (topToBottom) currentY--;
-        else currentY++;
-      }
-    }.runTaskTimer(DreamContext.getPlugin(), 0L, tick);
+  /**
+   * Starts a chunk-batched edit of the whole cuboid, spread over several ticks.
+   * @param operation What each block becomes
+   * @param blocksPerTick Maximum number of blocks visited per tick
+   * @return The running task, exposing progress and a completion future
+   */
+  public BlockEditTask edit(@NotNull BlockEditOperation operation, int blocksPerTick) {
+    return BlockEditTask.create(this)
+      .operation(operation)
+      .blocksPerTick(blocksPerTick)
+      .build()
+      .start();
   }
 
-  public void setBlockDataEveryTick(final BlockData blockData, long tick, boolean topToBottom) {
-    final int minY = Math.min(locA.getBlockY(), locB.getBlockY());
-    final int maxY = Math.max(locA.getBlockY(), locB.getBlockY());
-
-    new BukkitRunnable() {
-      private int currentY = topToBottom ? maxY : minY;
-
-      @Override
-      public void run() {
-        if (topToBottom ? currentY < minY : currentY > maxY) {
-          this.cancel();
-          return;
-        }
-
-        for (int x = Math.min(locA.getBlockX(), locB.getBlockX()); x <= Math.max(locA.getBlockX(), locB.getBlockX()); x++) {
-          for (int z = Math.min(locA.getBlockZ(), locB.getBlockZ()); z <= Math.max(locA.getBlockZ(), locB.getBlockZ()); z++) {
-            Block block = locA.getWorld().getBlockAt(x, currentY, z);
-            block.setBlockData(blockData, false);
-          }
-        }
-
-        if (topToBottom) currentY--;
-        else currentY++;
-      }
-    }.runTaskTimer(DreamContext.getPlugin(), 0L, tick);
+  public BlockEditTask setMaterialBatched(Material material, int blocksPerTick) {
+    return edit(BlockEditOperation.set(material), blocksPerTick);
   }
 
-  public void replaceMaterialEveryTick(final Material replaced, final Material newMaterial, long tick, boolean topToBottom) {
-    final int minY = Math.min(locA.getBlockY(), locB.getBlockY());
-    final int maxY = Math.max(locA.getBlockY(), locB.getBlockY());
-
-    new BukkitRunnable() {
-      private int currentY = topToBottom ? maxY : minY;
-
-      @Override
-      public void run() {
-        if (topToBottom ? currentY < minY : currentY > maxY) {
-          this.cancel();
-          return;
-        }
+  public BlockEditTask setBlockDataBatched(BlockData blockData, int blocksPerTick) {
+    return edit(BlockEditOperation.set(blockData), blocksPerTick);
+  }
 
-        for (int x = Math.min(locA.getBlockX(), locB.getBlockX()); x <= Math.max(locA.getBlockX(), locB.getBlockX()); x++) {
-          for (int z = Math.min(locA.getBlockZ(), locB.getBlockZ()); z <= Math.max(locA.getBlockZ(), locB.getBlockZ()); z++) {
-            Block block = locA.getWorld().getBlockAt(x, currentY, z);
-            if (block.getType() == replaced) block.setType(newMaterial, false); // Remplace uniquement les blocs avec le matériau spécifique
-          }
-        }
+  public BlockEditTask replaceMaterialBatched(Material replaced, Material newMaterial, int blocksPerTick) {
+    return edit(BlockEditOperation.replace(replaced, newMaterial), blocksPerTick);
+  }
 
-        if (topToBottom) currentY--;
-        else currentY++;
-      }
-    }.runTaskTimer(DreamContext.getPlugin(), 0L, tick);
+  public BlockEditTask replaceBlockDataBatched(BlockData replaced, BlockData newBlockData, int blocksPerTick) {
+    return edit(BlockEditOperation.replace(replaced, newBlockData), blocksPerTick);
   }
 
-  public void replaceBlockDataEveryTick(final BlockData replaced, final BlockData newBlockData, long tick, boolean topToBottom) {
-    final int minY = Math.min(locA.getBlockY(), locB.getBlockY());
-    final int maxY = Math.max(locA.getBlockY(), locB.getBlockY());
+  /**
+   * Sets the material layer by layer, one Y layer every {@code tick} ticks.
+   * Runs on the shared {@link RegionAnimationService}, within its global per-tick block budget.
+   * @return The running animation
+   */
+  public RegionAnimation setMaterialEveryTick(final Material material, long tick, boolean topToBottom) {
+    return animate(BlockEditOperation.set(material), tick, topToBottom);
+  }
 
-    new BukkitRunnable() {
-      private int currentY = topToBottom ? maxY : minY;
+  public RegionAnimation setBlockDataEveryTick(final BlockData blockData, long tick, boolean topToBottom) {
+    return animate(BlockEditOperation.set(blockData), tick, topToBottom);
+  }
 
-      @Override
-      public void run() {
-        if (topToBottom ? currentY < minY : currentY > maxY) {
-          this.cancel();
-          return;
-        }
+  public RegionAnimation replaceMaterialEveryTick(final Material replaced, final Material newMaterial, long tick, boolean topToBottom) {
+    return animate(BlockEditOperation.replace(replaced, newMaterial), tick, topToBottom); // Remplace uniquement les blocs avec le matériau spécifique
+  }
 
-        for (int x = Math.min(locA.getBlockX(), locB.getBlockX()); x <= Math.max(locA.getBlockX(), locB.getBlockX()); x++) {
-          for (int z = Math.min(locA.getBlockZ(), locB.getBlockZ()); z <= Math.max(locA.getBlockZ(), locB.getBlockZ()); z++) {
-            Block block = locA.getWorld().getBlockAt(x, currentY, z);
-            if (block.getBlockData().matches(replaced)) block.setBlockData(newBlockData, false); // Remplace uniquement les blocs avec le BlockData spécifique
-          }
-        }
+  public RegionAnimation replaceBlockDataEveryTick(final BlockData replaced, final BlockData newBlockData, long tick, boolean topToBottom) {
+    return animate(BlockEditOperation.replace(replaced, newBlockData), tick, topToBottom); // Remplace uniquement les blocs avec le BlockData spécifique
+  }
 
-        if (topToBottom) currentY--;
-        else currentY++;
-      }
-    }.runTaskTimer(DreamContext.getPlugin(), 0L, tick);
+  /**
+   * Applies an operation layer by layer, one Y layer every {@code tick} ticks.
+   * @return The running animation
+   */
+  public RegionAnimation animate(@NotNull BlockEditOperation operation, long tick, boolean topToBottom) {
+    return DreamAPI.getAPI().getService(RegionAnimationService.class).animate(this, operation, tick, topToBottom);
   }
 
   public int countBlocksOfMaterial(Material material) {
-    if (locA == null || locB == null || !locA.getWorld().equals(locB.getWorld())) return 0;
+    if (!this.valid) return 0;
 
-    World world = locA.getWorld();
     int count = 0;
 
-    int minX = Math.min(locA.getBlockX(), locB.getBlockX());
-    int maxX = Math.max(locA.getBlockX(), locB.getBlockX());
-    int minY = Math.min(locA.getBlockY(), locB.getBlockY());
-    int maxY = Math.max(locA.getBlockY(), locB.getBlockY());
-    int minZ = Math.min(locA.getBlockZ(), locB.getBlockZ());
-    int maxZ = Math.max(locA.getBlockZ(), locB.getBlockZ());
-
-    for (int x = minX; x <= maxX; x++) {
-      for (int y = minY; y <= maxY; y++) {
-        for (int z = minZ; z <= maxZ; z++) {
+    for (int x = this.minBlockX; x <= this.maxBlockX; x++) {
+      for (int y = this.minBlockY; y <= this.maxBlockY; y++) {
+        for (int z = this.minBlockZ; z <= this.maxBlockZ; z++) {
           Block block = world.getBlockAt(x, y, z);
           if (block.getType() == material) count++;
         }
@@ -355,21 +398,13 @@ public class Cuboid {
   }
 
   public int countBlocksOfBlockData(BlockData blockData) {
-    if (locA == null || locB == null || !locA.getWorld().equals(locB.getWorld())) return 0;
+    if (!this.valid) return 0;
 
-    World world = locA.getWorld();
     int count = 0;
 
-    int minX = Math.min(locA.getBlockX(), locB.getBlockX());
-    int maxX = Math.max(locA.getBlockX(), locB.getBlockX());
-    int minY = Math.min(locA.getBlockY(), locB.getBlockY());
-    int maxY = Math.max(locA.getBlockY(), locB.getBlockY());
-    int minZ = Math.min(locA.getBlockZ(), locB.getBlockZ());
-    int maxZ = Math.max(locA.getBlockZ(), locB.getBlockZ());
-
-    for (int x = minX; x <= maxX; x++) {
-      for (int y = minY; y <= maxY; y++) {
-        for (int z = minZ; z <= maxZ; z++) {
+    for (int x = this.minBlockX; x <= this.maxBlockX; x++) {
+      for (int y = this.minBlockY; y <= this.maxBlockY; y++) {
+        for (int z = this.minBlockZ; z <= this.maxBlockZ; z++) {
           Block block = world.getBlockAt(x, y, z);
           if (block.getBlockData().matches(blockData)) count++;
         }
@@ -380,18 +415,17 @@ public class Cuboid {
   }
 
   public void show(@NotNull Player player, double radius, boolean showBordersOnly, Vector boundaryExtension) {
-    if (locA == null || locB == null || !locA.getWorld().equals(locB.getWorld()) || !player.getWorld().equals(locA.getWorld())) return;
+    if (!this.valid || !player.getWorld().equals(this.world)) return;
 
     Location plrLoc = player.getLocation();
-    World world = locA.getWorld();
 
     // Define bounds with boundary extension on max sides only
-    double minX = Math.min(locA.getX(), locB.getX());
-    double maxX = Math.max(locA.getX(), locB.getX()) + boundaryExtension.getX();
-    double minY = Math.min(locA.getY(), locB.getY());
-    double maxY = Math.max(locA.getY(), locB.getY()) + boundaryExtension.getY();
-    double minZ = Math.min(locA.getZ(), locB.getZ());
-    double maxZ = Math.max(locA.getZ(), locB.getZ()) + boundaryExtension.getZ();
+    double minX = this.minX;
+    double maxX = this.maxX + boundaryExtension.getX();
+    double minY = this.minY;
+    double maxY = this.maxY + boundaryExtension.getY();
+    double minZ = this.minZ;
+    double maxZ = this.maxZ + boundaryExtension.getZ();
 
     // Loop through each block within the cuboid bounds with extensions
     for (double x = minX; x <= maxX; x++) {
@@ -411,4 +445,49 @@ public class Cuboid {
     }
   }
 
+  // ###############################################################
+  // ---------------------- PROTECTED METHODS ----------------------
+  // ###############################################################
+
+  /**
+   * Recomputes the cached bounds and re-indexes the cuboid in the {@link CuboidService}.
+   * Must be called whenever a corner is changed without going through the setters.
+   */
+  protected void invalidateBounds() {
+    updateBounds();
+    DreamAPI.getAPI().getService(CuboidService.class).refresh(this);
+  }
+
+  // ###############################################################
+  // ----------------------- PRIVATE METHODS -----------------------
+  // ###############################################################
+
+  private static @Nullable Location copy(final @Nullable Location location) {
+    return location == null ? null : location.clone();
+  }
+
+  private void updateBounds() {
+    this.valid = this.locA != null && this.locB != null && this.locA.getWorld() != null && this.locA.getWorld().equals(this.locB.getWorld());
+    if (!this.valid) {
+      this.world = null;
+      return;
+    }
+
+    this.world = this.locA.getWorld();
+
+    this.minX = Math.min(this.locA.getX(), this.locB.getX());
+    this.minY = Math.min(this.locA.getY(), this.locB.getY());
+    this.minZ = Math.min(this.locA.getZ(), this.locB.getZ());
+    this.maxX = Math.max(this.locA.getX(), this.locB.getX());
+    this.maxY = Math.max(this.locA.getY(), this.locB.getY());
+    this.maxZ = Math.max(this.locA.getZ(), this.locB.getZ());
+
+    this.minBlockX = Math.min(this.locA.getBlockX(), this.locB.getBlockX());
+    this.minBlockY = Math.min(this.locA.getBlockY(), this.locB.getBlockY());
+    this.minBlockZ = Math.min(this.locA.getBlockZ(), this.locB.getBlockZ());
+    this.maxBlockX = Math.max(this.locA.getBlockX(), this.locB.getBlockX());
+    this.maxBlockY = Math.max(this.locA.getBlockY(), this.locB.getBlockY());
+    this.maxBlockZ = Math.max(this.locA.getBlockZ(), this.locB.getBlockZ());
+  }
+
 }
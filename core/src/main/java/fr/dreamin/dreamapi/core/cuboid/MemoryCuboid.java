@@ -1,69 +1,227 @@
 package fr.dreamin.dreamapi.core.cuboid;
 
 import fr.dreamin.dreamapi.core.DreamContext;
+import fr.dreamin.dreamapi.core.cuboid.animation.RegionAnimation;
+import fr.dreamin.dreamapi.core.cuboid.core.CuboidService;
+import fr.dreamin.dreamapi.core.cuboid.edit.BlockEditOperation;
+import fr.dreamin.dreamapi.core.cuboid.edit.BlockEditTask;
+import fr.dreamin.dreamapi.core.cuboid.snapshot.BlockSnapshot;
+import fr.dreamin.dreamapi.core.cuboid.snapshot.EntitySnapshot;
+import fr.dreamin.dreamapi.core.cuboid.snapshot.SnapshotFile;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.bukkit.Location;
+import org.bukkit.Material;
 import org.bukkit.World;
-import org.bukkit.block.Block;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.Entity;
-import org.bukkit.entity.EntityType;
-import org.bukkit.scheduler.BukkitRunnable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Getter @Setter
 public final class MemoryCuboid extends Cuboid {
 
-  private List<SavedBlockData> savedBlocks = new ArrayList<>();
-  private List<SavedEntityData> savedEntities = new ArrayList<>();
+  @Setter(AccessLevel.NONE)
+  private @Nullable BlockSnapshot snapshot;
+  private List<EntitySnapshot> savedEntities = new ArrayList<>();
+
+  // Dirty tracking: snapshot indices changed since the last save/restore
+  @Setter(AccessLevel.NONE)
+  private boolean trackChanges = false;
+  @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+  private @Nullable BitSet dirty;
 
   public MemoryCuboid(Location locA, Location locB) {
+    this(locA, locB, true);
+  }
+
+  private MemoryCuboid(Location locA, Location locB, boolean capture) {
     super(locA, locB);
-    saveAll();
+    if (capture) saveAll();
+  }
+
+  /**
+   * Creates a memory cuboid from a snapshot file written by {@link #saveToFile(Path, boolean)},
+   * without reading the current world content.
+   * @param path The snapshot file
+   * @return The memory cuboid covering the saved region
+   * @throws IOException if the file cannot be read
+   */
+  public static MemoryCuboid fromFile(@NotNull Path path) throws IOException {
+    final var content = SnapshotFile.read(path);
+    final var blocks = content.blocks();
+    final var world = blocks.getWorld();
+
+    final var cuboid = new MemoryCuboid(
+      new Location(world, blocks.getOriginX(), blocks.getOriginY(), blocks.getOriginZ()),
+      new Location(world, blocks.getOriginX() + blocks.getSizeX() - 1, blocks.getOriginY() + blocks.getSizeY() - 1, blocks.getOriginZ() + blocks.getSizeZ() - 1),
+      false
+    );
+    cuboid.apply(content);
+    return cuboid;
+  }
+
+  /**
+   * Writes the saved blocks and entities to a binary snapshot file (see {@link SnapshotFile}).
+   * @param path     The destination file
+   * @param compress true to deflate the block and entity data
+   * @throws IOException if the file cannot be written
+   */
+  public void saveToFile(@NotNull Path path, boolean compress) throws IOException {
+    if (this.snapshot == null)
+      throw new IllegalStateException("No saved blocks to write");
+
+    SnapshotFile.write(path, this.snapshot, this.savedEntities, compress);
+  }
+
+  /**
+   * Replaces the saved blocks and entities with the content of a snapshot file.
+   * The file is loaded into this cuboid's world.
+   * @param path The snapshot file
+   * @throws IOException if the file cannot be read or does not cover this cuboid's bounds
+   */
+  public void loadFromFile(@NotNull Path path) throws IOException {
+    if (!hasBounds())
+      throw new IllegalStateException("Cannot load a snapshot into a cuboid without bounds");
+
+    final var content = SnapshotFile.read(path, getWorld());
+    final var blocks = content.blocks();
+    if (blocks.getOriginX() != getMinBlockX() || blocks.getOriginY() != getMinBlockY() || blocks.getOriginZ() != getMinBlockZ()
+      || blocks.getSizeX() != getMaxBlockX() - getMinBlockX() + 1
+      || blocks.getSizeY() != getMaxBlockY() - getMinBlockY() + 1
+      || blocks.getSizeZ() != getMaxBlockZ() - getMinBlockZ() + 1)
+      throw new IOException(String.format(
+        "Snapshot %s covers %d,%d,%d (%dx%dx%d), which does not match the cuboid bounds",
+        path, blocks.getOriginX(), blocks.getOriginY(), blocks.getOriginZ(), blocks.getSizeX(), blocks.getSizeY(), blocks.getSizeZ()
+      ));
+
+    apply(content);
+  }
+
+  /**
+   * Replaces the saved blocks. Changes tracked against the previous snapshot are discarded.
+   * @param snapshot The new snapshot, or null to forget the saved blocks
+   */
+  public void setSnapshot(@Nullable BlockSnapshot snapshot) {
+    this.snapshot = snapshot;
+    resetDirty();
   }
 
   // Méthode pour sauvegarder uniquement les blocs
   public void saveBlocks() {
-    savedBlocks.clear();
-    for (int x = Math.min(getLocA().getBlockX(), getLocB().getBlockX()); x <= Math.max(getLocA().getBlockX(), getLocB().getBlockX()); x++) {
-      for (int y = Math.min(getLocA().getBlockY(), getLocB().getBlockY()); y <= Math.max(getLocA().getBlockY(), getLocB().getBlockY()); y++) {
-        for (int z = Math.min(getLocA().getBlockZ(), getLocB().getBlockZ()); z <= Math.max(getLocA().getBlockZ(), getLocB().getBlockZ()); z++) {
-          Block block = getLocA().getWorld().getBlockAt(x, y, z);
-          savedBlocks.add(new SavedBlockData(block.getLocation(), block.getState().getBlockData()));
-        }
-      }
+    this.snapshot = hasBounds() ? BlockSnapshot.capture(this) : null;
+    resetDirty();
+  }
+
+  /**
+   * Captures the blocks off the main thread (see {@link BlockSnapshot#captureAsync(Cuboid)}).
+   * Must be called from the main thread; the snapshot is swapped in on the main thread
+   * before the returned future completes.
+   * @return A future completed with this cuboid once the new snapshot is in place
+   */
+  public CompletableFuture<MemoryCuboid> saveBlocksAsync() {
+    if (!hasBounds()) {
+      saveBlocks();
+      return CompletableFuture.completedFuture(this);
     }
+
+    final var plugin = DreamContext.getPlugin();
+    return BlockSnapshot.captureAsync(this)
+      .thenApplyAsync(captured -> {
+        this.snapshot = captured;
+        resetDirty();
+        return this;
+      }, runnable -> plugin.getServer().getScheduler().runTask(plugin, runnable));
   }
 
-  // Méthode pour restaurer uniquement les blocs
+  /**
+   * Restores the saved blocks.
+   * When change tracking is enabled, only the blocks reported as changed are rewritten.
+   */
   public void restoreBlocks() {
-    savedBlocks.forEach(data -> {
-      data.getLocation().getWorld().getBlockAt(data.getLocation()).setBlockData(data.getBlockData(), false);
-    });
+    if (this.snapshot == null) return;
+
+    if (this.dirty != null) {
+      restoreChangedBlocks();
+      return;
+    }
+
+    this.snapshot.restore();
+  }
+
+  /**
+   * Rewrites only the blocks reported as changed since the last save or restore.
+   * Does nothing unless change tracking is enabled.
+   */
+  public void restoreChangedBlocks() {
+    if (this.snapshot == null || this.dirty == null) return;
+
+    for (int i = this.dirty.nextSetBit(0); i >= 0; i = this.dirty.nextSetBit(i + 1))
+      this.snapshot.restore(i);
+
+    this.dirty.clear();
+  }
+
+  /**
+   * Enables or disables change tracking.
+   * <p>
+   * While enabled, the {@link CuboidService} records the blocks changed inside this cuboid
+   * (place, break, explosions, fluids, growth, pistons, ...), and {@link #restoreBlocks()} only rewrites those.
+   * Writes made through this cuboid's own API ({@link #setMaterial(Material)}, {@link #edit(BlockEditOperation, int)},
+   * {@link #animate(BlockEditOperation, long, boolean)}, ...) are tracked as well.
+   * Changes made by other plugins without firing events must be reported through {@link #markDirty(int, int, int)}.
+   * </p>
+   * @param trackChanges true to track changes
+   * @return this cuboid
+   */
+  public MemoryCuboid trackChanges(boolean trackChanges) {
+    this.trackChanges = trackChanges;
+    resetDirty();
+    return this;
+  }
+
+  /**
+   * Marks a block as changed so that the next differential restore rewrites it.
+   * Ignored when change tracking is disabled or the block is outside the snapshot.
+   */
+  public void markDirty(int x, int y, int z) {
+    if (this.dirty == null || this.snapshot == null || !this.snapshot.contains(x, y, z)) return;
+    this.dirty.set(this.snapshot.indexOf(x, y, z));
+  }
+
+  /**
+   * Marks every saved block as changed, so that the next differential restore rewrites the whole snapshot.
+   * Ignored when change tracking is disabled.
+   */
+  public void markAllDirty() {
+    if (this.dirty == null || this.snapshot == null) return;
+    this.dirty.set(0, this.snapshot.size());
+  }
+
+  /** @return Number of blocks reported as changed since the last save or restore */
+  public int getDirtyCount() {
+    return this.dirty == null ? 0 : this.dirty.cardinality();
   }
 
   // Méthode pour sauvegarder uniquement les entités
   public void saveEntities() {
     savedEntities.clear();
-    World world = getLocA().getWorld();
-    for (Entity entity : world.getEntities()) {
-      Location loc = entity.getLocation();
-      if (isLocationIn(loc)) {
-        savedEntities.add(new SavedEntityData(loc, entity.getType()));
-      }
-    }
+    forEachEntity(entity -> savedEntities.add(EntitySnapshot.of(entity)));
   }
 
   // Méthode pour restaurer uniquement les entités
   public void restoreEntities() {
     removeAllEntities();
     World world = getLocA().getWorld();
-    savedEntities.forEach(data -> {
-      Entity entity = world.spawnEntity(data.getLocation(), data.getEntityType());
-    });
+    savedEntities.forEach(data -> data.spawn(world));
   }
 
   public void saveAll() {
@@ -71,62 +229,102 @@ public final class MemoryCuboid extends Cuboid {
     saveEntities();
   }
 
+  /**
+   * Saves the entities right away and the blocks asynchronously.
+   * @see #saveBlocksAsync()
+   */
+  public CompletableFuture<MemoryCuboid> saveAllAsync() {
+    saveEntities();
+    return saveBlocksAsync();
+  }
+
   public void restoreAll() {
     restoreBlocks();
     restoreEntities();
   }
 
   public void removeAllEntities() {
-    getLocA().getWorld().getEntities().stream()
-      .filter(entity -> isLocationIn(entity.getLocation())) // Filter entities inside the cuboid
-      .forEach(Entity::remove);
+    forEachEntity(Entity::remove); // Only visits the chunks overlapping the cuboid
+  }
+
+  /**
+   * Restores the saved blocks layer by layer, one Y layer every {@code tick} ticks,
+   * on the shared {@link fr.dreamin.dreamapi.core.cuboid.animation.RegionAnimationService}.
+   * @return The running animation, or null if no blocks are saved
+   */
+  public @Nullable RegionAnimation removeBlocksEverySecond(long tick, boolean topToBottom) {
+    if (this.snapshot == null) return null;
+
+    final var blocks = this.snapshot;
+    return super.animate(block -> blocks.contains(block.getX(), block.getY(), block.getZ())
+      ? blocks.blockData(block.getX(), block.getY(), block.getZ())
+      : null, tick, topToBottom);
   }
 
-  public void removeBlocksEverySecond(long tick, boolean topToBottom) {
-    final int minY = Math.min(getLocA().getBlockY(), getLocB().getBlockY());
-    final int maxY = Math.max(getLocA().getBlockY(), getLocB().getBlockY());
+  // ###############################################################
+  // ------------------------ TRACKED WRITES -----------------------
+  // ###############################################################
 
-    new BukkitRunnable() {
-      private int currentY = topToBottom ? maxY : minY;
+  @Override
+  public void setMaterial(Material material) {
+    super.setMaterial(material);
+    markAllDirty();
+  }
 
-      @Override
-      public void run() {
-        if (topToBottom ? currentY < minY : currentY > maxY) {
-          this.cancel();
-          return;
-        }
+  @Override
+  public void setBlockData(BlockData blockData) {
+    super.setBlockData(blockData);
+    markAllDirty();
+  }
 
-        for (SavedBlockData savedBlock : savedBlocks) {
-          if (savedBlock.getLocation().getBlockY() == currentY)
-            getLocA().getWorld().getBlockAt(savedBlock.getLocation()).setBlockData(savedBlock.getBlockData(), false);
-        }
+  @Override
+  public void replaceMaterial(Material replaced, Material newMaterial) {
+    super.replaceMaterial(replaced, newMaterial);
+    markAllDirty();
+  }
 
-        if (topToBottom) currentY--;
-        else currentY++;
-      }
-    }.runTaskTimer(DreamContext.getPlugin(), 0L, tick); // 20 ticks = 1 seconde
+  @Override
+  public void replaceBlockData(BlockData replaced, BlockData newBlockData) {
+    super.replaceBlockData(replaced, newBlockData);
+    markAllDirty();
   }
 
-  @Getter @Setter
-  private static class SavedBlockData {
-    private final Location location;
-    private final BlockData blockData;
+  @Override
+  public BlockEditTask edit(@NotNull BlockEditOperation operation, int blocksPerTick) {
+    return super.edit(tracked(operation), blocksPerTick);
+  }
 
-    public SavedBlockData(Location location, BlockData blockData) {
-      this.location = location;
-      this.blockData = blockData;
-    }
+  @Override
+  public RegionAnimation animate(@NotNull BlockEditOperation operation, long tick, boolean topToBottom) {
+    return super.animate(tracked(operation), tick, topToBottom);
   }
 
-  @Getter @Setter
-  private static class SavedEntityData {
-    private final Location location;
-    private final EntityType entityType;
+  // ###############################################################
+  // ----------------------- PRIVATE METHODS -----------------------
+  // ###############################################################
 
+  /**
+   * Wraps a batched operation so that each block it writes is marked dirty when it is written,
+   * including the blocks written after a restore that happens mid-edit.
+   */
+  private @NotNull BlockEditOperation tracked(final @NotNull BlockEditOperation operation) {
+    if (!this.trackChanges) return operation;
 
-    public SavedEntityData(Location location, EntityType entityType) {
-      this.location = location;
-      this.entityType = entityType;
-    }
+    return block -> {
+      final var data = operation.apply(block);
+      if (data != null) markDirty(block.getX(), block.getY(), block.getZ());
+      return data;
+    };
+  }
+
+  private void apply(@NotNull SnapshotFile.Content content) {
+    this.snapshot = content.blocks();
+    this.savedEntities = new ArrayList<>(content.entities());
+    resetDirty();
   }
+
+  private void resetDirty() {
+    this.dirty = this.trackChanges && this.snapshot != null ? new BitSet(this.snapshot.size()) : null;
+  }
+
 }
@@ -83,8 +83,7 @@ public final class MovableCuboid extends Cuboid {
       }
     }
 
-    // Shift locA and locB by the offset
-    setLocA(getLocA().clone().add(offset));
-    setLocB(getLocB().clone().add(offset));
+    // Shift locA and locB by the offset (recomputes the cached bounds once)
+    setLocations(getLocA().add(offset), getLocB().add(offset));
   }
 }
@@ -0,0 +1,148 @@
+package fr.dreamin.dreamapi.core.cuboid.animation;
+
+import fr.dreamin.dreamapi.core.cuboid.Cuboid;
+import fr.dreamin.dreamapi.core.cuboid.edit.BlockEditOperation;
+import fr.dreamin.dreamapi.core.cuboid.edit.BlockEditTask;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A layer-by-layer edit of a region, driven by the {@link RegionAnimationService}.
+ * <p>
+ * One horizontal layer is processed every {@code interval} ticks. Layers bigger than the
+ * share of the global block budget an animation receives are spread over several ticks;
+ * the next layer is then due {@code interval} ticks after the previous one completed.
+ * </p>
+ */
+@Getter
+@Accessors(fluent = true)
+public final class RegionAnimation {
+
+  private final @NotNull World world;
+  private final int minX, minY, minZ, maxX, maxY, maxZ;
+  private final @NotNull BlockEditOperation operation;
+  private final long interval;
+  private final boolean topToBottom;
+
+  private final int totalLayers;
+  private int layersDone = 0;
+  private long visited = 0;
+  private long changed = 0;
+  private long ticks = 0;
+  private boolean paused = false;
+
+  private final @NotNull CompletableFuture<BlockEditTask.Result> completion = new CompletableFuture<>();
+
+  // Cursor
+  @Getter(AccessLevel.NONE) private long nextDue = 0;
+  @Getter(AccessLevel.NONE) private int x, y, z;
+
+  RegionAnimation(final @NotNull Cuboid region, final @NotNull BlockEditOperation operation, final long interval, final boolean topToBottom) {
+    if (!region.hasBounds())
+      throw new IllegalStateException("Cannot animate a cuboid without bounds");
+
+    this.world = region.getWorld();
+    this.minX = region.getMinBlockX();
+    this.minY = region.getMinBlockY();
+    this.minZ = region.getMinBlockZ();
+    this.maxX = region.getMaxBlockX();
+    this.maxY = region.getMaxBlockY();
+    this.maxZ = region.getMaxBlockZ();
+    this.operation = operation;
+    this.interval = Math.max(1, interval);
+    this.topToBottom = topToBottom;
+    this.totalLayers = this.maxY - this.minY + 1;
+
+    this.x = this.minX;
+    this.y = topToBottom ? this.maxY : this.minY;
+    this.z = this.minZ;
+  }
+
+  // ###############################################################
+  // ----------------------- PUBLIC METHODS ------------------------
+  // ###############################################################
+
+  /** @return The ratio of completed layers, between 0 and 1 */
+  public double progress() {
+    return (double) this.layersDone / this.totalLayers;
+  }
+
+  public boolean isDone() {
+    return this.completion.isDone();
+  }
+
+  public RegionAnimation pause() {
+    this.paused = true;
+    return this;
+  }
+
+  public RegionAnimation resume() {
+    this.paused = false;
+    return this;
+  }
+
+  /** Stops the animation where it is; the completion future is cancelled. */
+  public void cancel() {
+    this.completion.cancel(false);
+  }
+
+  // ###############################################################
+  // ---------------------- SCHEDULER METHODS ----------------------
+  // ###############################################################
+
+  /** @return Whether the animation wants to process blocks at the given scheduler tick */
+  boolean isDue(final long tick) {
+    return !this.paused && !isDone() && tick >= this.nextDue;
+  }
+
+  /**
+   * Processes up to {@code budget} blocks of the current layer.
+   * @return The number of blocks processed
+   */
+  int step(final long tick, final int budget) {
+    if (!isDue(tick)) return 0;
+
+    int used = 0;
+    while (used < budget) {
+      final var block = this.world.getBlockAt(this.x, this.y, this.z);
+      final var data = this.operation.apply(block);
+      // Same check as BlockEditTask: blocks already in the target state are neither rewritten nor counted
+      if (data != null && !(block.getType() == data.getMaterial() && block.getBlockData().equals(data))) {
+        block.setBlockData(data, false);
+        this.changed++;
+      }
+
+      this.visited++;
+      used++;
+
+      if (++this.x <= this.maxX) continue;
+      this.x = this.minX;
+      if (++this.z <= this.maxZ) continue;
+      this.z = this.minZ;
+
+      // Layer complete
+      this.layersDone++;
+      this.y += this.topToBottom ? -1 : 1;
+
+      if (this.layersDone >= this.totalLayers)
+        this.completion.complete(new BlockEditTask.Result(this.visited, this.changed, this.ticks + 1));
+      else
+        this.nextDue = tick + this.interval;
+
+      break;
+    }
+
+    return used;
+  }
+
+  /** Counts a scheduler tick towards {@link BlockEditTask.Result#ticks()}, unless paused. */
+  void tick() {
+    if (!this.paused) this.ticks++;
+  }
+
+}
@@ -0,0 +1,39 @@
+package fr.dreamin.dreamapi.core.cuboid.animation;
+
+import fr.dreamin.dreamapi.core.cuboid.Cuboid;
+import fr.dreamin.dreamapi.core.cuboid.edit.BlockEditOperation;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * Shared scheduler for layer-by-layer region edits ({@code Cuboid#setMaterialEveryTick} & co).
+ * <p>
+ * All running animations are advanced by a single task and share one per-tick block budget,
+ * so several simultaneous arena wipes cannot add up to a tick overrun.
+ * </p>
+ */
+public interface RegionAnimationService {
+
+  int DEFAULT_BLOCKS_PER_TICK = 32_768;
+
+  /**
+   * Starts animating a region, one Y layer every {@code interval} ticks.
+   * @param region      The region to edit (must have bounds)
+   * @param operation   What each block becomes
+   * @param interval    Ticks between two layers
+   * @param topToBottom true to start from the top layer
+   * @return The running animation
+   */
+  @NotNull RegionAnimation animate(final @NotNull Cuboid region, final @NotNull BlockEditOperation operation, final long interval, final boolean topToBottom);
+
+  /** @return The maximum number of blocks processed per tick across all animations */
+  int getBlocksPerTick();
+
+  void setBlocksPerTick(final int blocksPerTick);
+
+  @NotNull Collection<RegionAnimation> getAnimations();
+
+  void cancelAll();
+
+}
@@ -0,0 +1,125 @@
+package fr.dreamin.dreamapi.core.cuboid.animation;
+
+import fr.dreamin.dreamapi.api.services.DreamAutoService;
+import fr.dreamin.dreamapi.api.services.DreamService;
+import fr.dreamin.dreamapi.core.cuboid.Cuboid;
+import fr.dreamin.dreamapi.core.cuboid.edit.BlockEditOperation;
+import fr.dreamin.dreamapi.core.time.TickTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+@DreamAutoService(value = RegionAnimationService.class)
+public final class RegionAnimationServiceImpl implements RegionAnimationService, DreamService {
+
+  private final @NotNull List<RegionAnimation> animations = new ArrayList<>();
+  private int blocksPerTick = DEFAULT_BLOCKS_PER_TICK;
+
+  private @Nullable TickTask<?> driver;
+  private long tick = 0;
+  private int cursor = 0;
+
+  // ###############################################################
+  // -------------------------- METHODS ----------------------------
+  // ###############################################################
+
+  @Override
+  public void onClose() {
+    cancelAll();
+  }
+
+  // ##############################################################
+  // ---------------------- SERVICE METHODS -----------------------
+  // ##############################################################
+
+  @Override
+  public @NotNull RegionAnimation animate(@NotNull Cuboid region, @NotNull BlockEditOperation operation, long interval, boolean topToBottom) {
+    final var animation = new RegionAnimation(region, operation, interval, topToBottom);
+    this.animations.add(animation);
+
+    if (this.driver == null)
+      this.driver = startDriver();
+
+    return animation;
+  }
+
+  @Override
+  public int getBlocksPerTick() {
+    return this.blocksPerTick;
+  }
+
+  @Override
+  public void setBlocksPerTick(int blocksPerTick) {
+    this.blocksPerTick = Math.max(1, blocksPerTick);
+  }
+
+  @Override
+  public @NotNull Collection<RegionAnimation> getAnimations() {
+    return Collections.unmodifiableList(this.animations);
+  }
+
+  @Override
+  public void cancelAll() {
+    this.animations.forEach(RegionAnimation::cancel);
+    this.animations.clear();
+    stopDriver();
+  }
+
+  // ###############################################################
+  // ----------------------- PRIVATE METHODS -----------------------
+  // ###############################################################
+
+  private TickTask<?> startDriver() {
+    return new TickTask() {
+      @Override public void onTick() { tickAnimations(); }
+    }.autoStop(false)
+      .start();
+  }
+
+  private void stopDriver() {
+    if (this.driver == null) return;
+    this.driver.stop();
+    this.driver = null;
+  }
+
+  /** Shares the block budget between due animations, round-robin so none of them starves. */
+  private void tickAnimations() {
+    this.tick++;
+    this.animations.removeIf(RegionAnimation::isDone);
+
+    if (this.animations.isEmpty()) {
+      stopDriver();
+      return;
+    }
+
+    final int count = this.animations.size();
+    this.animations.forEach(RegionAnimation::tick);
+
+    int budget = this.blocksPerTick;
+    boolean progressed = true;
+    while (budget > 0 && progressed) {
+      progressed = false;
+
+      int due = 0;
+      for (RegionAnimation animation : this.animations)
+        if (animation.isDue(this.tick)) due++;
+      if (due == 0) break;
+
+      for (int k = 0; k < count && budget > 0; k++) {
+        final var animation = this.animations.get((this.cursor + k) % count);
+        if (!animation.isDue(this.tick)) continue;
+
+        final int used = animation.step(this.tick, Math.max(1, budget / due--));
+        budget -= used;
+        if (used > 0) progressed = true;
+      }
+    }
+
+    this.cursor = (this.cursor + 1) % count;
+  }
+
+}
@@ -0,0 +1,219 @@
+package fr.dreamin.dreamapi.core.cuboid.core;
+
+import fr.dreamin.dreamapi.api.DreamAPI;
+import fr.dreamin.dreamapi.core.cuboid.Cuboid;
+import fr.dreamin.dreamapi.core.cuboid.event.CuboidEntityEnterEvent;
+import fr.dreamin.dreamapi.core.cuboid.event.CuboidEntityLeaveEvent;
+import fr.dreamin.dreamapi.core.time.TickTask;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Periodically samples non-player entities of registered types and fires
+ * {@link CuboidEntityEnterEvent} / {@link CuboidEntityLeaveEvent}.
+ * <p>
+ * Only the chunks holding at least one cuboid are scanned, and every sampled entity caches
+ * the block it was last seen in: an entity that did not change block costs a single lookup,
+ * until a cuboid is registered, resized or removed (see {@link CuboidIndex#generation()}).
+ * Entities that left the scanned chunks are re-checked from the cache until they are outside
+ * every cuboid.
+ * </p>
+ */
+final class CuboidEntityTracker {
+
+  private final @NotNull CuboidIndex index;
+  private final @NotNull Set<EntityType> types = new HashSet<>();
+  private final @NotNull Map<UUID, TrackedEntity> tracked = new HashMap<>();
+
+  private final @NotNull List<Entity> candidates = new ArrayList<>();
+  private final @NotNull Location scratch = new Location(null, 0, 0, 0);
+
+  private @Nullable TickTask<?> task;
+  private long interval = 5;
+  private long sample = 0;
+
+  @Getter private long lastSampleNanos = 0;
+  @Getter private long totalSampleNanos = 0;
+  @Getter private long sampleCount = 0;
+
+  CuboidEntityTracker(final @NotNull CuboidIndex index) {
+    this.index = index;
+  }
+
+  // ###############################################################
+  // ----------------------- PUBLIC METHODS ------------------------
+  // ###############################################################
+
+  void track(final @NotNull EntityType type) {
+    if (type == EntityType.PLAYER) return;
+    if (this.types.add(type) && this.task == null) start();
+  }
+
+  void untrack(final @NotNull EntityType type) {
+    if (!this.types.remove(type)) return;
+
+    this.tracked.values().removeIf(state -> state.entity.getType() == type);
+    if (this.types.isEmpty()) stop();
+  }
+
+  @NotNull Set<EntityType> getTypes() {
+    return Collections.unmodifiableSet(this.types);
+  }
+
+  long getInterval() {
+    return this.interval;
+  }
+
+  void setInterval(final long interval) {
+    this.interval = Math.max(1, interval);
+    if (this.task != null) this.task.every(this.interval);
+  }
+
+  @NotNull Set<Cuboid> getCuboidsOf(final @NotNull UUID uuid) {
+    final var state = this.tracked.get(uuid);
+    return state == null ? Set.of() : Collections.unmodifiableSet(state.cuboids);
+  }
+
+  /** Forgets a cuboid without firing leave events (it was unregistered). */
+  void forget(final @NotNull Cuboid cuboid) {
+    this.tracked.values().forEach(state -> state.cuboids.remove(cuboid));
+  }
+
+  void clear() {
+    this.tracked.clear();
+  }
+
+  void stop() {
+    if (this.task != null) {
+      this.task.stop();
+      this.task = null;
+    }
+    this.tracked.clear();
+  }
+
+  // ###############################################################
+  // ----------------------- PRIVATE METHODS -----------------------
+  // ###############################################################
+
+  private void start() {
+    this.task = new TickTask() {
+      @Override public void onTick() { sample(); }
+    }.every(this.interval)
+      .autoStop(false)
+      .start();
+  }
+
+  private void sample() {
+    final long start = System.nanoTime();
+    final long id = ++this.sample;
+
+    // 1. Entities standing in chunks that hold cuboids (collected first: events may edit the index)
+    this.index.forEachChunk((worldId, cx, cz) -> {
+      final var world = Bukkit.getWorld(worldId);
+      if (world == null || !world.isChunkLoaded(cx, cz)) return;
+
+      for (Entity entity : world.getChunkAt(cx, cz).getEntities()) {
+        if (!(entity instanceof Player) && this.types.contains(entity.getType()))
+          this.candidates.add(entity);
+      }
+    });
+
+    for (Entity entity : this.candidates)
+      update(entity, id);
+    this.candidates.clear();
+
+    // 2. Cached entities not seen in those chunks: dead, unloaded, or moved away
+    final var it = this.tracked.values().iterator();
+    while (it.hasNext()) {
+      final var state = it.next();
+      if (state.sample == id) continue;
+
+      if (!state.entity.isValid()) {
+        leaveAll(state);
+        it.remove();
+        continue;
+      }
+
+      update(state.entity, id);
+      if (state.cuboids.isEmpty()) it.remove();
+    }
+
+    this.lastSampleNanos = System.nanoTime() - start;
+    this.totalSampleNanos += this.lastSampleNanos;
+    this.sampleCount++;
+  }
+
+  private void update(final @NotNull Entity entity, final long id) {
+    entity.getLocation(this.scratch);
+    final var world = this.scratch.getWorld();
+    final int bx = this.scratch.getBlockX(), by = this.scratch.getBlockY(), bz = this.scratch.getBlockZ();
+
+    var state = this.tracked.get(entity.getUniqueId());
+    if (state == null) {
+      state = new TrackedEntity(entity);
+      this.tracked.put(entity.getUniqueId(), state);
+    } else if (state.world == world && state.x == bx && state.y == by && state.z == bz
+      && state.generation == this.index.generation()) {
+      state.sample = id;
+      return;
+    }
+
+    state.sample = id;
+    state.generation = this.index.generation();
+    state.world = world;
+    state.x = bx;
+    state.y = by;
+    state.z = bz;
+
+    final double x = this.scratch.getX(), y = this.scratch.getY(), z = this.scratch.getZ();
+
+    if (!state.cuboids.isEmpty()) {
+      for (Cuboid cuboid : List.copyOf(state.cuboids)) {
+        if (cuboid.getWorld() != world || !cuboid.contains(x, y, z)) {
+          state.cuboids.remove(cuboid);
+          DreamAPI.getAPI().callEvent(new CuboidEntityLeaveEvent(entity, cuboid));
+        }
+      }
+    }
+
+    if (world == null) return;
+    for (Cuboid cuboid : List.copyOf(this.index.query(world.getUID(), bx, bz))) {
+      if (!state.cuboids.contains(cuboid) && cuboid.contains(x, y, z)) {
+        state.cuboids.add(cuboid);
+        DreamAPI.getAPI().callEvent(new CuboidEntityEnterEvent(entity, cuboid));
+      }
+    }
+  }
+
+  private void leaveAll(final @NotNull TrackedEntity state) {
+    for (Cuboid cuboid : state.cuboids)
+      DreamAPI.getAPI().callEvent(new CuboidEntityLeaveEvent(state.entity, cuboid));
+    state.cuboids.clear();
+  }
+
+  // ###############################################################
+  // --------------------------- CLASS -----------------------------
+  // ###############################################################
+
+  /** Last known block and cuboids of a sampled entity. */
+  private static final class TrackedEntity {
+    final @NotNull Entity entity;
+    final @NotNull Set<Cuboid> cuboids = new HashSet<>(2);
+    @Nullable org.bukkit.World world;
+    int x, y, z;
+    long sample, generation;
+
+    TrackedEntity(final @NotNull Entity entity) {
+      this.entity = entity;
+    }
+  }
+
+}
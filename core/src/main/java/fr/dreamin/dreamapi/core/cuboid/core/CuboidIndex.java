@@ -0,0 +1,132 @@
+package fr.dreamin.dreamapi.core.cuboid.core;
+
+import fr.dreamin.dreamapi.core.cuboid.Cuboid;
+import org.bukkit.Location;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Per-world spatial index of {@link Cuboid}s, bucketed by chunk column.
+ * <p>
+ * Each cuboid is stored in every chunk column its bounds overlap (including the
+ * default +1 boundary extension used by {@link Cuboid#isLocationIn(Location)}),
+ * so a lookup only returns the few cuboids that can possibly contain a position.
+ * Cuboids without bounds (see {@link Cuboid#hasBounds()}) can't contain anything
+ * and are not indexed.
+ * </p>
+ */
+final class CuboidIndex {
+
+  private final @NotNull Map<UUID, Map<Long, List<Cuboid>>> cells = new HashMap<>();
+  private final @NotNull Map<Cuboid, Bounds> bounds = new HashMap<>();
+
+  // Bumped on every change, so cached lookups know when to re-query
+  private long generation = 0;
+
+  // ###############################################################
+  // ----------------------- PUBLIC METHODS ------------------------
+  // ###############################################################
+
+  void insert(final @NotNull Cuboid cuboid) {
+    remove(cuboid);
+    this.generation++;
+
+    if (!cuboid.hasBounds()) return;
+
+    final var entry = new Bounds(
+      cuboid.getWorld().getUID(),
+      cuboid.getMinBlockX() >> 4,
+      cuboid.getMinBlockZ() >> 4,
+      (cuboid.getMaxBlockX() + 1) >> 4,
+      (cuboid.getMaxBlockZ() + 1) >> 4
+    );
+
+    final var worldCells = this.cells.computeIfAbsent(entry.world(), id -> new HashMap<>());
+    for (int cx = entry.minCx(); cx <= entry.maxCx(); cx++) {
+      for (int cz = entry.minCz(); cz <= entry.maxCz(); cz++) {
+        worldCells.computeIfAbsent(key(cx, cz), k -> new ArrayList<>(2)).add(cuboid);
+      }
+    }
+
+    this.bounds.put(cuboid, entry);
+  }
+
+  void remove(final @NotNull Cuboid cuboid) {
+    final var entry = this.bounds.remove(cuboid);
+    if (entry == null) return;
+    this.generation++;
+
+    final var worldCells = this.cells.get(entry.world());
+    if (worldCells == null) return;
+
+    for (int cx = entry.minCx(); cx <= entry.maxCx(); cx++) {
+      for (int cz = entry.minCz(); cz <= entry.maxCz(); cz++) {
+        final var cellKey = key(cx, cz);
+        final var list = worldCells.get(cellKey);
+        if (list == null) continue;
+
+        list.remove(cuboid);
+        if (list.isEmpty()) worldCells.remove(cellKey);
+      }
+    }
+
+    if (worldCells.isEmpty()) this.cells.remove(entry.world());
+  }
+
+  void clear() {
+    this.cells.clear();
+    this.bounds.clear();
+    this.generation++;
+  }
+
+  /** @return A counter that changes whenever a cuboid is inserted, moved or removed */
+  long generation() {
+    return this.generation;
+  }
+
+  /**
+   * Returns the cuboids whose bounds overlap the chunk column containing the given location.
+   * The returned list is owned by the index and must not be modified.
+   */
+  @NotNull List<Cuboid> query(final @NotNull Location location) {
+    if (location.getWorld() == null) return List.of();
+    return query(location.getWorld().getUID(), location.getBlockX(), location.getBlockZ());
+  }
+
+  /**
+   * Returns the cuboids whose bounds overlap the chunk column containing the given block.
+   * The returned list is owned by the index and must not be modified.
+   */
+  @NotNull List<Cuboid> query(final @NotNull UUID world, final int blockX, final int blockZ) {
+    final var worldCells = this.cells.get(world);
+    if (worldCells == null) return List.of();
+
+    final var list = worldCells.get(key(blockX >> 4, blockZ >> 4));
+    return list == null ? List.of() : list;
+  }
+
+  /** Visits every indexed chunk column, world by world. */
+  void forEachChunk(final @NotNull ChunkVisitor visitor) {
+    this.cells.forEach((world, worldCells) -> {
+      for (long cellKey : worldCells.keySet())
+        visitor.visit(world, (int) (cellKey >> 32), (int) cellKey);
+    });
+  }
+
+  @FunctionalInterface
+  interface ChunkVisitor {
+    void visit(@NotNull UUID world, int chunkX, int chunkZ);
+  }
+
+  // ###############################################################
+  // ----------------------- PRIVATE METHODS -----------------------
+  // ###############################################################
+
+  private static long key(final int cx, final int cz) {
+    return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+  }
+
+  private record Bounds(@NotNull UUID world, int minCx, int minCz, int maxCx, int maxCz) {}
+
+}
@@ -1,6 +1,9 @@
 package fr.dreamin.dreamapi.core.cuboid.core;
 
 import fr.dreamin.dreamapi.core.cuboid.Cuboid;
+import fr.dreamin.dreamapi.core.cuboid.MemoryCuboid;
+import org.bukkit.World;
+import org.bukkit.entity.EntityType;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Set;
@@ -10,10 +13,59 @@ public interface CuboidService {
 
   void register(final @NotNull Cuboid cuboid);
   void unregister(final @NotNull Cuboid cuboid);
+
+  /**
+   * Re-indexes a registered cuboid after its bounds changed.
+   * Does nothing if the cuboid is not registered.
+   */
+  void refresh(final @NotNull Cuboid cuboid);
+
   void clear();
 
+  /**
+   * Reports a block change to every change-tracking {@link MemoryCuboid} containing it.
+   * Block events are reported automatically; use this for edits that fire no event.
+   */
+  void markChanged(final @NotNull World world, final int x, final int y, final int z);
+
   @NotNull Set<Cuboid> getCuboids();
 
+  /**
+   * @param uuid A player or tracked entity UUID
+   * @return The cuboids the player or entity was last seen in
+   */
   @NotNull Set<Cuboid> getCuboidsOf(final @NotNull UUID uuid);
 
+  // ###############################################################
+  // ----------------------- ENTITY TRACKING -----------------------
+  // ###############################################################
+
+  /**
+   * Starts firing {@link fr.dreamin.dreamapi.core.cuboid.event.CuboidEntityEnterEvent} and
+   * {@link fr.dreamin.dreamapi.core.cuboid.event.CuboidEntityLeaveEvent} for these entity types.
+   * Players are always handled through their move events and are ignored here.
+   */
+  void trackEntities(final @NotNull EntityType... types);
+
+  void untrackEntities(final @NotNull EntityType... types);
+
+  @NotNull Set<EntityType> getTrackedEntityTypes();
+
+  /**
+   * @param ticks Ticks between two samples of the tracked entities (default 5)
+   */
+  void setEntityTrackingInterval(final long ticks);
+
+  long getEntityTrackingInterval();
+
+  /**
+   * @return Duration of the last entity tracking sample, in nanoseconds
+   */
+  long getEntityTrackingNanos();
+
+  /**
+   * @return Average duration of an entity tracking sample, in nanoseconds
+   */
+  double getAverageEntityTrackingNanos();
+
 }
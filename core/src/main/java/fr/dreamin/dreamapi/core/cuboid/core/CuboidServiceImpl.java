@@ -4,12 +4,22 @@ import fr.dreamin.dreamapi.api.DreamAPI;
 import fr.dreamin.dreamapi.api.services.DreamAutoService;
 import fr.dreamin.dreamapi.api.services.DreamService;
 import fr.dreamin.dreamapi.core.cuboid.Cuboid;
+import fr.dreamin.dreamapi.core.cuboid.MemoryCuboid;
 import fr.dreamin.dreamapi.core.cuboid.event.CuboidEnterEvent;
 import fr.dreamin.dreamapi.core.cuboid.event.CuboidLeaveEvent;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
+import org.bukkit.event.block.*;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
@@ -21,6 +31,8 @@ public class CuboidServiceImpl implements CuboidService, DreamService, Listener
 
   private final @NotNull Set<Cuboid> cuboids = new HashSet<>();
   private final @NotNull Map<UUID, Set<Cuboid>> playerCuboids = new HashMap<>();
+  private final @NotNull CuboidIndex index = new CuboidIndex();
+  private final @NotNull CuboidEntityTracker entityTracker = new CuboidEntityTracker(this.index);
 
   // ###############################################################
   // -------------------------- METHODS ----------------------------
@@ -34,6 +46,7 @@ public class CuboidServiceImpl implements CuboidService, DreamService, Listener
   @Override
   public void onClose() {
     HandlerList.unregisterAll(this);
+    this.entityTracker.stop();
     clear();
   }
 
@@ -43,18 +56,38 @@ public class CuboidServiceImpl implements CuboidService, DreamService, Listener
 
   @Override
   public void register(@NotNull Cuboid cuboid) {
-    this.cuboids.add(cuboid);
+    if (this.cuboids.add(cuboid))
+      this.index.insert(cuboid);
   }
 
   @Override
   public void unregister(@NotNull Cuboid cuboid) {
-    this.cuboids.remove(cuboid);
+    if (this.cuboids.remove(cuboid)) {
+      this.index.remove(cuboid);
+      this.entityTracker.forget(cuboid);
+    }
+  }
+
+  @Override
+  public void refresh(@NotNull Cuboid cuboid) {
+    if (this.cuboids.contains(cuboid))
+      this.index.insert(cuboid);
   }
 
   @Override
   public void clear() {
     this.cuboids.clear();
+    this.index.clear();
     this.playerCuboids.clear();
+    this.entityTracker.clear();
+  }
+
+  @Override
+  public void markChanged(@NotNull World world, int x, int y, int z) {
+    for (Cuboid cuboid : this.index.query(world.getUID(), x, z)) {
+      if (cuboid instanceof MemoryCuboid memoryCuboid && memoryCuboid.isTrackChanges() && cuboid.contains(x, y, z))
+        memoryCuboid.markDirty(x, y, z);
+    }
   }
 
   @Override
@@ -64,7 +97,46 @@ public class CuboidServiceImpl implements CuboidService, DreamService, Listener
 
   @Override
   public @NotNull Set<Cuboid> getCuboidsOf(@NotNull UUID uuid) {
-    return playerCuboids.getOrDefault(uuid, Set.of());
+    final var cuboids = this.playerCuboids.get(uuid);
+    return cuboids != null ? cuboids : this.entityTracker.getCuboidsOf(uuid);
+  }
+
+  @Override
+  public void trackEntities(@NotNull EntityType... types) {
+    for (EntityType type : types)
+      this.entityTracker.track(type);
+  }
+
+  @Override
+  public void untrackEntities(@NotNull EntityType... types) {
+    for (EntityType type : types)
+      this.entityTracker.untrack(type);
+  }
+
+  @Override
+  public @NotNull Set<EntityType> getTrackedEntityTypes() {
+    return this.entityTracker.getTypes();
+  }
+
+  @Override
+  public void setEntityTrackingInterval(long ticks) {
+    this.entityTracker.setInterval(ticks);
+  }
+
+  @Override
+  public long getEntityTrackingInterval() {
+    return this.entityTracker.getInterval();
+  }
+
+  @Override
+  public long getEntityTrackingNanos() {
+    return this.entityTracker.getLastSampleNanos();
+  }
+
+  @Override
+  public double getAverageEntityTrackingNanos() {
+    final long samples = this.entityTracker.getSampleCount();
+    return samples == 0 ? 0D : (double) this.entityTracker.getTotalSampleNanos() / samples;
   }
 
   // ###############################################################
@@ -83,21 +155,118 @@ public class CuboidServiceImpl implements CuboidService, DreamService, Listener
 
     var currentCuboids = playerCuboids.computeIfAbsent(player.getUniqueId(), id -> new HashSet<>());
 
-    for (Cuboid cuboid : cuboids) {
-      boolean wasIn = currentCuboids.contains(cuboid);
-      boolean isIn = cuboid.isLocationIn(to);
+    // Leave: only the cuboids the player is currently in can be left
+    if (!currentCuboids.isEmpty()) {
+      for (Cuboid cuboid : List.copyOf(currentCuboids)) {
+        if (!isIn(cuboid, to))
+          leave(player, cuboid, event, currentCuboids);
+      }
+    }
 
-      if (!wasIn && isIn)
+    // Enter: only the cuboids overlapping the destination chunk can be entered
+    for (Cuboid cuboid : this.index.query(to)) {
+      if (!currentCuboids.contains(cuboid) && cuboid.contains(to.getX(), to.getY(), to.getZ()))
         enter(player, cuboid, event, currentCuboids);
-      else if (wasIn && !isIn)
-        leave(player, cuboid, event, currentCuboids);
     }
   }
 
+  // ====== CHANGE TRACKING ======
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  private void onBlockPlace(final @NotNull BlockPlaceEvent event) {
+    markChanged(event.getBlockPlaced());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  private void onBlockMultiPlace(final @NotNull BlockMultiPlaceEvent event) {
+    event.getReplacedBlockStates().forEach(state -> markChanged(state.getBlock()));
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  private void onBlockBreak(final @NotNull BlockBreakEvent event) {
+    markChanged(event.getBlock());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  private void onBlockExplode(final @NotNull BlockExplodeEvent event) {
+    markChanged(event.getBlock());
+    event.blockList().forEach(this::markChanged);
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  private void onEntityExplode(final @NotNull EntityExplodeEvent event) {
+    event.blockList().forEach(this::markChanged);
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  private void onBlockFromTo(final @NotNull BlockFromToEvent event) {
+    markChanged(event.getToBlock());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  private void onBlockBurn(final @NotNull BlockBurnEvent event) {
+    markChanged(event.getBlock());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  private void onBlockFade(final @NotNull BlockFadeEvent event) {
+    markChanged(event.getBlock());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  private void onBlockForm(final @NotNull BlockFormEvent event) {
+    markChanged(event.getBlock());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  private void onBlockGrow(final @NotNull BlockGrowEvent event) {
+    markChanged(event.getBlock());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  private void onLeavesDecay(final @NotNull LeavesDecayEvent event) {
+    markChanged(event.getBlock());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  private void onEntityChangeBlock(final @NotNull EntityChangeBlockEvent event) {
+    markChanged(event.getBlock());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  private void onPistonExtend(final @NotNull BlockPistonExtendEvent event) {
+    markPistonChanged(event.getBlock(), event.getBlocks(), event.getDirection());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  private void onPistonRetract(final @NotNull BlockPistonRetractEvent event) {
+    markPistonChanged(event.getBlock(), event.getBlocks(), event.getDirection());
+  }
+
   // ###############################################################
   // ----------------------- PRIVATE METHODS -----------------------
   // ###############################################################
 
+  private boolean isIn(final @NotNull Cuboid cuboid, final @NotNull Location location) {
+    if (cuboid.hasBounds() && !cuboid.getWorld().equals(location.getWorld()))
+      return false;
+
+    return cuboid.contains(location.getX(), location.getY(), location.getZ());
+  }
+
+  private void markChanged(final @NotNull Block block) {
+    markChanged(block.getWorld(), block.getX(), block.getY(), block.getZ());
+  }
+
+  private void markPistonChanged(final @NotNull Block piston, final @NotNull List<Block> moved, final @NotNull BlockFace direction) {
+    markChanged(piston);
+    markChanged(piston.getRelative(direction));
+    for (Block block : moved) {
+      markChanged(block);
+      markChanged(block.getRelative(direction));
+    }
+  }
+
   private void enter(
     final @NotNull Player player,
     final @NotNull Cuboid cuboid,
@@ -0,0 +1,42 @@
+package fr.dreamin.dreamapi.core.cuboid.edit;
+
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Decides what a single block of a {@link BlockEditTask} becomes.
+ */
+@FunctionalInterface
+public interface BlockEditOperation {
+
+  /**
+   * @param block The block being visited
+   * @return The new block data, or null to leave the block untouched
+   */
+  @Nullable BlockData apply(@NotNull Block block);
+
+  // ###############################################################
+  // --------------------------- FACTORIES -------------------------
+  // ###############################################################
+
+  static @NotNull BlockEditOperation set(final @NotNull Material material) {
+    return set(material.createBlockData());
+  }
+
+  static @NotNull BlockEditOperation set(final @NotNull BlockData blockData) {
+    return block -> blockData;
+  }
+
+  static @NotNull BlockEditOperation replace(final @NotNull Material replaced, final @NotNull Material newMaterial) {
+    final var newBlockData = newMaterial.createBlockData();
+    return block -> block.getType() == replaced ? newBlockData : null;
+  }
+
+  static @NotNull BlockEditOperation replace(final @NotNull BlockData replaced, final @NotNull BlockData newBlockData) {
+    return block -> block.getBlockData().matches(replaced) ? newBlockData : null;
+  }
+
+}
@@ -0,0 +1,224 @@
+package fr.dreamin.dreamapi.core.cuboid.edit;
+
+import fr.dreamin.dreamapi.core.cuboid.Cuboid;
+import fr.dreamin.dreamapi.core.time.TickTask;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * BlockEditTask - applies a {@link BlockEditOperation} to every block of a region,
+ * spread over as many ticks as needed to respect a per-tick block budget.
+ * <p>
+ * The region is walked chunk by chunk and, inside a chunk, section by section (bottom to top),
+ * so every tick only touches a handful of chunks and their block changes are coalesced into
+ * one section update per chunk section by the server.
+ * <pre>
+ * BlockEditTask.create(cuboid)
+ *   .operation(BlockEditOperation.set(Material.AIR))
+ *   .blocksPerTick(50_000)
+ *   .build()
+ *   .start()
+ *   .completion()
+ *   .thenAccept(rs -> Bukkit.broadcastMessage(rs.changed() + " blocks reset"));
+ * </pre>
+ */
+@Getter
+@Accessors(fluent = true)
+public final class BlockEditTask extends TickTask<BlockEditTask> {
+
+  public static final int DEFAULT_BLOCKS_PER_TICK = 32_768;
+
+  private final @NotNull World world;
+  private final int minX, minY, minZ, maxX, maxY, maxZ;
+  private final @NotNull BlockEditOperation operation;
+  private final int blocksPerTick;
+  private final boolean refreshChunks;
+
+  private final long total;
+  private long visited = 0;
+  private long changed = 0;
+  private long ticks = 0;
+
+  private final @NotNull CompletableFuture<Result> completion = new CompletableFuture<>();
+
+  // Cursor
+  @Getter(AccessLevel.NONE) private final int minChunkX, minChunkZ, chunkCountX, chunkCount;
+  @Getter(AccessLevel.NONE) private int chunkIndex = 0;
+  @Getter(AccessLevel.NONE) private @Nullable Chunk chunk;
+  @Getter(AccessLevel.NONE) private boolean chunkChanged;
+  @Getter(AccessLevel.NONE) private int chunkMinX, chunkMaxX, chunkMinZ, chunkMaxZ;
+  @Getter(AccessLevel.NONE) private int x, y, z;
+
+  private BlockEditTask(final @NotNull Builder builder) {
+    super(builder);
+    final var region = builder.region;
+
+    this.world = region.getWorld();
+    this.minX = region.getMinBlockX();
+    this.minY = region.getMinBlockY();
+    this.minZ = region.getMinBlockZ();
+    this.maxX = region.getMaxBlockX();
+    this.maxY = region.getMaxBlockY();
+    this.maxZ = region.getMaxBlockZ();
+    this.operation = builder.operation;
+    this.blocksPerTick = builder.blocksPerTick;
+    this.refreshChunks = builder.refreshChunks;
+    this.total = region.getVolume();
+
+    this.minChunkX = this.minX >> 4;
+    this.minChunkZ = this.minZ >> 4;
+    this.chunkCountX = (this.maxX >> 4) - this.minChunkX + 1;
+    this.chunkCount = this.chunkCountX * ((this.maxZ >> 4) - this.minChunkZ + 1);
+  }
+
+  // ###############################################################
+  // -------------------------- METHODS ----------------------------
+  // ###############################################################
+
+  /**
+   * @return The ratio of visited blocks, between 0 and 1
+   */
+  public double progress() {
+    return this.total == 0 ? 1D : (double) this.visited / this.total;
+  }
+
+  public boolean isDone() {
+    return this.completion.isDone();
+  }
+
+  @Override
+  public void onTick() {
+    this.ticks++;
+    int budget = this.blocksPerTick;
+
+    while (budget > 0 && this.chunkIndex < this.chunkCount) {
+      if (this.chunk == null) openChunk();
+
+      final var current = this.chunk;
+      while (budget > 0 && this.y <= this.maxY) {
+        final var block = current.getBlock(this.x & 15, this.y, this.z & 15);
+        final var data = this.operation.apply(block);
+
+        if (data != null && !(block.getType() == data.getMaterial() && block.getBlockData().equals(data))) {
+          block.setBlockData(data, false);
+          this.changed++;
+          this.chunkChanged = true;
+        }
+
+        this.visited++;
+        budget--;
+
+        if (++this.x > this.chunkMaxX) {
+          this.x = this.chunkMinX;
+          if (++this.z > this.chunkMaxZ) {
+            this.z = this.chunkMinZ;
+            this.y++;
+          }
+        }
+      }
+
+      if (this.y > this.maxY) closeChunk();
+    }
+
+    if (this.chunkIndex >= this.chunkCount) {
+      this.completion.complete(new Result(this.visited, this.changed, this.ticks));
+      stop();
+    }
+  }
+
+  @Override
+  public void onStop() {
+    if (!this.completion.isDone())
+      this.completion.cancel(false);
+  }
+
+  // ###############################################################
+  // ----------------------- PRIVATE METHODS -----------------------
+  // ###############################################################
+
+  private void openChunk() {
+    final int cx = this.minChunkX + this.chunkIndex % this.chunkCountX;
+    final int cz = this.minChunkZ + this.chunkIndex / this.chunkCountX;
+
+    this.chunk = this.world.getChunkAt(cx, cz);
+    this.chunkChanged = false;
+
+    this.chunkMinX = Math.max(this.minX, cx << 4);
+    this.chunkMaxX = Math.min(this.maxX, (cx << 4) + 15);
+    this.chunkMinZ = Math.max(this.minZ, cz << 4);
+    this.chunkMaxZ = Math.min(this.maxZ, (cz << 4) + 15);
+
+    this.x = this.chunkMinX;
+    this.y = this.minY;
+    this.z = this.chunkMinZ;
+  }
+
+  @SuppressWarnings("deprecation")
+  private void closeChunk() {
+    if (this.refreshChunks && this.chunkChanged && this.chunk != null)
+      this.world.refreshChunk(this.chunk.getX(), this.chunk.getZ());
+
+    this.chunk = null;
+    this.chunkIndex++;
+  }
+
+  // ###############################################################
+  // --------------------------- BUILDER ---------------------------
+  // ###############################################################
+
+  public static Builder create(final @NotNull Cuboid region) {
+    return new Builder(region);
+  }
+
+  /**
+   * Final counters of a completed edit.
+   * @param visited Number of blocks visited
+   * @param changed Number of blocks actually rewritten
+   * @param ticks   Number of ticks the edit was spread over
+   */
+  public record Result(long visited, long changed, long ticks) {}
+
+  @Getter
+  @Accessors(fluent = true)
+  public static class Builder extends TickTask.Builder<BlockEditTask, Builder> {
+    private final @NotNull Cuboid region;
+    private BlockEditOperation operation;
+    private int blocksPerTick = DEFAULT_BLOCKS_PER_TICK;
+    private boolean refreshChunks = true;
+
+    public Builder(final @NotNull Cuboid region) {
+      this.region = region;
+    }
+
+    public Builder operation(@NotNull BlockEditOperation operation) { this.operation = operation; return this; }
+    public Builder blocksPerTick(int blocksPerTick) { this.blocksPerTick = Math.max(1, blocksPerTick); return this; }
+
+    /**
+     * Resends each touched chunk to clients once it is fully edited, so they never keep stale blocks.
+     * On by default; turn it off only when the edited blocks are known to reach clients through the
+     * regular block update packets, or when nobody is watching the region.
+     */
+    public Builder refreshChunks(boolean refreshChunks) { this.refreshChunks = refreshChunks; return this; }
+
+    @Override
+    public BlockEditTask build() {
+      if (!this.region.hasBounds())
+        throw new IllegalStateException("Cannot edit a cuboid without bounds");
+      if (this.operation == null)
+        throw new IllegalStateException("No BlockEditOperation defined");
+
+      this.every(1);
+      this.limit(-1);
+      this.autoStop(true);
+
+      return new BlockEditTask(this);
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package fr.dreamin.dreamapi.core.cuboid.event;
+
+import fr.dreamin.dreamapi.core.cuboid.Cuboid;
+import fr.dreamin.dreamapi.core.event.ToolsEvent;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.bukkit.entity.Entity;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Fired when a tracked non-player entity enters a cuboid.
+ * Entities are sampled periodically, so this event is not cancellable.
+ */
+@ToString
+@Getter
+@RequiredArgsConstructor
+public final class CuboidEntityEnterEvent extends ToolsEvent {
+
+  private final @NotNull Entity entity;
+  private final @NotNull Cuboid cuboid;
+
+}
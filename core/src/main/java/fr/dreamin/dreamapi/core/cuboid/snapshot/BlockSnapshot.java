@@ -0,0 +1,359 @@
+package fr.dreamin.dreamapi.core.cuboid.snapshot;
+
+import fr.dreamin.dreamapi.core.cuboid.Cuboid;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Compact, immutable copy of the blocks of a region, encoded like Minecraft chunk sections:
+ * a {@link BlockData} palette plus a packed {@code long[]} of palette indices.
+ * <p>
+ * Indices are laid out Y-major ({@code (y * sizeZ + z) * sizeX + x}, relative to the origin),
+ * so a horizontal layer is a contiguous range. Entries never straddle two longs, and a region
+ * made of a single block state uses no index storage at all.
+ * </p>
+ * <p>
+ * The packed indices are read through a {@link LongBuffer}, backed either by a heap array
+ * or by the direct buffer a {@link SnapshotFile} was read into.
+ * </p>
+ */
+@Getter
+public final class BlockSnapshot {
+
+  private final @NotNull World world;
+  private final int originX, originY, originZ;
+  private final int sizeX, sizeY, sizeZ;
+  @Getter(AccessLevel.NONE)
+  private final @NotNull BlockData[] palette;
+  private final int bitsPerEntry;
+  @Getter(AccessLevel.NONE)
+  private final @NotNull LongBuffer data;
+
+  BlockSnapshot(
+    final @NotNull World world,
+    final int originX, final int originY, final int originZ,
+    final int sizeX, final int sizeY, final int sizeZ,
+    final @NotNull BlockData[] palette,
+    final int bitsPerEntry,
+    final @NotNull LongBuffer data
+  ) {
+    this.world = world;
+    this.originX = originX;
+    this.originY = originY;
+    this.originZ = originZ;
+    this.sizeX = sizeX;
+    this.sizeY = sizeY;
+    this.sizeZ = sizeZ;
+    this.palette = palette;
+    this.bitsPerEntry = bitsPerEntry;
+    this.data = data;
+  }
+
+  // ###############################################################
+  // ----------------------- PUBLIC METHODS ------------------------
+  // ###############################################################
+
+  /**
+   * Captures the blocks of a cuboid on the calling thread.
+   * @param cuboid The cuboid to capture (must have bounds)
+   * @return The snapshot
+   */
+  public static @NotNull BlockSnapshot capture(final @NotNull Cuboid cuboid) {
+    if (!cuboid.hasBounds())
+      throw new IllegalStateException("Cannot snapshot a cuboid without bounds");
+
+    final var world = cuboid.getWorld();
+    final var writer = new Writer(
+      world,
+      cuboid.getMinBlockX(), cuboid.getMinBlockY(), cuboid.getMinBlockZ(),
+      cuboid.getMaxBlockX() - cuboid.getMinBlockX() + 1,
+      cuboid.getMaxBlockY() - cuboid.getMinBlockY() + 1,
+      cuboid.getMaxBlockZ() - cuboid.getMinBlockZ() + 1
+    );
+
+    int i = 0;
+    for (int y = 0; y < writer.sizeY; y++) {
+      for (int z = 0; z < writer.sizeZ; z++) {
+        for (int x = 0; x < writer.sizeX; x++) {
+          writer.set(i++, world.getBlockAt(writer.originX + x, writer.originY + y, writer.originZ + z).getBlockData());
+        }
+      }
+    }
+
+    return writer.build();
+  }
+
+  /**
+   * Captures the blocks of a cuboid with a single short main-thread pass.
+   * <p>
+   * Must be called from the main thread: it grabs a {@link ChunkSnapshot} of every covered chunk,
+   * then encodes the snapshot on the given executor.
+   * </p>
+   * @param cuboid   The cuboid to capture (must have bounds)
+   * @param executor The executor building the compact snapshot
+   * @return A future completed (on the executor) with the snapshot
+   */
+  public static @NotNull CompletableFuture<BlockSnapshot> captureAsync(final @NotNull Cuboid cuboid, final @NotNull Executor executor) {
+    if (!cuboid.hasBounds())
+      return CompletableFuture.failedFuture(new IllegalStateException("Cannot snapshot a cuboid without bounds"));
+
+    final var world = cuboid.getWorld();
+    final int minChunkX = cuboid.getMinBlockX() >> 4;
+    final int minChunkZ = cuboid.getMinBlockZ() >> 4;
+    final int chunksX = (cuboid.getMaxBlockX() >> 4) - minChunkX + 1;
+    final int chunksZ = (cuboid.getMaxBlockZ() >> 4) - minChunkZ + 1;
+
+    final var chunks = new ChunkSnapshot[chunksX * chunksZ];
+    for (int cz = 0; cz < chunksZ; cz++) {
+      for (int cx = 0; cx < chunksX; cx++) {
+        chunks[cz * chunksX + cx] = world.getChunkAt(minChunkX + cx, minChunkZ + cz).getChunkSnapshot(false, false, false);
+      }
+    }
+
+    final var writer = new Writer(
+      world,
+      cuboid.getMinBlockX(), cuboid.getMinBlockY(), cuboid.getMinBlockZ(),
+      cuboid.getMaxBlockX() - cuboid.getMinBlockX() + 1,
+      cuboid.getMaxBlockY() - cuboid.getMinBlockY() + 1,
+      cuboid.getMaxBlockZ() - cuboid.getMinBlockZ() + 1
+    );
+
+    return CompletableFuture.supplyAsync(() -> {
+      int i = 0;
+      for (int y = 0; y < writer.sizeY; y++) {
+        final int wy = writer.originY + y;
+        for (int z = 0; z < writer.sizeZ; z++) {
+          final int wz = writer.originZ + z;
+          final int rowOffset = ((wz >> 4) - minChunkZ) * chunksX;
+          for (int x = 0; x < writer.sizeX; x++) {
+            final int wx = writer.originX + x;
+            writer.set(i++, chunks[rowOffset + (wx >> 4) - minChunkX].getBlockData(wx & 15, wy, wz & 15));
+          }
+        }
+      }
+
+      return writer.build();
+    }, executor);
+  }
+
+  /**
+   * Same as {@link #captureAsync(Cuboid, Executor)} using the common fork-join pool.
+   */
+  public static @NotNull CompletableFuture<BlockSnapshot> captureAsync(final @NotNull Cuboid cuboid) {
+    return captureAsync(cuboid, ForkJoinPool.commonPool());
+  }
+
+  /** @return Number of distinct block states */
+  public int paletteSize() {
+    return this.palette.length;
+  }
+
+  /** @return The block state stored under the given palette index */
+  public @NotNull BlockData paletteEntry(final int paletteIndex) {
+    return this.palette[paletteIndex];
+  }
+
+  /** @return Number of blocks in the snapshot */
+  public int size() {
+    return this.sizeX * this.sizeY * this.sizeZ;
+  }
+
+  /** @return Number of blocks in one horizontal layer */
+  public int layerSize() {
+    return this.sizeX * this.sizeZ;
+  }
+
+  public int indexOf(final int x, final int y, final int z) {
+    return ((y - this.originY) * this.sizeZ + (z - this.originZ)) * this.sizeX + (x - this.originX);
+  }
+
+  public boolean contains(final int x, final int y, final int z) {
+    return x >= this.originX && x < this.originX + this.sizeX
+      && y >= this.originY && y < this.originY + this.sizeY
+      && z >= this.originZ && z < this.originZ + this.sizeZ;
+  }
+
+  /** @return The palette index stored at the given snapshot index */
+  public int paletteIndex(final int index) {
+    return get(this.data, this.bitsPerEntry, index);
+  }
+
+  /** @return The block data stored at the given snapshot index */
+  public @NotNull BlockData blockData(final int index) {
+    return this.palette[paletteIndex(index)];
+  }
+
+  /** @return The block data stored at the given world coordinates */
+  public @NotNull BlockData blockData(final int x, final int y, final int z) {
+    return blockData(indexOf(x, y, z));
+  }
+
+  /**
+   * Writes back a single block of the snapshot.
+   * @param index The snapshot index
+   */
+  public void restore(final int index) {
+    final int layer = layerSize();
+    final int y = index / layer;
+    final int rest = index - y * layer;
+    final int z = rest / this.sizeX;
+    final int x = rest - z * this.sizeX;
+
+    this.world.getBlockAt(this.originX + x, this.originY + y, this.originZ + z).setBlockData(blockData(index), false);
+  }
+
+  /**
+   * Writes back one horizontal layer of the snapshot.
+   * @param y The world Y of the layer
+   */
+  public void restoreLayer(final int y) {
+    if (y < this.originY || y >= this.originY + this.sizeY) return;
+
+    int i = (y - this.originY) * layerSize();
+    for (int z = 0; z < this.sizeZ; z++) {
+      for (int x = 0; x < this.sizeX; x++) {
+        this.world.getBlockAt(this.originX + x, y, this.originZ + z).setBlockData(this.palette[paletteIndex(i++)], false);
+      }
+    }
+  }
+
+  /** Writes back every block of the snapshot on the calling thread. */
+  public void restore() {
+    for (int y = this.originY; y < this.originY + this.sizeY; y++)
+      restoreLayer(y);
+  }
+
+  /** @return Approximate heap used by the index storage, in bytes (palette entries are shared block states, indices read from a file are off-heap) */
+  public long memoryFootprint() {
+    if (this.data.isDirect()) return (long) this.palette.length * Integer.BYTES;
+    return (long) this.data.capacity() * Long.BYTES + (long) this.palette.length * Integer.BYTES;
+  }
+
+  /** @return A read-only view of the packed indices */
+  @NotNull LongBuffer packed() {
+    return this.data.asReadOnlyBuffer();
+  }
+
+  // ###############################################################
+  // ------------------------ PACKING UTILS ------------------------
+  // ###############################################################
+
+  static int bitsFor(final int paletteSize) {
+    return paletteSize <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(paletteSize - 1);
+  }
+
+  static int longsFor(final int entries, final int bits) {
+    if (bits == 0) return 0;
+    final int perLong = 64 / bits;
+    return (entries + perLong - 1) / perLong;
+  }
+
+  static int get(final long[] data, final int bits, final int index) {
+    if (bits == 0) return 0;
+    final int perLong = 64 / bits;
+    final int shift = (index % perLong) * bits;
+    return (int) ((data[index / perLong] >>> shift) & ((1L << bits) - 1));
+  }
+
+  static int get(final LongBuffer data, final int bits, final int index) {
+    if (bits == 0) return 0;
+    final int perLong = 64 / bits;
+    final int shift = (index % perLong) * bits;
+    return (int) ((data.get(index / perLong) >>> shift) & ((1L << bits) - 1));
+  }
+
+  static void set(final long[] data, final int bits, final int index, final int value) {
+    final int perLong = 64 / bits;
+    final int shift = (index % perLong) * bits;
+    final long mask = ((1L << bits) - 1) << shift;
+    final int slot = index / perLong;
+    data[slot] = (data[slot] & ~mask) | (((long) value << shift) & mask);
+  }
+
+  // ###############################################################
+  // ---------------------------- WRITER ---------------------------
+  // ###############################################################
+
+  /**
+   * Incrementally builds a snapshot, growing the index width as the palette grows.
+   * Not thread-safe.
+   */
+  static final class Writer {
+
+    private final World world;
+    private final int originX, originY, originZ;
+    private final int sizeX, sizeY, sizeZ;
+    private final int entries;
+
+    private final List<BlockData> palette = new ArrayList<>();
+    private final Map<BlockData, Integer> paletteIds = new HashMap<>();
+    private int bits = 0;
+    private long[] data = new long[0];
+
+    Writer(final World world, final int originX, final int originY, final int originZ, final int sizeX, final int sizeY, final int sizeZ) {
+      final long volume = (long) sizeX * sizeY * sizeZ;
+      if (volume > Integer.MAX_VALUE)
+        throw new IllegalArgumentException(String.format("Region too large to snapshot: %d blocks", volume));
+
+      this.world = world;
+      this.originX = originX;
+      this.originY = originY;
+      this.originZ = originZ;
+      this.sizeX = sizeX;
+      this.sizeY = sizeY;
+      this.sizeZ = sizeZ;
+      this.entries = (int) volume;
+    }
+
+    void set(final int index, final @NotNull BlockData blockData) {
+      var id = this.paletteIds.get(blockData);
+      if (id == null) {
+        id = this.palette.size();
+        this.palette.add(blockData);
+        this.paletteIds.put(blockData, id);
+
+        final int needed = bitsFor(this.palette.size());
+        if (needed != this.bits) resize(needed);
+      }
+
+      if (this.bits > 0) BlockSnapshot.set(this.data, this.bits, index, id);
+    }
+
+    @NotNull BlockSnapshot build() {
+      return new BlockSnapshot(
+        this.world,
+        this.originX, this.originY, this.originZ,
+        this.sizeX, this.sizeY, this.sizeZ,
+        this.palette.toArray(BlockData[]::new),
+        this.bits,
+        LongBuffer.wrap(this.data)
+      );
+    }
+
+    private void resize(final int newBits) {
+      final var resized = new long[longsFor(this.entries, newBits)];
+      if (this.bits > 0) {
+        for (int i = 0; i < this.entries; i++)
+          BlockSnapshot.set(resized, newBits, i, BlockSnapshot.get(this.data, this.bits, i));
+      }
+
+      this.data = resized;
+      this.bits = newBits;
+    }
+
+  }
+
+}
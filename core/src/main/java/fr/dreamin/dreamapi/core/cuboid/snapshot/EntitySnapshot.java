@@ -0,0 +1,27 @@
+package fr.dreamin.dreamapi.core.cuboid.snapshot;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Type and position of a saved entity, without any reference to a live world.
+ */
+public record EntitySnapshot(@NotNull EntityType type, double x, double y, double z, float yaw, float pitch) {
+
+  public static @NotNull EntitySnapshot of(final @NotNull Entity entity) {
+    final var loc = entity.getLocation();
+    return new EntitySnapshot(entity.getType(), loc.getX(), loc.getY(), loc.getZ(), loc.getYaw(), loc.getPitch());
+  }
+
+  public @NotNull Location toLocation(final @NotNull World world) {
+    return new Location(world, this.x, this.y, this.z, this.yaw, this.pitch);
+  }
+
+  public @NotNull Entity spawn(final @NotNull World world) {
+    return world.spawnEntity(toLocation(world), this.type);
+  }
+
+}
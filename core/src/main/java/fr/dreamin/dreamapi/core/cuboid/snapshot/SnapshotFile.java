@@ -0,0 +1,367 @@
+package fr.dreamin.dreamapi.core.cuboid.snapshot;
+
+import org.bukkit.Bukkit;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.EntityType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Binary file format for {@link BlockSnapshot}s and their saved entities.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * int     magic ("DRCS")
+ * short   version
+ * byte    flags (bit 0: body is deflate-compressed)
+ * string  world name
+ * int[6]  originX, originY, originZ, sizeX, sizeY, sizeZ
+ * int     palette size, then one string per entry (BlockData#getAsString)
+ * byte    bits per entry
+ * int     packed long count
+ * int     entity count
+ * int     body length (uncompressed)
+ * body:   packed longs, then per entity: string type key, double x/y/z, float yaw/pitch
+ * </pre>
+ * Strings are an int byte length followed by UTF-8 bytes.
+ * </p>
+ * <p>
+ * Files are read in one pass into a direct buffer and closed right away. For uncompressed files
+ * the packed indices stay in that buffer, off the heap. No mapping keeps the file open: Windows
+ * refuses to replace a mapped file, and writes go to a temporary file moved over the destination,
+ * so a snapshot can be written back to the file it was read from.
+ * </p>
+ * <p>
+ * Reading validates the header against the body (sizes, bits per entry, packed long count,
+ * palette indices), so a truncated or corrupted file fails with an {@link IOException} on load
+ * instead of at restore time.
+ * </p>
+ */
+public final class SnapshotFile {
+
+  private static final int MAGIC = 0x44524353;
+  private static final short VERSION = 1;
+  private static final byte FLAG_COMPRESSED = 1;
+
+  private SnapshotFile() {}
+
+  /**
+   * Content of a snapshot file.
+   * @param blocks   The block snapshot
+   * @param entities The saved entities
+   */
+  public record Content(@NotNull BlockSnapshot blocks, @NotNull List<EntitySnapshot> entities) {}
+
+  // ###############################################################
+  // ---------------------------- WRITE ----------------------------
+  // ###############################################################
+
+  public static void write(
+    final @NotNull Path path,
+    final @NotNull BlockSnapshot blocks,
+    final @NotNull List<EntitySnapshot> entities,
+    final boolean compress
+  ) throws IOException {
+    final var packed = blocks.packed();
+    final var entityKeys = new ArrayList<byte[]>(entities.size());
+    long bodyLength = (long) packed.capacity() * Long.BYTES;
+    for (EntitySnapshot entity : entities) {
+      final var key = entity.type().getKey().toString().getBytes(StandardCharsets.UTF_8);
+      entityKeys.add(key);
+      bodyLength += Integer.BYTES + key.length + 3L * Double.BYTES + 2L * Float.BYTES;
+    }
+
+    if (bodyLength > Integer.MAX_VALUE)
+      throw new IOException(String.format("Snapshot too large to write: %d bytes", bodyLength));
+
+    final var directory = path.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+
+    // Never truncate the destination: the snapshot being written may still be reading from it
+    final var temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+    try {
+      writeTo(temp, blocks, packed, entities, entityKeys, bodyLength, compress);
+      move(temp, path);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  private static void writeTo(
+    final @NotNull Path path,
+    final @NotNull BlockSnapshot blocks,
+    final @NotNull LongBuffer packed,
+    final @NotNull List<EntitySnapshot> entities,
+    final @NotNull List<byte[]> entityKeys,
+    final long bodyLength,
+    final boolean compress
+  ) throws IOException {
+    try (final var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+      out.writeInt(MAGIC);
+      out.writeShort(VERSION);
+      out.writeByte(compress ? FLAG_COMPRESSED : 0);
+
+      writeString(out, blocks.getWorld().getName());
+      out.writeInt(blocks.getOriginX());
+      out.writeInt(blocks.getOriginY());
+      out.writeInt(blocks.getOriginZ());
+      out.writeInt(blocks.getSizeX());
+      out.writeInt(blocks.getSizeY());
+      out.writeInt(blocks.getSizeZ());
+
+      out.writeInt(blocks.paletteSize());
+      for (int i = 0; i < blocks.paletteSize(); i++)
+        writeString(out, blocks.paletteEntry(i).getAsString());
+
+      out.writeByte(blocks.getBitsPerEntry());
+      out.writeInt(packed.capacity());
+      out.writeInt(entities.size());
+      out.writeInt((int) bodyLength);
+      out.flush();
+
+      final var deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+      final OutputStream bodyStream = compress ? new DeflaterOutputStream(nonClosing(out), deflater, 1 << 16) : nonClosing(out);
+
+      try (final var body = new DataOutputStream(bodyStream)) {
+        for (int i = 0; i < packed.capacity(); i++)
+          body.writeLong(packed.get(i));
+
+        for (int i = 0; i < entities.size(); i++) {
+          final var entity = entities.get(i);
+          final var key = entityKeys.get(i);
+          body.writeInt(key.length);
+          body.write(key);
+          body.writeDouble(entity.x());
+          body.writeDouble(entity.y());
+          body.writeDouble(entity.z());
+          body.writeFloat(entity.yaw());
+          body.writeFloat(entity.pitch());
+        }
+      } finally {
+        if (deflater != null) deflater.end();
+      }
+    }
+  }
+
+  // ###############################################################
+  // ----------------------------- READ ----------------------------
+  // ###############################################################
+
+  /**
+   * Reads a snapshot file, resolving its world by name.
+   * @throws IOException if the file is invalid or its world is not loaded
+   */
+  public static @NotNull Content read(final @NotNull Path path) throws IOException {
+    return read(path, null);
+  }
+
+  /**
+   * Reads a snapshot file into the given world (or the stored world when null).
+   * @throws IOException if the file is invalid or the world cannot be resolved
+   */
+  public static @NotNull Content read(final @NotNull Path path, final @Nullable World world) throws IOException {
+    return read(path, world, Bukkit::createBlockData);
+  }
+
+  /**
+   * Reads a snapshot file, parsing palette entries with the given function.
+   */
+  static @NotNull Content read(
+    final @NotNull Path path,
+    final @Nullable World world,
+    final @NotNull Function<String, BlockData> blockParser
+  ) throws IOException {
+    return read(path, world, blockParser, key -> Registry.ENTITY_TYPE.get(key));
+  }
+
+  /**
+   * Reads a snapshot file, parsing palette entries and entity types with the given functions.
+   */
+  static @NotNull Content read(
+    final @NotNull Path path,
+    final @Nullable World world,
+    final @NotNull Function<String, BlockData> blockParser,
+    final @NotNull Function<NamespacedKey, EntityType> entityParser
+  ) throws IOException {
+    final var buffer = load(path);
+
+    try {
+      if (buffer.remaining() < Integer.BYTES + Short.BYTES + Byte.BYTES || buffer.getInt() != MAGIC)
+        throw new IOException(String.format("Not a cuboid snapshot file: %s", path));
+
+      final short version = buffer.getShort();
+      if (version != VERSION)
+        throw new IOException(String.format("Unsupported snapshot version %d in %s", version, path));
+
+      final boolean compressed = (buffer.get() & FLAG_COMPRESSED) != 0;
+
+      final var worldName = readString(buffer, path);
+      final var target = world != null ? world : Bukkit.getWorld(worldName);
+      if (target == null)
+        throw new IOException(String.format("World '%s' of snapshot %s is not loaded", worldName, path));
+
+      final int originX = buffer.getInt(), originY = buffer.getInt(), originZ = buffer.getInt();
+      final int sizeX = buffer.getInt(), sizeY = buffer.getInt(), sizeZ = buffer.getInt();
+      final long volume = (long) sizeX * sizeY * sizeZ;
+      if (sizeX <= 0 || sizeY <= 0 || sizeZ <= 0 || volume > Integer.MAX_VALUE)
+        throw new IOException(String.format("Invalid region size %dx%dx%d in %s", sizeX, sizeY, sizeZ, path));
+
+      final int paletteSize = buffer.getInt();
+      if (paletteSize <= 0 || paletteSize > volume || paletteSize > buffer.remaining() / Integer.BYTES)
+        throw new IOException(String.format("Invalid palette size %d in %s", paletteSize, path));
+
+      final var palette = new BlockData[paletteSize];
+      for (int i = 0; i < palette.length; i++)
+        palette[i] = blockParser.apply(readString(buffer, path));
+
+      final int bits = buffer.get();
+      final int longCount = buffer.getInt();
+      final int entityCount = buffer.getInt();
+      final int bodyLength = buffer.getInt();
+
+      if (bits < BlockSnapshot.bitsFor(paletteSize) || bits > Integer.SIZE)
+        throw new IOException(String.format("Invalid %d bits per entry for a palette of %d in %s", bits, paletteSize, path));
+      if (longCount != BlockSnapshot.longsFor((int) volume, bits))
+        throw new IOException(String.format("Expected %d packed longs in %s, header says %d",
+          BlockSnapshot.longsFor((int) volume, bits), path, longCount));
+      if (entityCount < 0 || bodyLength < (long) longCount * Long.BYTES)
+        throw new IOException(String.format("Invalid body of %d bytes for %d entities in %s", bodyLength, entityCount, path));
+      if (!compressed && bodyLength > buffer.remaining())
+        throw new IOException(String.format("Truncated snapshot %s: body of %d bytes, %d left", path, bodyLength, buffer.remaining()));
+
+      final var body = compressed ? inflate(buffer.slice(), bodyLength) : buffer.slice(buffer.position(), bodyLength);
+      if (body.remaining() < bodyLength)
+        throw new IOException(String.format("Truncated compressed snapshot %s", path));
+
+      final var packed = body.slice(0, longCount * Long.BYTES).asLongBuffer();
+      checkIndices(path, packed, bits, (int) volume, paletteSize);
+      body.position(longCount * Long.BYTES);
+
+      final var entities = new ArrayList<EntitySnapshot>(entityCount);
+      for (int i = 0; i < entityCount; i++) {
+        final var key = NamespacedKey.fromString(readString(body, path));
+        final double x = body.getDouble(), y = body.getDouble(), z = body.getDouble();
+        final float yaw = body.getFloat(), pitch = body.getFloat();
+
+        final var type = key == null ? null : entityParser.apply(key);
+        if (type != null) entities.add(new EntitySnapshot(type, x, y, z, yaw, pitch));
+      }
+
+      final var blocks = new BlockSnapshot(target, originX, originY, originZ, sizeX, sizeY, sizeZ, palette, bits, packed);
+      return new Content(blocks, entities);
+    } catch (RuntimeException e) {
+      throw new IOException(String.format("Corrupted snapshot file %s: %s", path, e.getMessage()), e);
+    }
+  }
+
+  // ###############################################################
+  // ----------------------- PRIVATE METHODS -----------------------
+  // ###############################################################
+
+  /**
+   * Reads the whole file into a direct buffer, so no handle or mapping outlives the read.
+   */
+  private static @NotNull ByteBuffer load(final @NotNull Path path) throws IOException {
+    try (final var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      final long size = channel.size();
+      if (size > Integer.MAX_VALUE)
+        throw new IOException(String.format("Snapshot too large to read: %d bytes", size));
+
+      final var buffer = ByteBuffer.allocateDirect((int) size);
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer) < 0)
+          throw new IOException(String.format("Unexpected end of snapshot file %s", path));
+      }
+      return buffer.flip();
+    }
+  }
+
+  /**
+   * Fails if a packed index points past the palette, which only a corrupted file can hold.
+   */
+  private static void checkIndices(final @NotNull Path path, final @NotNull LongBuffer packed, final int bits, final int volume, final int paletteSize) throws IOException {
+    if (bits == 0 || paletteSize >= 1L << bits) return;
+
+    for (int i = 0; i < volume; i++) {
+      final int index = BlockSnapshot.get(packed, bits, i);
+      if (index >= paletteSize)
+        throw new IOException(String.format("Block %d of %s uses palette entry %d out of %d", i, path, index, paletteSize));
+    }
+  }
+
+  private static void move(final @NotNull Path source, final @NotNull Path target) throws IOException {
+    try {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  private static @NotNull ByteBuffer inflate(final @NotNull ByteBuffer input, final int length) throws IOException {
+    final var output = ByteBuffer.allocate(length);
+    final var inflater = new Inflater();
+    try {
+      inflater.setInput(input);
+      while (output.hasRemaining() && !inflater.finished()) {
+        if (inflater.inflate(output) == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+          throw new IOException("Truncated compressed snapshot body");
+      }
+    } catch (DataFormatException e) {
+      throw new IOException("Invalid compressed snapshot body", e);
+    } finally {
+      inflater.end();
+    }
+
+    return output.flip();
+  }
+
+  private static void writeString(final @NotNull DataOutputStream out, final @NotNull String value) throws IOException {
+    final var bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static @NotNull String readString(final @NotNull ByteBuffer buffer, final @NotNull Path path) throws IOException {
+    final int length = buffer.getInt();
+    if (length < 0 || length > buffer.remaining())
+      throw new IOException(String.format("Invalid string of %d bytes in %s, %d left", length, path, buffer.remaining()));
+
+    final var bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static @NotNull OutputStream nonClosing(final @NotNull OutputStream out) {
+    return new OutputStream() {
+      @Override public void write(int b) throws IOException { out.write(b); }
+      @Override public void write(byte @NotNull [] b, int off, int len) throws IOException { out.write(b, off, len); }
+      @Override public void flush() throws IOException { out.flush(); }
+      @Override public void close() throws IOException { out.flush(); }
+    };
+  }
+
+}
@@ -0,0 +1,229 @@
+package fr.dreamin.dreamapi.core.particle;
+
+import fr.dreamin.dreamapi.api.interpolation.InterpolationType;
+import fr.dreamin.dreamapi.core.interpolation.Interpolation;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * MorphTimeline - Frames of a morph between keyframe shapes, interpolated on demand.
+ * <p>
+ * Only the normalized keyframes are kept (one packed {@link PointCloud} per shape) plus, per frame,
+ * the keyframe it starts from and its eased progress. {@link #frame(int)} lerps the two keyframes
+ * into a reusable buffer, so memory is O(points) instead of O(points x frames).
+ * <p>
+ * Keyframes and per-frame data are never modified once built: {@link #share()} hands out views
+ * reading the same arrays, each with its own buffer and direction.
+ */
+public final class MorphTimeline {
+
+  private final PointCloud[] keyframes;
+  private final int pointCount;
+  private final int[] segments;
+  private final double[] progress;
+  private final double[] buffer;
+  private boolean reversed = false;
+
+  private MorphTimeline(final @NotNull PointCloud[] keyframes, final int @NotNull [] segments, final double @NotNull [] progress) {
+    this.keyframes = keyframes;
+    this.pointCount = keyframes.length == 0 ? 0 : keyframes[0].size();
+    this.segments = segments;
+    this.progress = progress;
+    this.buffer = new double[this.pointCount * 3];
+  }
+
+  private MorphTimeline(final @NotNull MorphTimeline source) {
+    this(source.keyframes, source.segments, source.progress);
+  }
+
+  // ###############################################################
+  // --------------------------- FACTORIES -------------------------
+  // ###############################################################
+
+  /**
+   * Morph from one shape to another over {@code duration + 1} frames.
+   */
+  public static @NotNull MorphTimeline between(
+    final @NotNull ParticleShape from,
+    final @NotNull ParticleShape to,
+    final int duration,
+    final @NotNull InterpolationType ease
+  ) {
+    final var keyframes = normalize(List.of(from.points(), to.points()));
+    final int steps = Math.max(0, duration);
+
+    final var segments = new int[steps + 1];
+    final var progress = new double[steps + 1];
+    for (int step = 0; step <= steps; step++)
+      progress[step] = steps == 0 ? 1D : Interpolation.applyEasing((double) step / steps, ease);
+
+    return new MorphTimeline(keyframes, segments, progress);
+  }
+
+  /**
+   * Morph through a chain of shapes (A -> B -> C...).
+   * @param morphDurations Ticks of each transition; missing entries share {@code duration} evenly
+   */
+  public static @NotNull MorphTimeline chain(
+    final @NotNull List<ParticleShape> shapes,
+    final @NotNull List<Integer> morphDurations,
+    final int duration,
+    final @NotNull InterpolationType ease
+  ) {
+    if (shapes.size() < 2) {
+      final var keyframes = shapes.isEmpty() ? new PointCloud[] { PointCloud.EMPTY } : new PointCloud[] { shapes.get(0).points() };
+      final int frames = Math.max(0, duration) + 1;
+      return new MorphTimeline(keyframes, new int[frames], new double[frames]);
+    }
+
+    return chain(normalize(shapes.stream().map(ParticleShape::points).toList()), morphDurations, duration, ease);
+  }
+
+  /**
+   * Same as {@link #chain(List, List, int, InterpolationType)}, but samples and normalizes every
+   * shape in parallel on the given executor.
+   * @return A future completed on the executor once the timeline is ready
+   */
+  public static @NotNull CompletableFuture<MorphTimeline> chainAsync(
+    final @NotNull List<ParticleShape> shapes,
+    final @NotNull List<Integer> morphDurations,
+    final int duration,
+    final @NotNull InterpolationType ease,
+    final @NotNull Executor executor
+  ) {
+    if (shapes.size() < 2)
+      return CompletableFuture.supplyAsync(() -> chain(shapes, morphDurations, duration, ease), executor);
+
+    final var sampled = shapes.stream()
+      .map(shape -> CompletableFuture.supplyAsync(shape::points, executor))
+      .toList();
+
+    return CompletableFuture.allOf(sampled.toArray(CompletableFuture[]::new)).thenComposeAsync(ignored -> {
+      final var clouds = sampled.stream().map(CompletableFuture::join).toList();
+      final int target = clouds.stream().mapToInt(PointCloud::size).max().orElse(0);
+
+      final var normalized = clouds.stream()
+        .map(cloud -> CompletableFuture.supplyAsync(() -> cloud.resample(target), executor))
+        .toList();
+
+      return CompletableFuture.allOf(normalized.toArray(CompletableFuture[]::new)).thenApply(done -> {
+        final var keyframes = normalized.stream().map(CompletableFuture::join).toArray(PointCloud[]::new);
+        return chain(keyframes, morphDurations, duration, ease);
+      });
+    }, executor);
+  }
+
+  private static @NotNull MorphTimeline chain(
+    final @NotNull PointCloud[] keyframes,
+    final @NotNull List<Integer> morphDurations,
+    final int duration,
+    final @NotNull InterpolationType ease
+  ) {
+    int total = 1;
+    final var steps = new int[keyframes.length - 1];
+    for (int i = 0; i < steps.length; i++) {
+      steps[i] = Math.max(1, i < morphDurations.size() ? morphDurations.get(i) : duration / steps.length);
+      total += steps[i];
+    }
+
+    final var segments = new int[total];
+    final var progress = new double[total];
+    int frame = 0;
+    for (int i = 0; i < steps.length; i++) {
+      for (int step = 0; step < steps[i]; step++, frame++) {
+        segments[frame] = i;
+        progress[frame] = Interpolation.applyEasing((double) step / steps[i], ease);
+      }
+    }
+
+    // Last frame is exactly the last shape
+    segments[frame] = steps.length - 1;
+    progress[frame] = 1D;
+
+    return new MorphTimeline(keyframes, segments, progress);
+  }
+
+  // ###############################################################
+  // ----------------------- PUBLIC METHODS ------------------------
+  // ###############################################################
+
+  public int frameCount() {
+    return this.segments.length;
+  }
+
+  public int pointCount() {
+    return this.pointCount;
+  }
+
+  public boolean isEmpty() {
+    return this.segments.length == 0;
+  }
+
+  /** @return Approximate heap used by the keyframes, the per-frame data and the frame buffer, in bytes */
+  public long memoryFootprint() {
+    long bytes = (long) this.buffer.length * Double.BYTES;
+    for (final var keyframe : this.keyframes)
+      bytes += (long) keyframe.size() * 3 * Double.BYTES;
+    return bytes + (long) this.segments.length * Integer.BYTES + (long) this.progress.length * Double.BYTES;
+  }
+
+  /**
+   * Interpolates a frame into the shared buffer.
+   * <p>
+   * The returned array is reused by the next call: read it before asking for another frame.
+   *
+   * @param index Frame index, between 0 and {@link #frameCount()} - 1
+   * @return Interleaved x, y, z coordinates of the frame ({@link #pointCount()} points)
+   */
+  public double @NotNull [] frame(final int index) {
+    final int frame = this.reversed ? this.segments.length - 1 - index : index;
+    final int segment = this.segments[frame];
+    final double t = this.progress[frame];
+
+    final var from = this.keyframes[segment].coords();
+    if (this.keyframes.length == 1 || t == 0D) {
+      System.arraycopy(from, 0, this.buffer, 0, this.buffer.length);
+      return this.buffer;
+    }
+
+    final var to = this.keyframes[segment + 1].coords();
+    if (t == 1D) {
+      System.arraycopy(to, 0, this.buffer, 0, this.buffer.length);
+      return this.buffer;
+    }
+
+    for (int i = 0; i < this.buffer.length; i++)
+      this.buffer[i] = from[i] + (to[i] - from[i]) * t;
+    return this.buffer;
+  }
+
+  /**
+   * Reverses the frame order of this view (used by reversing loops).
+   */
+  public void reverse() {
+    this.reversed = !this.reversed;
+  }
+
+  /**
+   * @return A new view over the same keyframes, with its own buffer and playing forward
+   */
+  public @NotNull MorphTimeline share() {
+    return new MorphTimeline(this);
+  }
+
+  // ###############################################################
+  // ----------------------- PRIVATE METHODS -----------------------
+  // ###############################################################
+
+  private static @NotNull PointCloud[] normalize(final @NotNull List<PointCloud> clouds) {
+    final int target = clouds.stream().mapToInt(PointCloud::size).max().orElse(0);
+    final var normalized = new PointCloud[clouds.size()];
+    for (int i = 0; i < normalized.length; i++)
+      normalized[i] = clouds.get(i).resample(target);
+    return normalized;
+  }
+
+}
@@ -1,25 +1,29 @@
 package fr.dreamin.dreamapi.core.particle;
 
+import fr.dreamin.dreamapi.api.DreamAPI;
 import fr.dreamin.dreamapi.api.interpolation.InterpolationType;
 import fr.dreamin.dreamapi.core.interpolation.Interpolation;
+import fr.dreamin.dreamapi.core.particle.engine.ParticleEngineService;
 import fr.dreamin.dreamapi.core.time.TickTask;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.experimental.Accessors;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.entity.Player;
-import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
 
 /**
  * ParticleAnimation - A task to render a single ParticleShape along a ParticlePath over time.
  * <p>
  * This class handles the animation of a fixed shape moving along a path, with support for
  * looping, reversing, and progressive drawing of the shape.
+ * <p>
+ * The shape is drawn from its {@link ParticleShape#points()} through a {@link ParticleEmitter}.
+ * Shapes that don't describe themselves with points (see {@link ParticleShape#hasPoints()}) are drawn
+ * through their own {@code render} methods, unless the drawing is progressive.
  */
 @Getter
 @Accessors(fluent = true)
@@ -36,8 +40,17 @@ public final class ParticleAnimation extends TickTask<ParticleAnimation> {
   private final InterpolationType interpolationType;
 
   private final ParticleShape.ParticleOptions options;
-
-  private List<Location> frames;
+  private final ParticleEmitter emitter;
+  private final int priority;
+  private final ParticleTransform.Animator animator;
+  private final ParticleTransform transform = new ParticleTransform();
+  @Getter(AccessLevel.NONE)
+  private double[] buffer = new double[0];
+  // Resolved once: shapes only implementing sample() would be re-packed on every frame
+  @Getter(AccessLevel.NONE)
+  private PointCloud points;
+
+  private final ParticlePath.Cursor frames;
   private int index = 0;
 
   private ParticleAnimation(Builder builder) {
@@ -52,14 +65,31 @@ public final class ParticleAnimation extends TickTask<ParticleAnimation> {
     this.progressiveDraw = builder.progressiveDraw;
     this.interpolationType = builder.interpolationType;
     this.options = builder.options;
+    this.priority = builder.priority;
+    this.animator = builder.animator;
+    this.emitter = new ParticleEmitter(this.particle, this.options).viewDistance(builder.viewDistance);
 
-    // L'interpolationType est appliqué au path uniquement si le path n'est pas ParticlePath.none()
-    // Le path est déjà configuré avec son propre easing.
-    this.frames = path.generateFrames(duration);
-    // Si pas de path, on s'assure d'avoir au moins une frame à la location par défaut
-    if (path == ParticlePath.none() && this.frames.isEmpty()) {
-      this.frames = List.of(new Location(null, 0, 0, 0));
-    }
+    // Le path est déjà configuré avec son propre easing, il est lu frame par frame sans liste de Location.
+    this.frames = path.cursor(duration);
+  }
+
+  private ParticleAnimation(ParticleAnimation source) {
+    super(source);
+    this.particle = source.particle;
+    this.shape = source.shape;
+    this.path = source.path;
+    this.duration = source.duration;
+    this.speed = source.speed;
+    this.loop = source.loop;
+    this.reverse = source.reverse;
+    this.progressiveDraw = source.progressiveDraw;
+    this.interpolationType = source.interpolationType;
+    this.options = source.options;
+    this.priority = source.priority;
+    this.animator = source.animator;
+    this.emitter = new ParticleEmitter(this.particle, this.options).viewDistance(source.emitter.viewDistance());
+    this.frames = source.frames.copy();
+    this.points = source.points;
   }
 
   // ###############################################################
@@ -76,7 +106,7 @@ public final class ParticleAnimation extends TickTask<ParticleAnimation> {
 
   @Override
   public void onTick() {
-    if (index >= frames.size()) {
+    if (index >= frames.frameCount()) {
       if (this.loop) {
         index = 0;
         if (reverse) swap();
@@ -86,81 +116,56 @@ public final class ParticleAnimation extends TickTask<ParticleAnimation> {
       }
     }
 
-    if (index < frames.size()) {
-      Location base = frames.get(index);
+    if (index < frames.frameCount()) {
+      frames.seek(index);
 
-      if (progressiveDraw) {
-        List<Vector> shapePoints = shape.sample();
-        int pointsToDraw = shapePoints.size();
+      if (!progressiveDraw && !shape.hasPoints()) {
+        render();
+        index++;
+        return;
+      }
+
+      if (points == null) points = shape.points();
+      final var shapePoints = points;
+      final double[] coords = transformed(shapePoints);
+      int pointsToDraw = shapePoints.size();
 
+      if (progressiveDraw) {
         int currentCycleIndex = index;
         if (reverse && loop && (current() / duration) % 2 != 0)
-          currentCycleIndex = frames.size() - 1 - index;
+          currentCycleIndex = frames.frameCount() - 1 - index;
 
-        double progress = (double) currentCycleIndex / (frames.size() - 1);
+        double progress = (double) currentCycleIndex / (frames.frameCount() - 1);
 
         if (progress > 1.0) progress = 1.0;
 
         pointsToDraw = (int) Math.ceil((double) shapePoints.size() * progress);
 
-        if (currentCycleIndex == frames.size() - 1)
+        if (currentCycleIndex == frames.frameCount() - 1)
           pointsToDraw = shapePoints.size();
-
-        for (int i = 0; i < pointsToDraw; i++) {
-          Vector offset = shapePoints.get(i);
-          Location particleLocation = base.clone().add(offset);
-
-          if (particle == Particle.DUST && options.color() != null) {
-            Particle.DustOptions dustOptions = new Particle.DustOptions(
-              org.bukkit.Color.fromRGB(
-                options.color().getRed(),
-                options.color().getGreen(),
-                options.color().getBlue()
-              ),
-              options.size()
-            );
-            base.getWorld().spawnParticle(
-              particle,
-              particleLocation,
-              options.count(),
-              options.offset().getX(),
-              options.offset().getY(),
-              options.offset().getZ(),
-              0,
-              dustOptions
-            );
-          } else {
-            base.getWorld().spawnParticle(
-              particle,
-              particleLocation,
-              options.count(),
-              options.offset().getX(),
-              options.offset().getY(),
-              options.offset().getZ(),
-              0
-            );
-          }
-        }
-
-      } else {
-        if (particle == Particle.DUST && options.color() != null)
-          shape.render(base, options);
-        else
-          shape.render(particle, base);
       }
+
+      emitter.emit(frames.world(), frames.x(), frames.y(), frames.z(), coords, pointsToDraw);
       index++;
     }
   }
 
 
-  /**
-   * Starts the animation at the current location of the path.
-   * If the path is ParticlePath.none(), the animation will be static.
-   */
+  @Override
+  protected void schedule() {
+    DreamAPI.getAPI().getService(ParticleEngineService.class).register(this, this::advance, this.emitter, this.priority);
+  }
+
+  @Override
+  protected void unschedule() {
+    DreamAPI.getAPI().getService(ParticleEngineService.class).unregister(this);
+  }
+
   /**
    * Starts the animation.
    * <p>
-   * The animation will be visible to all players by default.
+   * The animation will be visible to all players by default. It needs a path: on
+   * {@link ParticlePath#none()} it stops right away without drawing anything.
    */
   public void play() {
     this.start();
@@ -171,7 +176,7 @@ public final class ParticleAnimation extends TickTask<ParticleAnimation> {
    * @param player The player who will see the particles.
    */
   public void play(@NotNull Player player) {
-    this.shape.viewer(player);
+    viewer(player);
     this.start();
   }
 
@@ -180,17 +185,79 @@ public final class ParticleAnimation extends TickTask<ParticleAnimation> {
    * @param players The collection of players who will see the particles.
    */
   public void play(@NotNull Collection<Player> players) {
-    players.forEach(this.shape::viewer);
+    viewers(players);
     this.start();
   }
 
+  /**
+   * Restricts the animation to this player, without starting it.
+   * <p>
+   * Frames are still computed once and sent to every registered viewer. The viewer is also handed to
+   * the shape, which filters its own {@code render} drawing (see {@link ParticleShape#hasPoints()}).
+   * @param player The player who will see the particles.
+   * @return This ParticleAnimation instance.
+   */
+  public ParticleAnimation viewer(@NotNull Player player) {
+    this.emitter.viewer(player);
+    this.shape.viewer(player);
+    return this;
+  }
+
+  /**
+   * Restricts the animation to these players, without starting it.
+   * @param players The players who will see the particles.
+   * @return This ParticleAnimation instance.
+   */
+  public ParticleAnimation viewers(@NotNull Collection<? extends Player> players) {
+    players.forEach(this::viewer);
+    return this;
+  }
+
+  /**
+   * Creates a new, stopped animation sharing the precomputed frames of this one.
+   * <p>
+   * Viewers and listeners are not copied.
+   * @return A new ParticleAnimation instance.
+   */
+  public ParticleAnimation copy() {
+    return new ParticleAnimation(this);
+  }
+
+  /**
+   * Applies the animator's transform to the shape points.
+   * <p>
+   * The shape cloud is shared, so the result goes to this animation's own buffer.
+   */
+  private double[] transformed(PointCloud points) {
+    if (animator == null) return points.coords();
+
+    animator.animate(transform.identity(), current());
+    if (transform.isIdentity()) return points.coords();
+
+    if (buffer.length < points.size() * 3)
+      buffer = new double[points.size() * 3];
+    transform.apply(points.coords(), buffer, points.size());
+    return buffer;
+  }
+
+  /**
+   * Draws the current frame through the shape's own rendering, for shapes without points.
+   */
+  private void render() {
+    final var base = new Location(frames.world(), frames.x(), frames.y(), frames.z());
+    if (particle == Particle.DUST && options.color() != null)
+      shape.render(base, options);
+    else
+      shape.render(particle, base);
+  }
+
   /**
    * Reverses the order of the path frames for the reverse effect.
    */
   private void swap() {
-    if (frames == null || frames.isEmpty()) return;
+    if (frames.isEmpty()) return;
 
-    Collections.reverse(frames);
+    frames.reverse();
 
     index = 0;
   }
@@ -216,6 +283,9 @@ public final class ParticleAnimation extends TickTask<ParticleAnimation> {
     private boolean reverse = false;
     private boolean progressiveDraw = false;
     private InterpolationType interpolationType = InterpolationType.LINEAR;
+    private double viewDistance = ParticleEmitter.DEFAULT_VIEW_DISTANCE;
+    private int priority = 0;
+    private ParticleTransform.Animator animator = null;
 
 
     public Builder particle(Particle particle) { this.particle = particle; return this; }
@@ -228,6 +298,12 @@ public final class ParticleAnimation extends TickTask<ParticleAnimation> {
     public Builder reverse(boolean reverse) { this.reverse = reverse; return this; }
     public Builder progressiveDraw(boolean progressiveDraw) { this.progressiveDraw = progressiveDraw; return this; }
     public Builder interpolation(InterpolationType type) { this.interpolationType = type; return this; }
+    /** Players farther than this distance (in blocks) from a frame don't receive it. */
+    public Builder viewDistance(double viewDistance) { this.viewDistance = viewDistance; return this; }
+    /** Higher priorities keep rendering when the particle engine budget runs out. */
+    public Builder priority(int priority) { this.priority = priority; return this; }
+    /** Composes a transform (rotation, scale, translation) applied to the shape on each frame. */
+    public Builder transform(ParticleTransform.Animator animator) { this.animator = animator; return this; }
 
 
     @Override
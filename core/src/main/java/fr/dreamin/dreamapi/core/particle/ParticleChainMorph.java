@@ -1,7 +1,8 @@
 package fr.dreamin.dreamapi.core.particle;
 
+import fr.dreamin.dreamapi.api.DreamAPI;
 import fr.dreamin.dreamapi.api.interpolation.InterpolationType;
-import fr.dreamin.dreamapi.core.interpolation.Interpolation;
+import fr.dreamin.dreamapi.core.particle.engine.ParticleEngineService;
 import fr.dreamin.dreamapi.core.time.TickTask;
 import lombok.Getter;
 import lombok.experimental.Accessors;
@@ -13,8 +14,10 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * ParticleChainMorph - Animates the progressive transformation (morphing) through a chain of shapes (A -> B -> C...).
@@ -40,15 +43,23 @@ public final class ParticleChainMorph extends TickTask<ParticleChainMorph> {
   private Vector currentRotationAngle;
   private final InterpolationType interpolationType;
   private final ParticleShape.ParticleOptions options;
+  private final ParticleEmitter emitter;
+  private final int priority;
   private final List<Integer> morphDurations;
+  private final ParticleTransform.Animator animator;
+  private final ParticleTransform transform = new ParticleTransform();
 
 
-  private List<List<Vector>> morphFrames;
-  private List<Location> pathFrames;
+  private final MorphTimeline timeline;
+  private final ParticlePath.Cursor pathFrames;
   private int index = 0;
   private boolean isReversed = false;
 
   private ParticleChainMorph(Builder builder) {
+    this(builder, MorphTimeline.chain(builder.shapes, builder.morphDurations, builder.duration, builder.interpolationType));
+  }
+
+  private ParticleChainMorph(Builder builder, MorphTimeline timeline) {
     super(builder);
     this.particle = builder.particle;
     this.shapes = builder.shapes;
@@ -60,93 +71,44 @@ public final class ParticleChainMorph extends TickTask<ParticleChainMorph> {
     this.progressiveDraw = builder.progressiveDraw;
     this.interpolationType = builder.interpolationType;
     this.options = builder.options;
+    this.priority = builder.priority;
+    this.emitter = new ParticleEmitter(this.particle, this.options).viewDistance(builder.viewDistance);
     this.morphDurations = builder.morphDurations;
+    this.animator = builder.animator;
 
     this.turn = builder.turn;
     this.rotationAnglePerTick = builder.rotationAnglePerTick;
     this.rotationOrigin = builder.rotationOrigin;
     this.currentRotationAngle = new Vector(0, 0, 0);
 
-    this.morphFrames = generateMorphFrames();
-    // Le path est déjà configuré avec son propre easing.
-    this.pathFrames = path.generateFrames(duration);
-    // Si pas de path, on s'assure d'avoir au moins une frame à la location par défaut
-    if (path == ParticlePath.none() && this.pathFrames.isEmpty()) {
-      this.pathFrames = List.of(new Location(null, 0, 0, 0));
-    }
-  }
-
-  // ###############################################################
-  // -------------------- FRAME GENERATION -------------------------
-  // ###############################################################
-
-  private List<List<Vector>> generateMorphFrames() {
-    if (shapes.size() < 2) {
-      List<Vector> singleFrame = shapes.isEmpty() ? Collections.emptyList() : shapes.get(0).sample();
-      List<List<Vector>> frames = new ArrayList<>(duration + 1);
-      for (int i = 0; i <= duration; i++) frames.add(singleFrame);
-      return frames;
-    }
-
-    List<List<Vector>> allFrames = new ArrayList<>();
-
-    // Normalisation des points
-    int maxPoints = shapes.stream().mapToInt(s -> s.sample().size()).max().orElse(1);
-    List<List<Vector>> normalizedShapes = new ArrayList<>(shapes.size());
-    for (ParticleShape shape : shapes) {
-      normalizedShapes.add(normalizePointCount(shape.sample(), maxPoints));
-    }
-
-    // Pour chaque morph entre deux formes successives
-    for (int i = 0; i < shapes.size() - 1; i++) {
-      List<Vector> fromPoints = normalizedShapes.get(i);
-      List<Vector> toPoints = normalizedShapes.get(i + 1);
-
-      // On récupère la durée de cette transition
-      int steps = (i < morphDurations.size()) ? morphDurations.get(i) : duration / (shapes.size() - 1);
-      steps = Math.max(1, steps);
-
-      for (int step = 0; step < steps; step++) {
-        double t = Interpolation.applyEasing((double) step / steps, interpolationType);
-        List<Vector> frame = new ArrayList<>(maxPoints);
-        for (int j = 0; j < maxPoints; j++) {
-          frame.add(Interpolation.lerp(fromPoints.get(j), toPoints.get(j), t));
-        }
-        allFrames.add(frame);
-      }
-    }
-
-    allFrames.add(normalizedShapes.get(shapes.size() - 1));
-    return allFrames;
+    this.timeline = timeline;
+    // Le path est déjà configuré avec son propre easing, il est lu frame par frame sans liste de Location.
+    this.pathFrames = path.cursor(duration);
   }
 
-  private List<Vector> normalizePointCount(List<Vector> points, int targetCount) {
-    if (points.isEmpty()) {
-      List<Vector> normalized = new ArrayList<>(targetCount);
-      for (int i = 0; i < targetCount; i++) {
-        normalized.add(new Vector(0, 0, 0));
-      }
-      return normalized;
-    }
-
-    if (points.size() == targetCount)
-      return new ArrayList<>(points);
-
-    List<Vector> normalized = new ArrayList<>(targetCount);
-
-    if (points.size() < targetCount) {
-      for (int i = 0; i < targetCount; i++) {
-        int sourceIndex = (i * points.size()) / targetCount;
-        normalized.add(points.get(sourceIndex).clone());
-      }
-    } else {
-      for (int i = 0; i < targetCount; i++) {
-        int sourceIndex = (i * points.size()) / targetCount;
-        normalized.add(points.get(sourceIndex).clone());
-      }
-    }
+  private ParticleChainMorph(ParticleChainMorph source) {
+    super(source);
+    this.particle = source.particle;
+    this.shapes = source.shapes;
+    this.path = source.path;
+    this.duration = source.duration;
+    this.speed = source.speed;
+    this.loop = source.loop;
+    this.reverse = source.reverse;
+    this.progressiveDraw = source.progressiveDraw;
+    this.interpolationType = source.interpolationType;
+    this.options = source.options;
+    this.priority = source.priority;
+    this.morphDurations = source.morphDurations;
+    this.animator = source.animator;
+    this.turn = source.turn;
+    this.rotationAnglePerTick = source.rotationAnglePerTick;
+    this.rotationOrigin = source.rotationOrigin;
+    this.emitter = new ParticleEmitter(this.particle, this.options).viewDistance(source.emitter.viewDistance());
+    this.currentRotationAngle = new Vector(0, 0, 0);
 
-    return normalized;
+    this.timeline = source.timeline.share();
+    this.pathFrames = source.pathFrames.copy();
   }
 
   // ###############################################################
@@ -182,13 +144,13 @@ public final class ParticleChainMorph extends TickTask<ParticleChainMorph> {
     this.index = 0;
     this.isReversed = false;
     this.currentRotationAngle = new Vector(0, 0, 0); // Réinitialiser l'angle de rotation au début
-    if (morphFrames.isEmpty() || pathFrames.isEmpty())
+    if (timeline.isEmpty() || pathFrames.isEmpty())
       stop();
   }
 
   @Override
   public void onTick() {
-    if (index >= morphFrames.size() || index >= pathFrames.size()) {
+    if (index >= timeline.frameCount() || index >= pathFrames.frameCount()) {
       if (this.loop) {
         index = 0;
         if (reverse) swap();
@@ -198,72 +160,51 @@ public final class ParticleChainMorph extends TickTask<ParticleChainMorph> {
       }
     }
 
-    if (index < morphFrames.size() && index < pathFrames.size()) {
-      List<Vector> currentFrame = morphFrames.get(index);
-      Location baseLocation = pathFrames.get(index);
+    if (index < timeline.frameCount() && index < pathFrames.frameCount()) {
+      final var currentFrame = timeline.frame(index);
+      pathFrames.seek(index);
 
-      // Logique de rotation
+      // Rotation, then the custom transform, composed into a single matrix applied in place
+      transform.identity();
       if (turn) {
         currentRotationAngle.add(rotationAnglePerTick);
-        currentFrame = rotateFrame(currentFrame, currentRotationAngle, rotationOrigin);
+        transform.rotateAround(currentRotationAngle, rotationOrigin);
       }
+      if (animator != null) animator.animate(transform, current());
+      transform.apply(currentFrame, timeline.pointCount());
 
-      int pointsToDraw = currentFrame.size();
+      int pointsToDraw = timeline.pointCount();
       if (progressiveDraw) {
 
         int currentCycleIndex = index;
         if (reverse && isReversed) {
-          currentCycleIndex = morphFrames.size() - 1 - index;
+          currentCycleIndex = timeline.frameCount() - 1 - index;
         }
 
-        double progress = (double) currentCycleIndex / (morphFrames.size() - 1);
-        pointsToDraw = (int) Math.ceil((double) currentFrame.size() * progress);
+        double progress = (double) currentCycleIndex / (timeline.frameCount() - 1);
+        pointsToDraw = (int) Math.ceil((double) timeline.pointCount() * progress);
 
-        if (currentCycleIndex == morphFrames.size() - 1) {
-          pointsToDraw = currentFrame.size();
+        if (currentCycleIndex == timeline.frameCount() - 1) {
+          pointsToDraw = timeline.pointCount();
         }
       }
 
-      for (int i = 0; i < pointsToDraw; i++) {
-        Vector offset = currentFrame.get(i);
-        Location particleLocation = baseLocation.clone().add(offset);
-
-        if (particle == Particle.DUST && options.color() != null) {
-          Particle.DustOptions dustOptions = new Particle.DustOptions(
-            org.bukkit.Color.fromRGB(
-              options.color().getRed(),
-              options.color().getGreen(),
-              options.color().getBlue()
-            ),
-            options.size()
-          );
-          baseLocation.getWorld().spawnParticle(
-            particle,
-            particleLocation,
-            options.count(),
-            options.offset().getX(),
-            options.offset().getY(),
-            options.offset().getZ(),
-            0,
-            dustOptions
-          );
-        } else {
-          baseLocation.getWorld().spawnParticle(
-            particle,
-            particleLocation,
-            options.count(),
-            options.offset().getX(),
-            options.offset().getY(),
-            options.offset().getZ(),
-            0
-          );
-        }
-      }
+      emitter.emit(pathFrames.world(), pathFrames.x(), pathFrames.y(), pathFrames.z(), currentFrame, pointsToDraw);
 
       index++;
     }
   }
 
+  @Override
+  protected void schedule() {
+    DreamAPI.getAPI().getService(ParticleEngineService.class).register(this, this::advance, this.emitter, this.priority);
+  }
+
+  @Override
+  protected void unschedule() {
+    DreamAPI.getAPI().getService(ParticleEngineService.class).unregister(this);
+  }
+
   /**
    * Starts the chain morphing animation.
    * <p>
@@ -278,7 +219,7 @@ public final class ParticleChainMorph extends TickTask<ParticleChainMorph> {
    * @param player The player who will see the particles.
    */
   public void play(@NotNull Player player) {
-    shapes.forEach(shape -> shape.viewer(player));
+    viewer(player);
     this.start();
   }
 
@@ -287,85 +228,53 @@ public final class ParticleChainMorph extends TickTask<ParticleChainMorph> {
    * @param players The collection of players who will see the particles.
    */
   public void play(@NotNull Collection<Player> players) {
-    shapes.forEach(shape -> players.forEach(shape::viewer));
+    viewers(players);
     this.start();
   }
 
   /**
-   * Reverses the order of the morph and path frames for the reverse effect.
+   * Restricts the chain morphing animation to this player, without starting it.
+   * <p>
+   * Frames are still computed once and sent to every registered viewer.
+   * @param player The player who will see the particles.
+   * @return This ParticleChainMorph instance.
    */
-  private void swap() {
-    if (morphFrames == null || morphFrames.isEmpty()) return;
-    if (pathFrames == null || pathFrames.isEmpty()) return;
+  public ParticleChainMorph viewer(@NotNull Player player) {
+    this.emitter.viewer(player);
+    return this;
+  }
 
-    Collections.reverse(morphFrames);
-    Collections.reverse(pathFrames);
-    index = 0;
-    isReversed = !isReversed;
+  /**
+   * Restricts the chain morphing animation to these players, without starting it.
+   * @param players The players who will see the particles.
+   * @return This ParticleChainMorph instance.
+   */
+  public ParticleChainMorph viewers(@NotNull Collection<? extends Player> players) {
+    this.emitter.viewers(players);
+    return this;
   }
 
   /**
-   * Rotates a list of vectors (offsets) around a given origin vector.
-   * The rotation is applied on the XZ plane (around the Y axis).
-   *
-   * @param frame The list of vectors to rotate.
-   * @param angle The angle of rotation in radians.
-   * @param origin The point of origin for the rotation.
-   * @return A new list of rotated vectors.
+   * Creates a new, stopped chain morph sharing the precomputed frames of this one.
+   * <p>
+   * Viewers and listeners are not copied.
+   * @return A new ParticleChainMorph instance.
    */
+  public ParticleChainMorph copy() {
+    return new ParticleChainMorph(this);
+  }
+
   /**
-   * Rotates a list of vectors (offsets) around a given origin vector using Euler angles (XYZ order).
-   *
-   * @param frame The list of vectors to rotate.
-   * @param angles The Euler angles (X, Y, Z) in radians.
-   * @param origin The point of origin for the rotation.
-   * @return A new list of rotated vectors.
+   * Reverses the order of the morph and path frames for the reverse effect.
    */
-  private List<Vector> rotateFrame(List<Vector> frame, Vector angles, Vector origin) {
-    if (angles.getX() == 0.0 && angles.getY() == 0.0 && angles.getZ() == 0.0) return frame;
-
-    double angleX = angles.getX();
-    double angleY = angles.getY();
-    double angleZ = angles.getZ();
-
-    double cosX = Math.cos(angleX);
-    double sinX = Math.sin(angleX);
-    double cosY = Math.cos(angleY);
-    double sinY = Math.sin(angleY);
-    double cosZ = Math.cos(angleZ);
-    double sinZ = Math.sin(angleZ);
-
-    List<Vector> rotatedFrame = new ArrayList<>(frame.size());
-
-    for (Vector offset : frame) {
-      // 1. Translate point to origin
-      double x = offset.getX() - origin.getX();
-      double y = offset.getY() - origin.getY();
-      double z = offset.getZ() - origin.getZ();
-
-      // 2. Apply rotation (XYZ Euler order)
-      // Rotation around X
-      double y1 = y * cosX - z * sinX;
-      double z1 = y * sinX + z * cosX;
-
-      // Rotation around Y
-      double x2 = x * cosY + z1 * sinY;
-      double z2 = z1 * cosY - x * sinY;
-
-      // Rotation around Z
-      double x3 = x2 * cosZ - y1 * sinZ;
-      double y3 = x2 * sinZ + y1 * cosZ;
-
-      // 3. Translate point back
-      Vector rotated = new Vector(
-        x3 + origin.getX(),
-        y3 + origin.getY(),
-        z2 + origin.getZ()
-      );
-      rotatedFrame.add(rotated);
-    }
+  private void swap() {
+    if (timeline.isEmpty()) return;
+    if (pathFrames.isEmpty()) return;
 
-    return rotatedFrame;
+    timeline.reverse();
+    pathFrames.reverse();
+    index = 0;
+    isReversed = !isReversed;
   }
 
   // ###############################################################
@@ -395,6 +304,9 @@ public final class ParticleChainMorph extends TickTask<ParticleChainMorph> {
     private boolean reverse = false;
     private boolean progressiveDraw = false;
     private InterpolationType interpolationType = InterpolationType.LINEAR;
+    private double viewDistance = ParticleEmitter.DEFAULT_VIEW_DISTANCE;
+    private int priority = 0;
+    private ParticleTransform.Animator animator = null;
 
     public Builder particle(Particle particle) {
       this.particle = particle;
@@ -477,8 +389,54 @@ public final class ParticleChainMorph extends TickTask<ParticleChainMorph> {
       return this;
     }
 
+    /** Players farther than this distance (in blocks) from a frame don't receive it. */
+    public Builder viewDistance(double viewDistance) {
+      this.viewDistance = viewDistance;
+      return this;
+    }
+
+    /** Higher priorities keep rendering when the particle engine budget runs out. */
+    public Builder priority(int priority) {
+      this.priority = priority;
+      return this;
+    }
+
+    /** Composes a transform (rotation, scale, translation) applied to each frame, after the turn rotation. */
+    public Builder transform(ParticleTransform.Animator animator) {
+      this.animator = animator;
+      return this;
+    }
+
     @Override
     public ParticleChainMorph build() {
+      configure();
+      return new ParticleChainMorph(this);
+    }
+
+    /**
+     * Builds the chain morph on the common ForkJoin pool.
+     * @see #buildAsync(Executor)
+     */
+    public CompletableFuture<ParticleChainMorph> buildAsync() {
+      return buildAsync(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Builds the chain morph off the calling thread: shapes are sampled and normalized in parallel
+     * on the executor. The future completes on the executor, so hop back to the main thread before
+     * starting the animation. The builder must not be modified until the future completes.
+     * <pre>
+     * ParticleChainMorph.create().addShape(a).addShape(b).buildAsync()
+     *   .thenAcceptAsync(ParticleChainMorph::play, Bukkit.getScheduler().getMainThreadExecutor(plugin));
+     * </pre>
+     */
+    public CompletableFuture<ParticleChainMorph> buildAsync(Executor executor) {
+      configure();
+      return MorphTimeline.chainAsync(List.copyOf(this.shapes), List.copyOf(this.morphDurations), this.duration, this.interpolationType, executor)
+        .thenApply(timeline -> new ParticleChainMorph(this, timeline));
+    }
+
+    private void configure() {
       long tickInterval = (long) (1 / this.speed);
       if (tickInterval < 1) tickInterval = 1;
       this.every(tickInterval);
@@ -487,8 +445,6 @@ public final class ParticleChainMorph extends TickTask<ParticleChainMorph> {
         this.limit(this.duration);
         this.autoStop(true);
       }
-
-      return new ParticleChainMorph(this);
     }
   }
 }
\ No newline at end of file
@@ -0,0 +1,259 @@
+package fr.dreamin.dreamapi.core.particle;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+import org.bukkit.Bukkit;
+import org.bukkit.Color;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * ParticleEmitter - Sends the points of a frame to the players able to see them.
+ * <p>
+ * An emitter is bound to one particle type and one {@link ParticleShape.ParticleOptions}: the particle
+ * data (e.g. {@link Particle.DustOptions}) is built once and reused for every point. Each frame,
+ * viewers are filtered by distance once, then every point is sent to each of them through
+ * {@link Player#spawnParticle}, reading coordinates straight from a packed {@code double[]}.
+ * <p>
+ * Without viewers, every player of the world within {@link #viewDistance()} receives the frame.
+ * Once viewers are added, only those of them that are online, in the same world and within
+ * range receive it. The {@link ParticleLod} of the options then decimates or skips the frame
+ * from the distance to the nearest receiver.
+ * <pre>
+ * final var emitter = new ParticleEmitter(Particle.DUST, ParticleOptions.ofColor(Color.RED));
+ * emitter.emit(world, x, y, z, shape.points());
+ * </pre>
+ */
+@Getter
+@Accessors(fluent = true)
+public final class ParticleEmitter {
+
+  /** Matches the distance the server uses for non-forced particles. */
+  public static final double DEFAULT_VIEW_DISTANCE = 32D;
+
+  // Counters (main thread only)
+  private static int currentTick = Integer.MIN_VALUE;
+  private static long particlesThisTick = 0, particlesLastTick = 0;
+  private static long framesThisTick = 0, framesLastTick = 0;
+  private static long totalParticles = 0;
+
+  private final @NotNull Particle particle;
+  private final @NotNull ParticleShape.ParticleOptions options;
+  private final @Nullable Object data;
+  private double viewDistance = DEFAULT_VIEW_DISTANCE;
+  private boolean culled = false;
+  private @NotNull ParticleLod lod;
+
+  @Getter(AccessLevel.NONE) private final @NotNull Set<UUID> viewers = new LinkedHashSet<>();
+  @Getter(AccessLevel.NONE) private final @NotNull List<Player> receivers = new ArrayList<>();
+  @Getter(AccessLevel.NONE) private double nearestSquared;
+
+  public ParticleEmitter(final @NotNull Particle particle, final @NotNull ParticleShape.ParticleOptions options) {
+    this.particle = particle;
+    this.options = options;
+    this.data = createData(particle, options);
+    this.lod = options.lod();
+  }
+
+  // ###############################################################
+  // ----------------------- PUBLIC METHODS ------------------------
+  // ###############################################################
+
+  /**
+   * @param viewDistance Maximum distance (in blocks) between a player and the frame origin
+   * @return This emitter
+   */
+  public ParticleEmitter viewDistance(final double viewDistance) {
+    this.viewDistance = Math.max(0D, viewDistance);
+    return this;
+  }
+
+  /**
+   * Overrides the level of detail taken from the options.
+   * @return This emitter
+   */
+  public ParticleEmitter lod(final @NotNull ParticleLod lod) {
+    this.lod = lod;
+    return this;
+  }
+
+  /**
+   * While culled, {@link #emit} sends nothing (used by the particle engine when its budget is spent).
+   * @return This emitter
+   */
+  public ParticleEmitter culled(final boolean culled) {
+    this.culled = culled;
+    return this;
+  }
+
+  /**
+   * Restricts the emitter to this player (in addition to the already registered viewers).
+   * @return This emitter
+   */
+  public ParticleEmitter viewer(final @NotNull Player player) {
+    this.viewers.add(player.getUniqueId());
+    return this;
+  }
+
+  public ParticleEmitter viewers(final @NotNull Collection<? extends Player> players) {
+    players.forEach(this::viewer);
+    return this;
+  }
+
+  public ParticleEmitter removeViewer(final @NotNull Player player) {
+    this.viewers.remove(player.getUniqueId());
+    return this;
+  }
+
+  /**
+   * Removes every viewer: frames are sent to all nearby players again.
+   * @return This emitter
+   */
+  public ParticleEmitter clearViewers() {
+    this.viewers.clear();
+    return this;
+  }
+
+  /**
+   * @return The viewers' UUIDs, empty when the emitter broadcasts to nearby players
+   */
+  public @NotNull Set<UUID> viewers() {
+    return Collections.unmodifiableSet(this.viewers);
+  }
+
+  public boolean hasViewers() {
+    return !this.viewers.isEmpty();
+  }
+
+  /**
+   * Emits a whole point cloud around an origin.
+   * @return The number of particles sent
+   */
+  public int emit(final @Nullable World world, final double x, final double y, final double z, final @NotNull PointCloud cloud) {
+    return emit(world, x, y, z, cloud.coords(), cloud.size());
+  }
+
+  /**
+   * Emits the first {@code count} points of a packed frame around an origin.
+   * @param world  The world to emit in (nothing is sent when null)
+   * @param coords Interleaved x, y, z offsets relative to the origin
+   * @param count  Number of points to emit
+   * @return The number of particles sent (points x viewers)
+   */
+  public int emit(final @Nullable World world, final double x, final double y, final double z, final double @NotNull [] coords, final int count) {
+    if (this.culled || world == null || count <= 0) return 0;
+
+    collectReceivers(world, x, y, z);
+    final int stride = this.receivers.isEmpty() ? 0 : this.lod.stride(this.nearestSquared);
+    final int sent = stride == 0 ? 0 : send(x, y, z, coords, count, stride);
+    this.receivers.clear();
+    return sent;
+  }
+
+  // ###############################################################
+  // --------------------------- METRICS ---------------------------
+  // ###############################################################
+
+  /**
+   * @return Particles (points x viewers) sent during the last completed server tick
+   */
+  public static long particlesLastTick() {
+    rollover();
+    return particlesLastTick;
+  }
+
+  /**
+   * @return Particles (points x viewers) sent so far during the current server tick
+   */
+  public static long particlesThisTick() {
+    rollover();
+    return particlesThisTick;
+  }
+
+  /**
+   * @return Frames emitted during the last completed server tick, counted once per viewer
+   */
+  public static long framesLastTick() {
+    rollover();
+    return framesLastTick;
+  }
+
+  public static long totalParticles() {
+    return totalParticles;
+  }
+
+  // ###############################################################
+  // ----------------------- PRIVATE METHODS -----------------------
+  // ###############################################################
+
+  private void collectReceivers(final @NotNull World world, final double x, final double y, final double z) {
+    this.nearestSquared = Double.MAX_VALUE;
+    if (this.viewers.isEmpty()) {
+      for (Player player : world.getPlayers())
+        addIfInRange(player, x, y, z);
+      return;
+    }
+
+    for (UUID uuid : this.viewers) {
+      final var player = Bukkit.getPlayer(uuid);
+      if (player != null && player.getWorld() == world)
+        addIfInRange(player, x, y, z);
+    }
+  }
+
+  private void addIfInRange(final @NotNull Player player, final double x, final double y, final double z) {
+    final var loc = player.getLocation();
+    final double dx = loc.getX() - x, dy = loc.getY() - y, dz = loc.getZ() - z;
+    final double distanceSquared = dx * dx + dy * dy + dz * dz;
+    if (distanceSquared > this.viewDistance * this.viewDistance) return;
+
+    this.receivers.add(player);
+    this.nearestSquared = Math.min(this.nearestSquared, distanceSquared);
+  }
+
+  private int send(final double x, final double y, final double z, final double @NotNull [] coords, final int count, final int stride) {
+    final var offset = this.options.offset();
+    final double ox = offset.getX(), oy = offset.getY(), oz = offset.getZ();
+    final int amount = this.options.count();
+
+    for (Player player : this.receivers) {
+      for (int i = 0; i < count; i += stride) {
+        final int p = i * 3;
+        player.spawnParticle(this.particle, x + coords[p], y + coords[p + 1], z + coords[p + 2], amount, ox, oy, oz, 0, this.data);
+      }
+    }
+
+    final int sent = ((count + stride - 1) / stride) * this.receivers.size();
+    rollover();
+    particlesThisTick += sent;
+    framesThisTick += this.receivers.size();
+    totalParticles += sent;
+    return sent;
+  }
+
+  private static void rollover() {
+    final int tick = Bukkit.getCurrentTick();
+    if (tick == currentTick) return;
+
+    particlesLastTick = tick == currentTick + 1 ? particlesThisTick : 0;
+    framesLastTick = tick == currentTick + 1 ? framesThisTick : 0;
+    particlesThisTick = 0;
+    framesThisTick = 0;
+    currentTick = tick;
+  }
+
+  private static @Nullable Object createData(final @NotNull Particle particle, final @NotNull ParticleShape.ParticleOptions options) {
+    if (particle.getDataType() != Particle.DustOptions.class) return null;
+
+    return options.color() != null
+      ? new Particle.DustOptions(options.color(), options.size())
+      : new Particle.DustOptions(Color.WHITE, 1.5f);
+  }
+
+}
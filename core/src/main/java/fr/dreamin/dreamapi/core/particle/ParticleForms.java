@@ -5,345 +5,242 @@ import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.SplittableRandom;
 
 public final class ParticleForms {
 
+  /** Seed used by random forms when none is given, so they always produce the same cloud. */
+  public static final long DEFAULT_SEED = 0x5EED_D8EA_11L;
+
   // ###############################################################
   // ----------------------- 3D SHAPES ------------------------------
   // ###############################################################
 
   /** Sphère pleine (points répartis dans un volume sphérique). */
   public static ParticleShape sphere(final double radius, final int density) {
-    return new ParticleShape() {
-
-      // ###############################################################
-      // -------------------------- METHODS ----------------------------
-      // ###############################################################
-
-      @Override
-      public void render(final @NotNull Particle particle, final @NotNull Location base) {
-        spawnShape(particle, base, ParticleShape.ParticleOptions.defaultOptions());
-      }
-
-      @Override
-      public void render(final @NotNull Location base, final @NotNull ParticleShape.ParticleOptions opts) {
-        spawnShape(Particle.DUST, base, opts);
-      }
-
-      @Override
-      public @NotNull List<Vector> sample() {
-        List<Vector> points = new ArrayList<>(density);
-        for (int i = 0; i < density; i++) {
-          double phi = Math.random() * Math.PI * 2;
-          double costheta = Math.random() * 2 - 1;
-          double u = Math.random();
-          double r = radius * Math.cbrt(u);
-          double theta = Math.acos(costheta);
-          double x = r * Math.sin(theta) * Math.cos(phi);
-          double y = r * Math.sin(theta) * Math.sin(phi);
-          double z = r * Math.cos(theta);
-          points.add(new Vector(x, y, z));
-        }
-        return points;
-      }
-
-      // ###############################################################
-      // ----------------------- PRIVATE METHODS -----------------------
-      // ###############################################################
+    return sphere(radius, density, DEFAULT_SEED);
+  }
 
-      private void spawnShape(final @NotNull Particle particle, final @NotNull Location base, final @NotNull ParticleShape.ParticleOptions opts) {
-        for (int i = 0; i < density; i++) {
-          double phi = Math.random() * Math.PI * 2;
-          double costheta = Math.random() * 2 - 1;
-          double u = Math.random();
-          double r = radius * Math.cbrt(u);
-          double theta = Math.acos(costheta);
-          double x = r * Math.sin(theta) * Math.cos(phi);
-          double y = r * Math.sin(theta) * Math.sin(phi);
-          double z = r * Math.cos(theta);
-          spawn(particle, base.clone().add(x, y, z), opts);
-        }
+  /** Sphère pleine, tirée avec la graine donnée. */
+  public static ParticleShape sphere(final double radius, final int density, final long seed) {
+    return new CachedShape() {
+      @Override
+      protected @NotNull PointCloud resolve() {
+        return ParticleShapeCache.get("sphere", () -> {
+          final var random = new SplittableRandom(seed);
+          final var coords = new double[density * 3];
+          for (int i = 0; i < density; i++) {
+            double phi = random.nextDouble() * Math.PI * 2;
+            double costheta = random.nextDouble() * 2 - 1;
+            double u = random.nextDouble();
+            double r = radius * Math.cbrt(u);
+            double theta = Math.acos(costheta);
+            coords[i * 3] = r * Math.sin(theta) * Math.cos(phi);
+            coords[i * 3 + 1] = r * Math.sin(theta) * Math.sin(phi);
+            coords[i * 3 + 2] = r * Math.cos(theta);
+          }
+          return coords;
+        }, radius, density, seed);
       }
-
     };
   }
 
   /** Sphère vide (points à la surface). */
   public static ParticleShape hollowSphere(final double radius, final int points) {
-    return new ParticleShape() {
-
-      // ###############################################################
-      // -------------------------- METHODS ----------------------------
-      // ###############################################################
-
-      @Override
-      public void render(final @NotNull Particle particle, final @NotNull Location base) {
-        spawnShape(particle, base, ParticleShape.ParticleOptions.defaultOptions());
-      }
-
-      @Override
-      public void render(final @NotNull Location base, final @NotNull ParticleShape.ParticleOptions opts) {
-        spawnShape(Particle.DUST, base, opts);
-      }
-
-      @Override
-      public @NotNull List<Vector> sample() {
-        List<Vector> list = new ArrayList<>(points);
-        for (int i = 0; i < points; i++) {
-          double theta = Math.acos(2 * Math.random() - 1);
-          double phi = Math.random() * 2 * Math.PI;
-          double x = radius * Math.sin(theta) * Math.cos(phi);
-          double y = radius * Math.sin(theta) * Math.sin(phi);
-          double z = radius * Math.cos(theta);
-          list.add(new Vector(x, y, z));
-        }
-        return list;
-      }
-
-      // ###############################################################
-      // ----------------------- PRIVATE METHODS -----------------------
-      // ###############################################################
+    return hollowSphere(radius, points, DEFAULT_SEED);
+  }
 
-      private void spawnShape(final @NotNull Particle particle, final @NotNull Location base, final @NotNull ParticleShape.ParticleOptions opts) {
-        for (var i = 0; i < points; i++) {
-          final var theta = Math.acos(2 * Math.random() - 1);
-          final var phi = Math.random() * 2 * Math.PI;
-          final var x = radius * Math.sin(theta) * Math.cos(phi);
-          final var y = radius * Math.sin(theta) * Math.sin(phi);
-          final var z = radius * Math.cos(theta);
-          spawn(particle, base.clone().add(x, y, z), opts);
-        }
+  /** Sphère vide, tirée avec la graine donnée. */
+  public static ParticleShape hollowSphere(final double radius, final int points, final long seed) {
+    return new CachedShape() {
+      @Override
+      protected @NotNull PointCloud resolve() {
+        return ParticleShapeCache.get("hollowSphere", () -> {
+          final var random = new SplittableRandom(seed);
+          final var coords = new double[points * 3];
+          for (int i = 0; i < points; i++) {
+            double theta = Math.acos(2 * random.nextDouble() - 1);
+            double phi = random.nextDouble() * 2 * Math.PI;
+            coords[i * 3] = radius * Math.sin(theta) * Math.cos(phi);
+            coords[i * 3 + 1] = radius * Math.sin(theta) * Math.sin(phi);
+            coords[i * 3 + 2] = radius * Math.cos(theta);
+          }
+          return coords;
+        }, radius, points, seed);
       }
-
     };
   }
 
   /** Cube (points sur les arêtes et faces). */
   public static ParticleShape cube(final double size, final int step) {
-    return new ParticleShape() {
-      @Override
-      public void render(final @NotNull Particle particle, final @NotNull Location base) {
-        spawnShape(particle, base, ParticleShape.ParticleOptions.defaultOptions());
-      }
-
-      @Override
-      public void render(final @NotNull Location base, final @NotNull ParticleShape.ParticleOptions opts) {
-        spawnShape(Particle.DUST, base, opts);
-      }
-
-      @Override
-      public @NotNull List<Vector> sample() {
-        List<Vector> list = new ArrayList<>();
-        double half = size / 2;
-        for (double x = -half; x <= half; x += step) {
-          for (double y = -half; y <= half; y += step) {
-            for (double z = -half; z <= half; z += step) {
-              int faces = 0;
-              if (Math.abs(x - half) < 0.01 || Math.abs(x + half) < 0.01) faces++;
-              if (Math.abs(y - half) < 0.01 || Math.abs(y + half) < 0.01) faces++;
-              if (Math.abs(z - half) < 0.01 || Math.abs(z + half) < 0.01) faces++;
-              if (faces >= 2) list.add(new Vector(x, y, z));
+    return new CachedShape() {
+      @Override
+      protected @NotNull PointCloud resolve() {
+        return ParticleShapeCache.get("cube", () -> {
+          var coords = new double[48];
+          int count = 0;
+          double half = size / 2;
+          for (double x = -half; x <= half; x += step) {
+            for (double y = -half; y <= half; y += step) {
+              for (double z = -half; z <= half; z += step) {
+                int faces = 0;
+                if (Math.abs(x - half) < 0.01 || Math.abs(x + half) < 0.01) faces++;
+                if (Math.abs(y - half) < 0.01 || Math.abs(y + half) < 0.01) faces++;
+                if (Math.abs(z - half) < 0.01 || Math.abs(z + half) < 0.01) faces++;
+                if (faces < 2) continue;
+
+                if (count + 3 > coords.length) coords = Arrays.copyOf(coords, coords.length * 2);
+                coords[count++] = x;
+                coords[count++] = y;
+                coords[count++] = z;
+              }
             }
           }
-        }
-        return list;
+          return Arrays.copyOf(coords, count);
+        }, size, step);
       }
-
-      // ###############################################################
-      // ----------------------- PRIVATE METHODS -----------------------
-      // ###############################################################
-
-      private void spawnShape(final @NotNull Particle particle, final @NotNull Location base, final @NotNull ParticleShape.ParticleOptions opts) {
-        double half = size / 2;
-        for (double x = -half; x <= half; x += step) {
-          for (double y = -half; y <= half; y += step) {
-            for (double z = -half; z <= half; z += step) {
-              int faces = 0;
-              if (Math.abs(x - half) < 0.01 || Math.abs(x + half) < 0.01) faces++;
-              if (Math.abs(y - half) < 0.01 || Math.abs(y + half) < 0.01) faces++;
-              if (Math.abs(z - half) < 0.01 || Math.abs(z + half) < 0.01) faces++;
-              if (faces >= 2) spawn(particle, base.clone().add(x, y, z), opts);
-            }
-          }
-        }
-      }
-
     };
   }
 
   /** Donut (anneau 3D façon tore). */
   public static ParticleShape ring3D(final double radius, final double thickness, final int points) {
-    return new ParticleShape() {
-
-      // ###############################################################
-      // -------------------------- METHODS ----------------------------
-      // ###############################################################
-
-      @Override
-      public void render(final @NotNull Particle particle, final @NotNull Location base) {
-       spawnShape(particle, base, ParticleShape.ParticleOptions.defaultOptions());
-      }
-
-      @Override
-      public void render(final @NotNull Location base, final @NotNull ParticleShape.ParticleOptions opts) {
-        spawnShape(Particle.DUST, base, opts);
-      }
-
-      @Override
-      public @NotNull List<Vector> sample() {
-        List<Vector> list = new ArrayList<>();
-        for (int i = 0; i < points; i++) {
-          double theta = 2 * Math.PI * i / points;
-          for (int j = 0; j < points / 4; j++) {
-            double phi = 2 * Math.PI * j / (points / 4);
-            double x = (radius + thickness * Math.cos(phi)) * Math.cos(theta);
-            double y = thickness * Math.sin(phi);
-            double z = (radius + thickness * Math.cos(phi)) * Math.sin(theta);
-            list.add(new Vector(x, y, z));
-          }
-        }
-        return list;
-      }
-
-      // ###############################################################
-      // ----------------------- PRIVATE METHODS -----------------------
-      // ###############################################################
-
-      private void spawnShape(final @NotNull Particle particle, final @NotNull Location base, final @NotNull ParticleShape.ParticleOptions opts) {
-        for (var i = 0; i < points; i++) {
-          final var theta = 2 * Math.PI * i / points;
-          for (var j = 0; j < points / 4; j++) {
-            final var phi = 2 * Math.PI * j / (points / 4);
-            final var x = (radius + thickness * Math.cos(phi)) * Math.cos(theta);
-            final var y = thickness * Math.sin(phi);
-            final var z = (radius + thickness * Math.cos(phi)) * Math.sin(theta);
-            spawn(particle, base.clone().add(x, y, z), opts);
+    return new CachedShape() {
+      @Override
+      protected @NotNull PointCloud resolve() {
+        return ParticleShapeCache.get("ring3D", () -> {
+          final var rings = points / 4;
+          final var coords = new double[points * rings * 3];
+          int n = 0;
+          for (int i = 0; i < points; i++) {
+            double theta = 2 * Math.PI * i / points;
+            for (int j = 0; j < rings; j++) {
+              double phi = 2 * Math.PI * j / rings;
+              coords[n++] = (radius + thickness * Math.cos(phi)) * Math.cos(theta);
+              coords[n++] = thickness * Math.sin(phi);
+              coords[n++] = (radius + thickness * Math.cos(phi)) * Math.sin(theta);
+            }
           }
-        }
+          return coords;
+        }, radius, thickness, points);
       }
-
     };
   }
 
   /** Cœur stylisé (symbole ❤️). */
   public static ParticleShape heart(final double scale, final int points) {
-    return new ParticleShape() {
-
-      // ###############################################################
-      // -------------------------- METHODS ----------------------------
-      // ###############################################################
-
-      @Override
-      public void render(final @NotNull Particle particle, final @NotNull Location base) {
-        spawnShape(particle, base, ParticleShape.ParticleOptions.defaultOptions());
+    return new CachedShape() {
+      @Override
+      protected @NotNull PointCloud resolve() {
+        return ParticleShapeCache.get("heart", () -> {
+          final var coords = new double[points * 3];
+          for (int i = 0; i < points; i++) {
+            double t = Math.PI - (2 * Math.PI * i / points);
+            double x = 16 * Math.pow(Math.sin(t), 3);
+            double y = 13 * Math.cos(t) - 5 * Math.cos(2 * t)
+              - 2 * Math.cos(3 * t) - Math.cos(4 * t);
+            coords[i * 3] = x * scale * 0.05;
+            coords[i * 3 + 1] = y * scale * 0.05;
+          }
+          return coords;
+        }, scale, points);
       }
+    };
+  }
 
-      @Override
-      public void render(final @NotNull Location base, final @NotNull ParticleShape.ParticleOptions opts) {
-        spawnShape(Particle.DUST, base, opts);
+  /** Tornade (spirale verticale). */
+  public static ParticleShape tornado(final double height, final double radius, final int turns, final int pointsPerTurn) {
+    return new CachedShape() {
+      @Override
+      protected @NotNull PointCloud resolve() {
+        return ParticleShapeCache.get("tornado", () -> {
+          final var total = turns * pointsPerTurn;
+          final var coords = new double[total * 3];
+          for (int i = 0; i < total; i++) {
+            double t = (double) i / total;
+            double angle = t * turns * 2 * Math.PI;
+            coords[i * 3] = Math.cos(angle) * radius * t;
+            coords[i * 3 + 1] = height * t;
+            coords[i * 3 + 2] = Math.sin(angle) * radius * t;
+          }
+          return coords;
+        }, height, radius, turns, pointsPerTurn);
       }
+    };
+  }
 
-      @Override
-      public @NotNull List<Vector> sample() {
-        List<Vector> list = new ArrayList<>(points);
-        for (int i = 0; i < points; i++) {
-          double t = Math.PI - (2 * Math.PI * i / points);
-          double x = 16 * Math.pow(Math.sin(t), 3);
-          double y = 13 * Math.cos(t) - 5 * Math.cos(2 * t)
-            - 2 * Math.cos(3 * t) - Math.cos(4 * t);
-          list.add(new Vector(x * scale * 0.05, y * scale * 0.05, 0));
-        }
-        return list;
-      }
+  // ###############################################################
+  // ---------------------- UTILITY METHOD --------------------------
+  // ###############################################################
 
-      // ###############################################################
-      // ----------------------- PRIVATE METHODS -----------------------
-      // ###############################################################
+  /**
+   * Shape backed by a cached {@link PointCloud}: rendering and sampling both read the cloud.
+   * The cloud is resolved once per shape, then read from a field.
+   */
+  private static abstract class CachedShape implements ParticleShape {
 
-      private void spawnShape(final @NotNull Particle particle, final @NotNull Location base, final @NotNull ParticleShape.ParticleOptions opts) {
-        for (int i = 0; i < points; i++) {
-          double t = Math.PI - (2 * Math.PI * i / points);
-          double x = 16 * Math.pow(Math.sin(t), 3);
-          double y = 13 * Math.cos(t) - 5 * Math.cos(2 * t)
-            - 2 * Math.cos(3 * t) - Math.cos(4 * t);
-          spawn(particle, base.clone().add(x * scale * 0.05, y * scale * 0.05, 0), opts);
-        }
-      }
+    private volatile PointCloud cloud;
 
-    };
-  }
+    @Override
+    public void render(final @NotNull Particle particle, final @NotNull Location base) {
+      spawnAll(particle, base, ParticleShape.ParticleOptions.defaultOptions(), points());
+    }
 
-  /** Tornade (spirale verticale). */
-  public static ParticleShape tornado(final double height, final double radius, final int turns, final int pointsPerTurn) {
-    return new ParticleShape() {
+    @Override
+    public void render(final @NotNull Location base, final @NotNull ParticleShape.ParticleOptions opts) {
+      spawnAll(Particle.DUST, base, opts, points());
+    }
 
-      // ###############################################################
-      // -------------------------- METHODS ----------------------------
-      // ###############################################################
+    @Override
+    public @NotNull List<Vector> sample() {
+      return points().asList();
+    }
 
-      @Override
-      public void render(final @NotNull Particle particle, final @NotNull Location base) {
-        spawnShape(particle, base, ParticleShape.ParticleOptions.defaultOptions());
-      }
+    @Override
+    public final @NotNull PointCloud points() {
+      var cloud = this.cloud;
+      if (cloud == null) this.cloud = cloud = resolve();
+      return cloud;
+    }
 
-      @Override
-      public void render(final @NotNull Location base, final @NotNull ParticleShape.ParticleOptions opts) {
-        spawnShape(Particle.DUST, base, opts);
-      }
+    /** Resolves the cloud through the {@link ParticleShapeCache}, so equal shapes share it. */
+    protected abstract @NotNull PointCloud resolve();
 
-      @Override
-      public @NotNull List<Vector> sample() {
-        List<Vector> list = new ArrayList<>(turns * pointsPerTurn);
-        int total = turns * pointsPerTurn;
-        for (int i = 0; i < total; i++) {
-          double t = (double) i / total;
-          double angle = t * turns * 2 * Math.PI;
-          double x = Math.cos(angle) * radius * t;
-          double y = height * t;
-          double z = Math.sin(angle) * radius * t;
-          list.add(new Vector(x, y, z));
-        }
-        return list;
-      }
+    @Override
+    public boolean hasPoints() {
+      return true;
+    }
+  }
 
-      // ###############################################################
-      // ----------------------- PRIVATE METHODS -----------------------
-      // ###############################################################
+  private static void spawnAll(final @NotNull Particle particle, final @NotNull Location base, final @NotNull ParticleShape.ParticleOptions opts, final @NotNull PointCloud cloud) {
+    // One dust payload per render, shared by every point
+    final var dust = dust(particle, opts);
+    final var loc = base.clone();
+    for (int i = 0; i < cloud.size(); i++) {
+      loc.set(base.getX() + cloud.x(i), base.getY() + cloud.y(i), base.getZ() + cloud.z(i));
+      spawn(particle, loc, opts, dust);
+    }
+  }
 
-      private void spawnShape(final @NotNull Particle particle, final @NotNull Location base, final @NotNull ParticleShape.ParticleOptions opts) {
-        final var total = turns * pointsPerTurn;
-        for (var i = 0; i < total; i++) {
-          final var t = (double) i / total;
-          final var angle = t * turns * 2 * Math.PI;
-          final var x = Math.cos(angle) * radius * t;
-          final var y = height * t;
-          final var z = Math.sin(angle) * radius * t;
-          spawn(particle, base.clone().add(x, y, z), opts);
-        }
-      }
+  private static @Nullable Particle.DustOptions dust(final @NotNull Particle particle, final @NotNull ParticleShape.ParticleOptions opts) {
+    if (particle != Particle.DUST) return null;
 
-    };
+    return opts.color() != null
+      ? new Particle.DustOptions(opts.color(), opts.size())
+      : new Particle.DustOptions(Color.WHITE, 1.5f);
   }
 
-  // ###############################################################
-  // ---------------------- UTILITY METHOD --------------------------
-  // ###############################################################
-
-  private static void spawn(final @NotNull Particle particle, final @NotNull Location loc, final @NotNull ParticleShape.ParticleOptions opts) {
-    if (particle == Particle.DUST) {
-      if (opts.color() != null) {
-        final var dust = new Particle.DustOptions(opts.color(), opts.size());
+  private static void spawn(final @NotNull Particle particle, final @NotNull Location loc, final @NotNull ParticleShape.ParticleOptions opts, final @Nullable Particle.DustOptions dust) {
+    if (dust != null) {
+      if (opts.color() != null)
         loc.getWorld().spawnParticle(particle, loc, opts.count(), opts.offset().getX(), opts.offset().getY(), opts.offset().getZ(), 0, dust);
-      }
-      else {
-        final var dust = new Particle.DustOptions(Color.WHITE, 1.5f);
+      else
         loc.getWorld().spawnParticle(particle, loc, 1, 0, 0, 0, 0, dust);
-      }
     } else {
       loc.getWorld().spawnParticle(particle, loc, opts.count(), opts.offset().getX(), opts.offset().getY(), opts.offset().getZ(), 0);
     }
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,55 @@
+package fr.dreamin.dreamapi.core.particle;
+
+/**
+ * ParticleLod - Level of detail of a particle effect, driven by the distance to its nearest viewer.
+ * <p>
+ * Up to {@code fullDetailDistance} every point is sent. Between that and {@code cullDistance} the
+ * point cloud is decimated linearly down to {@code minDetail} (a ratio of points kept). Beyond
+ * {@code cullDistance} nothing is sent at all.
+ *
+ * @param fullDetailDistance Distance (blocks) under which the effect is drawn in full
+ * @param cullDistance       Distance (blocks) beyond which the effect is not drawn
+ * @param minDetail          Ratio of points kept right before the cull distance, between 0 and 1
+ */
+public record ParticleLod(double fullDetailDistance, double cullDistance, double minDetail) {
+
+  /** No level of detail: every point is always sent. */
+  public static final ParticleLod NONE = new ParticleLod(Double.MAX_VALUE, Double.MAX_VALUE, 1D);
+
+  public ParticleLod {
+    fullDetailDistance = Math.max(0D, fullDetailDistance);
+    cullDistance = Math.max(fullDetailDistance, cullDistance);
+    minDetail = Math.min(1D, Math.max(0D, minDetail));
+  }
+
+  public static ParticleLod of(final double fullDetailDistance, final double cullDistance) {
+    return new ParticleLod(fullDetailDistance, cullDistance, 0.25D);
+  }
+
+  public boolean isEnabled() {
+    return this.fullDetailDistance != Double.MAX_VALUE;
+  }
+
+  /**
+   * @param distanceSquared Squared distance to the nearest viewer
+   * @return The ratio of points to send, 0 when the effect is culled
+   */
+  public double detail(final double distanceSquared) {
+    if (distanceSquared <= this.fullDetailDistance * this.fullDetailDistance) return 1D;
+    if (distanceSquared > this.cullDistance * this.cullDistance) return 0D;
+
+    final double t = (Math.sqrt(distanceSquared) - this.fullDetailDistance) / (this.cullDistance - this.fullDetailDistance);
+    return 1D - t * (1D - this.minDetail);
+  }
+
+  /**
+   * @param distanceSquared Squared distance to the nearest viewer
+   * @return Step between two sent points (1 = every point), or 0 when the effect is culled
+   */
+  public int stride(final double distanceSquared) {
+    final double detail = detail(distanceSquared);
+    if (detail <= 0D) return 0;
+    return Math.max(1, (int) Math.round(1D / detail));
+  }
+
+}
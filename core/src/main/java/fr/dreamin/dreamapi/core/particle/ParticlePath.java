@@ -2,40 +2,58 @@ package fr.dreamin.dreamapi.core.particle;
 
 import fr.dreamin.dreamapi.api.interpolation.InterpolationType;
 import fr.dreamin.dreamapi.core.interpolation.Interpolation;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 /**
  * ParticlePath - Defines a path (sequence of locations) for a particle animation to follow.
  * <p>
- * This class uses interpolation to generate the path frames over a given number of steps.
+ * A path is a curve through packed waypoints: a straight line, a polyline, a Catmull-Rom spline
+ * (passing through every waypoint) or a chain of cubic Bezier curves. Positions are evaluated on
+ * demand by arc length, so animations move at constant speed whatever the spacing of the
+ * waypoints, and the easing applies to the travelled distance.
+ * <p>
+ * Animations read positions through a {@link Cursor}, as primitives, without allocating a
+ * {@link Location} per frame.
  */
 @Getter
 public class ParticlePath {
 
-  private final Location start;
-  private final Location end;
-  private final InterpolationType ease;
+  public enum Type { NONE, LINEAR, CATMULL_ROM, BEZIER }
+
+  // Arc length table resolution, per curve segment
+  private static final int SAMPLES_PER_SEGMENT = 32;
+
+  private static final ParticlePath NONE = new ParticlePath(Type.NONE, null, new double[0], InterpolationType.LINEAR);
+
+  private final @NotNull Type type;
+  private final @Nullable World world;
+  @Getter(AccessLevel.NONE)
+  private final double[] points;
+  private final @NotNull InterpolationType ease;
 
-  private ParticlePath(final Location start, final Location end, final @NotNull InterpolationType ease) {
-    this.start = start;
-    this.end = end;
+  // Cumulative length at each sample of the curve parameter, computed on first use
+  @Getter(AccessLevel.NONE)
+  private volatile double[] arcLengths;
+
+  private ParticlePath(final @NotNull Type type, final @Nullable World world, final double @NotNull [] points, final @NotNull InterpolationType ease) {
+    this.type = type;
+    this.world = world;
+    this.points = points;
     this.ease = ease;
   }
 
-  /**
-   * Generates the list of Location frames for the path.
-   * @param steps The number of steps (frames) to generate.
-   * @return A list of interpolated Locations.
-   */
-  public List<Location> generateFrames(final int steps) {
-    if (start == null || end == null) return Collections.emptyList();
-    return Interpolation.between(start, end).over(steps).ease(ease).asLocations();
-  }
+  // ###############################################################
+  // --------------------------- FACTORIES -------------------------
+  // ###############################################################
 
   /**
    * Creates a path between two locations with linear interpolation by default.
@@ -44,21 +62,48 @@ public class ParticlePath {
    * @return A new ParticlePath instance.
    */
   public static ParticlePath between(final @NotNull Location start, final @NotNull Location end) {
-    return new ParticlePath(start, end, InterpolationType.LINEAR);
+    return linear(List.of(start, end));
   }
 
   /**
-   * Creates a path that generates no frames (static animation).
-   * @return A static ParticlePath instance.
+   * Creates a polyline through the waypoints.
+   * @param waypoints At least two locations, in the same world.
+   * @return A new ParticlePath instance.
    */
-  public static ParticlePath none() {
-    return new ParticlePath(null, null, InterpolationType.LINEAR) {
-      @Override
-      public List<Location> generateFrames(final int steps) {
-        return Collections.emptyList();
-      }
+  public static ParticlePath linear(final @NotNull List<Location> waypoints) {
+    return of(Type.LINEAR, waypoints, 2);
+  }
 
-    };
+  /**
+   * Creates a smooth Catmull-Rom spline passing through every waypoint.
+   * @param waypoints At least two locations, in the same world.
+   * @return A new ParticlePath instance.
+   */
+  public static ParticlePath catmullRom(final @NotNull List<Location> waypoints) {
+    return of(Type.CATMULL_ROM, waypoints, 2);
+  }
+
+  /**
+   * Creates a chain of cubic Bezier curves.
+   * <p>
+   * Points are {@code P0, C0a, C0b, P1, C1a, C1b, P2...}: the curve passes through every {@code Pn}
+   * and is pulled towards the two control points between them.
+   *
+   * @param points {@code 3n + 1} locations (n >= 1), in the same world.
+   * @return A new ParticlePath instance.
+   */
+  public static ParticlePath bezier(final @NotNull List<Location> points) {
+    if (points.size() < 4 || (points.size() - 1) % 3 != 0)
+      throw new IllegalArgumentException(String.format("A Bezier path needs 3n + 1 points, got %d", points.size()));
+    return of(Type.BEZIER, points, 4);
+  }
+
+  /**
+   * Creates a path that generates no frames: an animation on it stops as soon as it starts.
+   * @return The shared empty ParticlePath instance.
+   */
+  public static ParticlePath none() {
+    return NONE;
   }
 
   /**
@@ -67,8 +112,286 @@ public class ParticlePath {
    * @return A new ParticlePath instance with the specified easing.
    */
   public ParticlePath ease(final @NotNull InterpolationType ease) {
-    return new ParticlePath(start, end, ease);
+    if (this.type == Type.NONE) return this;
+
+    final var path = new ParticlePath(this.type, this.world, this.points, ease);
+    path.arcLengths = this.arcLengths;
+    return path;
+  }
+
+  // ###############################################################
+  // ----------------------- PUBLIC METHODS ------------------------
+  // ###############################################################
+
+  public boolean isNone() {
+    return this.type == Type.NONE;
+  }
+
+  public int getWaypointCount() {
+    return this.points.length / 3;
+  }
+
+  public @Nullable Location getStart() {
+    return isNone() ? null : waypoint(0);
+  }
+
+  public @Nullable Location getEnd() {
+    return isNone() ? null : waypoint(getWaypointCount() - 1);
+  }
+
+  public @NotNull List<Location> getWaypoints() {
+    final var waypoints = new ArrayList<Location>(getWaypointCount());
+    for (int i = 0; i < getWaypointCount(); i++)
+      waypoints.add(waypoint(i));
+    return waypoints;
   }
 
+  /**
+   * @return Length of the curve in blocks
+   */
+  public double length() {
+    final var lengths = arcLengths();
+    return lengths.length == 0 ? 0D : lengths[lengths.length - 1];
+  }
+
+  /**
+   * Evaluates the position at a given progress along the path.
+   * @param t   Progress between 0 and 1, eased then mapped to the travelled distance
+   * @param out Receives x, y, z in its first three slots
+   */
+  public void position(final double t, final double @NotNull [] out) {
+    if (isNone()) {
+      out[0] = 0D;
+      out[1] = 0D;
+      out[2] = 0D;
+      return;
+    }
+
+    final var lengths = arcLengths();
+    final int samples = lengths.length - 1;
+    final double distance = Interpolation.applyEasing(Math.min(1D, Math.max(0D, t)), this.ease) * lengths[samples];
+
+    // Last sample whose cumulative length is <= distance
+    int low = 0, high = samples;
+    while (low < high) {
+      final int mid = (low + high + 1) >>> 1;
+      if (lengths[mid] <= distance) low = mid;
+      else high = mid - 1;
+    }
+
+    double u = (double) low / samples;
+    if (low < samples) {
+      final double span = lengths[low + 1] - lengths[low];
+      if (span > 0D) u += (distance - lengths[low]) / span / samples;
+    }
+
+    evaluate(u, out);
+  }
+
+  /**
+   * @param t Progress between 0 and 1
+   * @return A new location at this progress along the path
+   */
+  public @NotNull Location location(final double t) {
+    final var position = new double[3];
+    position(t, position);
+    return new Location(this.world, position[0], position[1], position[2]);
+  }
+
+  /**
+   * @param steps Number of steps, the path is sampled {@code steps + 1} times
+   * @return A cursor reading the path one frame at a time
+   */
+  public @NotNull Cursor cursor(final int steps) {
+    return new Cursor(this, Math.max(0, steps));
+  }
+
+  /**
+   * Generates the list of Location frames for the path.
+   * <p>
+   * Animations use {@link #cursor(int)} instead, which doesn't materialize the frames.
+   * @param steps The number of steps (frames) to generate.
+   * @return A list of interpolated Locations.
+   */
+  public List<Location> generateFrames(final int steps) {
+    if (isNone()) return Collections.emptyList();
+
+    final var frames = new ArrayList<Location>(steps + 1);
+    for (int i = 0; i <= steps; i++)
+      frames.add(location(steps == 0 ? 1D : (double) i / steps));
+    return frames;
+  }
+
+  // ###############################################################
+  // ----------------------- PRIVATE METHODS -----------------------
+  // ###############################################################
+
+  private static ParticlePath of(final @NotNull Type type, final @NotNull List<Location> waypoints, final int minimum) {
+    if (waypoints.size() < minimum)
+      throw new IllegalArgumentException(String.format("A %s path needs at least %d points, got %d", type, minimum, waypoints.size()));
+
+    final var points = new double[waypoints.size() * 3];
+    for (int i = 0; i < waypoints.size(); i++) {
+      final var waypoint = waypoints.get(i);
+      points[i * 3] = waypoint.getX();
+      points[i * 3 + 1] = waypoint.getY();
+      points[i * 3 + 2] = waypoint.getZ();
+    }
+
+    return new ParticlePath(type, waypoints.get(0).getWorld(), points, InterpolationType.LINEAR);
+  }
+
+  private @NotNull Location waypoint(final int index) {
+    return new Location(this.world, this.points[index * 3], this.points[index * 3 + 1], this.points[index * 3 + 2]);
+  }
+
+  private int segmentCount() {
+    final int count = getWaypointCount();
+    return switch (this.type) {
+      case NONE -> 0;
+      case LINEAR, CATMULL_ROM -> count - 1;
+      case BEZIER -> (count - 1) / 3;
+    };
+  }
+
+  private double @NotNull [] arcLengths() {
+    var lengths = this.arcLengths;
+    if (lengths != null) return lengths;
+
+    final int samples = Math.max(1, segmentCount() * SAMPLES_PER_SEGMENT);
+    lengths = new double[samples + 1];
+
+    final var previous = new double[3];
+    final var current = new double[3];
+    evaluate(0D, previous);
+    for (int i = 1; i <= samples; i++) {
+      evaluate((double) i / samples, current);
+      final double dx = current[0] - previous[0], dy = current[1] - previous[1], dz = current[2] - previous[2];
+      lengths[i] = lengths[i - 1] + Math.sqrt(dx * dx + dy * dy + dz * dz);
+      System.arraycopy(current, 0, previous, 0, 3);
+    }
+
+    this.arcLengths = lengths;
+    return lengths;
+  }
+
+  /**
+   * Evaluates the curve at a raw parameter (not arc length).
+   * @param u Curve parameter between 0 and 1, spread evenly over the segments
+   */
+  private void evaluate(final double u, final double @NotNull [] out) {
+    final int segments = segmentCount();
+    if (segments == 0) {
+      out[0] = 0D;
+      out[1] = 0D;
+      out[2] = 0D;
+      return;
+    }
+
+    final double scaled = u * segments;
+    final int segment = Math.min((int) scaled, segments - 1);
+    final double t = scaled - segment;
+
+    for (int axis = 0; axis < 3; axis++) {
+      out[axis] = switch (this.type) {
+        case NONE -> 0D;
+        case LINEAR -> {
+          final double p1 = this.points[segment * 3 + axis];
+          final double p2 = this.points[(segment + 1) * 3 + axis];
+          yield p1 + (p2 - p1) * t;
+        }
+        case CATMULL_ROM -> {
+          final int last = getWaypointCount() - 1;
+          final double p0 = this.points[Math.max(segment - 1, 0) * 3 + axis];
+          final double p1 = this.points[segment * 3 + axis];
+          final double p2 = this.points[(segment + 1) * 3 + axis];
+          final double p3 = this.points[Math.min(segment + 2, last) * 3 + axis];
+          yield 0.5D * (2D * p1
+            + (p2 - p0) * t
+            + (2D * p0 - 5D * p1 + 4D * p2 - p3) * t * t
+            + (3D * p1 - p0 - 3D * p2 + p3) * t * t * t);
+        }
+        case BEZIER -> {
+          final int first = segment * 3;
+          final double p0 = this.points[first * 3 + axis];
+          final double p1 = this.points[(first + 1) * 3 + axis];
+          final double p2 = this.points[(first + 2) * 3 + axis];
+          final double p3 = this.points[(first + 3) * 3 + axis];
+          final double v = 1D - t;
+          yield v * v * v * p0 + 3D * v * v * t * p1 + 3D * v * t * t * p2 + t * t * t * p3;
+        }
+      };
+    }
+  }
+
+  // ###############################################################
+  // --------------------------- CLASS -----------------------------
+  // ###############################################################
+
+  /**
+   * Cursor - Reads a path frame by frame for one animation.
+   * <p>
+   * A path of {@code steps} steps has {@code steps + 1} frames; {@link ParticlePath#none()} has no
+   * world to draw in and yields none, so animations without a path stop right away. The cursor owns
+   * its position buffer and its direction, so the path itself can be shared.
+   */
+  public static final class Cursor {
+
+    private final @NotNull ParticlePath path;
+    private final int steps;
+    private final double[] position = new double[3];
+    private boolean reversed = false;
+
+    private Cursor(final @NotNull ParticlePath path, final int steps) {
+      this.path = path;
+      this.steps = steps;
+    }
+
+    public int frameCount() {
+      return this.path.isNone() ? 0 : this.steps + 1;
+    }
+
+    public boolean isEmpty() {
+      return frameCount() == 0;
+    }
+
+    /**
+     * Moves to a frame; read it through {@link #x()}, {@link #y()} and {@link #z()}.
+     * @param index Frame index, between 0 and {@link #frameCount()} - 1
+     */
+    public void seek(final int index) {
+      final int frame = this.reversed ? this.steps - index : index;
+      this.path.position(this.steps == 0 ? 1D : (double) frame / this.steps, this.position);
+    }
+
+    public @Nullable World world() {
+      return this.path.world;
+    }
+
+    public double x() {
+      return this.position[0];
+    }
+
+    public double y() {
+      return this.position[1];
+    }
+
+    public double z() {
+      return this.position[2];
+    }
+
+    /** Reverses the frame order (used by reversing loops). */
+    public void reverse() {
+      this.reversed = !this.reversed;
+    }
+
+    /**
+     * @return A new cursor over the same path, playing forward
+     */
+    public @NotNull Cursor copy() {
+      return new Cursor(this.path, this.steps);
+    }
+
+  }
 
-}
\ No newline at end of file
+}
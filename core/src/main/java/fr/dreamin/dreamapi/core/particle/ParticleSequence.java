@@ -1,5 +1,7 @@
 package fr.dreamin.dreamapi.core.particle;
 
+import fr.dreamin.dreamapi.api.DreamAPI;
+import fr.dreamin.dreamapi.core.particle.engine.ParticleEngineService;
 import fr.dreamin.dreamapi.core.time.TickTask;
 import lombok.Getter;
 import lombok.experimental.Accessors;
@@ -23,7 +25,8 @@ public final class ParticleSequence extends TickTask<ParticleSequence> {
   private final List<ParticleSequenceItem> items;
   private final boolean loop;
   private int currentItemIndex = 0;
-  private TickTask<?> currentDelayTask = null;
+  private int delayRemaining = 0;
+  private Runnable afterDelay = null;
 
   private ParticleSequence(Builder builder) {
     super(builder);
@@ -34,6 +37,14 @@ public final class ParticleSequence extends TickTask<ParticleSequence> {
     this.every(1); // Check status every tick
   }
 
+  private ParticleSequence(ParticleSequence source) {
+    super(source);
+    this.items = source.items.stream()
+      .map(item -> ParticleSequenceItem.of(copyTask(item.task()), item.delayBefore(), item.delayAfter()))
+      .toList();
+    this.loop = source.loop;
+  }
+
   // ###############################################################
   // -------------------------- METHODS ----------------------------
   // ###############################################################
@@ -50,10 +61,8 @@ public final class ParticleSequence extends TickTask<ParticleSequence> {
 
   @Override
   public void onStop() {
-    if (currentDelayTask != null) {
-      currentDelayTask.stop();
-      currentDelayTask = null;
-    }
+    delayRemaining = 0;
+    afterDelay = null;
     // Stop the currently running animation task if it exists
     if (currentItemIndex < items.size()) {
       items.get(currentItemIndex).task().stop();
@@ -62,8 +71,23 @@ public final class ParticleSequence extends TickTask<ParticleSequence> {
 
   @Override
   public void onTick() {
-    // onTick is mainly used to keep the task alive and check for external stop.
-    // The transition logic is handled by the onEnd listener of the sub-tasks.
+    // The transition logic is handled by the onEnd listener of the sub-tasks,
+    // onTick only counts down the delays between them.
+    if (delayRemaining > 0 && --delayRemaining == 0 && afterDelay != null) {
+      final var action = afterDelay;
+      afterDelay = null;
+      action.run();
+    }
+  }
+
+  @Override
+  protected void schedule() {
+    DreamAPI.getAPI().getService(ParticleEngineService.class).register(this, this::advance, null, 0);
+  }
+
+  @Override
+  protected void unschedule() {
+    DreamAPI.getAPI().getService(ParticleEngineService.class).unregister(this);
   }
 
   private void startCurrentItem() {
@@ -81,14 +105,7 @@ public final class ParticleSequence extends TickTask<ParticleSequence> {
 
     // 1. Handle the delay before the current item starts
     if (currentItem.delayBefore() > 0) {
-      currentDelayTask = TickTask.builder()
-        .limit(currentItem.delayBefore())
-        .onEnd(delayTask -> {
-          currentDelayTask = null;
-          startItemTask(currentItem, currentTask);
-        })
-        .build();
-      currentDelayTask.start();
+      runAfter(currentItem.delayBefore(), () -> startItemTask(currentItem, currentTask));
     } else {
       startItemTask(currentItem, currentTask);
     }
@@ -99,15 +116,10 @@ public final class ParticleSequence extends TickTask<ParticleSequence> {
     currentTask.onEnd(tick -> {
       // 3. Handle the delay after the current item finishes
       if (currentItem.delayAfter() > 0) {
-        currentDelayTask = TickTask.builder()
-          .limit(currentItem.delayAfter())
-          .onEnd(delayTask -> {
-            currentDelayTask = null;
-            currentItemIndex++;
-            startCurrentItem();
-          })
-          .build();
-        currentDelayTask.start();
+        runAfter(currentItem.delayAfter(), () -> {
+          currentItemIndex++;
+          startCurrentItem();
+        });
       } else {
         currentItemIndex++;
         startCurrentItem();
@@ -128,6 +140,14 @@ public final class ParticleSequence extends TickTask<ParticleSequence> {
       currentTask.start();
   }
 
+  /**
+   * Runs an action after a number of ticks of this sequence, without scheduling another task.
+   */
+  private void runAfter(int ticks, Runnable action) {
+    delayRemaining = ticks;
+    afterDelay = action;
+  }
+
   /**
    * Starts the sequence for all players who can see the particles.
    * <p>
@@ -139,47 +159,78 @@ public final class ParticleSequence extends TickTask<ParticleSequence> {
 
   /**
    * Starts the sequence for a specific player.
-   * <p>
-   * Note: This only works if the sub-tasks support per-player rendering.
    *
    * @param player The player who will see the particles.
    */
   public void play(@NotNull Player player) {
-    items.forEach(item -> {
-      TickTask<?> task = item.task();
-      if (task instanceof ParticleSequence sequence)
-        sequence.play(player);
-      else if (task instanceof ParticleAnimation animation)
-        animation.play(player);
-      else if (task instanceof ParticleShapeMorph morph)
-        morph.play(player);
-      else if (task instanceof ParticleChainMorph chainMorph)
-        chainMorph.play(player);
-
-    });
+    viewer(player);
     this.start();
   }
 
   /**
    * Starts the sequence for a collection of players.
-   * <p>
-   * Note: This only works if the sub-tasks support per-player rendering.
    *
    * @param players The collection of players who will see the particles.
    */
   public void play(@NotNull Collection<Player> players) {
+    viewers(players);
+    this.start();
+  }
+
+  /**
+   * Restricts every step of the sequence to this player, without starting it.
+   * <p>
+   * Note: Only particle tasks (animations, morphs and nested sequences) support viewers.
+   *
+   * @param player The player who will see the particles.
+   * @return This ParticleSequence instance.
+   */
+  public ParticleSequence viewer(@NotNull Player player) {
+    return viewers(List.of(player));
+  }
+
+  /**
+   * Restricts every step of the sequence to these players, without starting it.
+   *
+   * @param players The players who will see the particles.
+   * @return This ParticleSequence instance.
+   */
+  public ParticleSequence viewers(@NotNull Collection<? extends Player> players) {
     items.forEach(item -> {
       TickTask<?> task = item.task();
       if (task instanceof ParticleSequence sequence)
-        sequence.play(players);
+        sequence.viewers(players);
       else if (task instanceof ParticleAnimation animation)
-        animation.play(players);
+        animation.viewers(players);
       else if (task instanceof ParticleShapeMorph morph)
-        morph.play(players);
+        morph.viewers(players);
       else if (task instanceof ParticleChainMorph chainMorph)
-        chainMorph.play(players);
+        chainMorph.viewers(players);
     });
-    this.start();
+    return this;
+  }
+
+  /**
+   * Creates a new, stopped sequence whose steps share the precomputed frames of this one.
+   * <p>
+   * Viewers and listeners are not copied. Steps that are not particle tasks are reused as is.
+   *
+   * @return A new ParticleSequence instance.
+   */
+  public ParticleSequence copy() {
+    return new ParticleSequence(this);
+  }
+
+  private static TickTask<?> copyTask(TickTask<?> task) {
+    if (task instanceof ParticleSequence sequence)
+      return sequence.copy();
+    else if (task instanceof ParticleAnimation animation)
+      return animation.copy();
+    else if (task instanceof ParticleShapeMorph morph)
+      return morph.copy();
+    else if (task instanceof ParticleChainMorph chainMorph)
+      return chainMorph.copy();
+    return task;
   }
 
   // ###############################################################
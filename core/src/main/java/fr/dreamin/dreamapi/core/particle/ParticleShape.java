@@ -47,7 +47,9 @@ public interface ParticleShape {
   /**
    * Sets an optional viewer for per-player rendering.
    * <p>
-   * This is useful for effects visible to specific players only.
+   * This is useful for effects visible to specific players only. Points are filtered by the particle
+   * tasks' own viewers (see {@link ParticleEmitter#viewer(Player)}); animations also forward their
+   * viewers here, for shapes drawn through their {@code render} methods.
    *
    * @param player The player who should see the shape.
    * @return The ParticleShape instance (for chaining).
@@ -68,10 +70,42 @@ public interface ParticleShape {
     return List.of(new Vector(0, 0, 0));
   }
 
+  /**
+   * Returns the shape's points as a packed, immutable {@link PointCloud}.
+   * <p>
+   * Built-in shapes resolve their cloud once, through {@link ParticleShapeCache}, and keep it:
+   * later calls only read a field. The default implementation packs {@link #sample()} on each call.
+   *
+   * @return The shape's points relative to the origin (0, 0, 0).
+   */
+  default @NotNull PointCloud points() {
+    return PointCloud.of(sample());
+  }
+
+  /**
+   * Whether {@link #points()} describes the whole shape.
+   * <p>
+   * Animations draw such shapes themselves, with their transform, viewers and level of detail.
+   * Other shapes are drawn through their {@code render} methods, and only use {@link #sample()}
+   * for morphing and progressive drawing.
+   *
+   * @return true if the shape can be drawn from its points alone.
+   */
+  default boolean hasPoints() {
+    return false;
+  }
+
   /**
    * Configuration for custom particle rendering (color, size, offset, etc.)
+   * <p>
+   * {@code lod} controls how the effect is decimated and culled with the distance to its nearest viewer.
    */
-  record ParticleOptions(@Nullable Color color, float size, @NotNull Vector offset, int count) {
+  record ParticleOptions(@Nullable Color color, float size, @NotNull Vector offset, int count, @NotNull ParticleLod lod) {
+
+    public ParticleOptions(@Nullable Color color, float size, @NotNull Vector offset, int count) {
+      this(color, size, offset, count, ParticleLod.NONE);
+    }
+
     public static ParticleOptions defaultOptions() {
       return new ParticleOptions(null, 1f, new Vector(0, 0, 0), 1);
     }
@@ -81,15 +115,19 @@ public interface ParticleShape {
     }
 
     public ParticleOptions size(float s) {
-      return new ParticleOptions(color, s, offset, count);
+      return new ParticleOptions(color, s, offset, count, lod);
     }
 
     public ParticleOptions offset(double x, double y, double z) {
-      return new ParticleOptions(color, size, new Vector(x, y, z), count);
+      return new ParticleOptions(color, size, new Vector(x, y, z), count, lod);
     }
 
     public ParticleOptions count(int count) {
-      return new ParticleOptions(color, size, offset, count);
+      return new ParticleOptions(color, size, offset, count, lod);
+    }
+
+    public ParticleOptions lod(@NotNull ParticleLod lod) {
+      return new ParticleOptions(color, size, offset, count, lod);
     }
   }
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package fr.dreamin.dreamapi.core.particle;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * ParticleShapeCache - Samples each parameterized shape once and shares the resulting {@link PointCloud}.
+ * <p>
+ * Shapes are identified by a form name and their parameters, e.g. {@code ("sphere", radius, density, seed)}.
+ * Random shapes must use a seeded RNG inside the generator so the cached cloud stays deterministic.
+ * <p>
+ * Built-in shapes keep their resolved cloud, so the cache is only consulted once per shape instance.
+ * It keeps the {@link #MAX_SIZE} most recently used clouds: shapes built from per-player or random
+ * parameters are evicted instead of piling up.
+ */
+public final class ParticleShapeCache {
+
+  public static final int MAX_SIZE = 256;
+
+  private static final Map<Key, PointCloud> CACHE = new LinkedHashMap<>(64, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Key, PointCloud> eldest) {
+      return size() > MAX_SIZE;
+    }
+  };
+
+  private ParticleShapeCache() {}
+
+  // ###############################################################
+  // ----------------------- PUBLIC METHODS ------------------------
+  // ###############################################################
+
+  /**
+   * Returns the cached cloud of a shape, generating it on first use.
+   * @param form      Name of the shape family
+   * @param generator Produces the packed coordinates (x, y, z interleaved) on a cache miss
+   * @param params    Parameters identifying the shape within its family
+   * @return The shared point cloud
+   */
+  public static @NotNull PointCloud get(final @NotNull String form, final @NotNull Supplier<double[]> generator, final @NotNull Object... params) {
+    final var key = new Key(form, List.of(params));
+    synchronized (CACHE) {
+      final var cached = CACHE.get(key);
+      if (cached != null) return cached;
+    }
+
+    // Generated outside the lock: a concurrent miss only costs a duplicate sample
+    final var coords = generator.get();
+    final var cloud = coords.length == 0 ? PointCloud.EMPTY : new PointCloud(coords);
+    synchronized (CACHE) {
+      final var previous = CACHE.putIfAbsent(key, cloud);
+      return previous != null ? previous : cloud;
+    }
+  }
+
+  public static int size() {
+    synchronized (CACHE) {
+      return CACHE.size();
+    }
+  }
+
+  public static void clear() {
+    synchronized (CACHE) {
+      CACHE.clear();
+    }
+  }
+
+  // ###############################################################
+  // --------------------------- CLASS -----------------------------
+  // ###############################################################
+
+  private record Key(@NotNull String form, @NotNull List<Object> params) {}
+
+}
@@ -1,20 +1,17 @@
 package fr.dreamin.dreamapi.core.particle;
 
+import fr.dreamin.dreamapi.api.DreamAPI;
 import fr.dreamin.dreamapi.api.interpolation.InterpolationType;
-import fr.dreamin.dreamapi.core.interpolation.Interpolation;
+import fr.dreamin.dreamapi.core.particle.engine.ParticleEngineService;
 import fr.dreamin.dreamapi.core.time.TickTask;
 import lombok.Getter;
 import lombok.experimental.Accessors;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.entity.Player;
-import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
 
 /**
  * ParticleShapeMorph - Animates the progressive transformation (morphing) of a shape from 'fromShape' to 'toShape'.
@@ -37,9 +34,13 @@ public final class ParticleShapeMorph extends TickTask<ParticleShapeMorph> {
   private final boolean progressiveDraw;
   private final InterpolationType interpolationType;
   private final ParticleShape.ParticleOptions options;
+  private final ParticleEmitter emitter;
+  private final int priority;
+  private final ParticleTransform.Animator animator;
+  private final ParticleTransform transform = new ParticleTransform();
 
-  private List<List<Vector>> morphFrames;
-  private List<Location> pathFrames;
+  private final MorphTimeline timeline;
+  private final ParticlePath.Cursor pathFrames;
   private int index = 0;
 
   private ParticleShapeMorph(Builder builder) {
@@ -55,71 +56,32 @@ public final class ParticleShapeMorph extends TickTask<ParticleShapeMorph> {
     this.progressiveDraw = builder.progressiveDraw;
     this.interpolationType = builder.interpolationType;
     this.options = builder.options;
-    this.morphFrames = generateMorphFrames();
-    // Le path est déjà configuré avec son propre easing.
-    this.pathFrames = path.generateFrames(duration);
-    // Si pas de path, on s'assure d'avoir au moins une frame à la location par défaut
-    if (path == ParticlePath.none() && this.pathFrames.isEmpty()) {
-      this.pathFrames = List.of(new Location(null, 0, 0, 0));
-    }
+    this.priority = builder.priority;
+    this.animator = builder.animator;
+    this.emitter = new ParticleEmitter(this.particle, this.options).viewDistance(builder.viewDistance);
+    this.timeline = MorphTimeline.between(fromShape, toShape, duration, interpolationType);
+    // Le path est déjà configuré avec son propre easing, il est lu frame par frame sans liste de Location.
+    this.pathFrames = path.cursor(duration);
   }
 
-  // ###############################################################
-  // -------------------- FRAME GENERATION -------------------------
-  // ###############################################################
-
-  private List<List<Vector>> generateMorphFrames() {
-    List<Vector> fromPoints = fromShape.sample();
-    List<Vector> toPoints = toShape.sample();
-
-    int targetCount = Math.max(fromPoints.size(), toPoints.size());
-    fromPoints = normalizePointCount(fromPoints, targetCount);
-    toPoints = normalizePointCount(toPoints, targetCount);
-
-    List<List<Vector>> frames = new ArrayList<>(duration + 1);
-
-    for (int step = 0; step <= duration; step++) {
-      double t = Interpolation.applyEasing((double) step / duration, interpolationType);
-      List<Vector> frame = new ArrayList<>(targetCount);
-
-      for (int i = 0; i < targetCount; i++) {
-        Vector interpolated = Interpolation.lerp(fromPoints.get(i), toPoints.get(i), t);
-        frame.add(interpolated);
-      }
-
-      frames.add(frame);
-    }
-
-    return frames;
-  }
-
-  private List<Vector> normalizePointCount(List<Vector> points, int targetCount) {
-    if (points.isEmpty()) {
-      List<Vector> normalized = new ArrayList<>(targetCount);
-      for (int i = 0; i < targetCount; i++) {
-        normalized.add(new Vector(0, 0, 0));
-      }
-      return normalized;
-    }
-
-    if (points.size() == targetCount)
-      return new ArrayList<>(points);
-
-    List<Vector> normalized = new ArrayList<>(targetCount);
-
-    if (points.size() < targetCount) {
-      for (int i = 0; i < targetCount; i++) {
-        int sourceIndex = (i * points.size()) / targetCount;
-        normalized.add(points.get(sourceIndex).clone());
-      }
-    } else {
-      for (int i = 0; i < targetCount; i++) {
-        int sourceIndex = (i * points.size()) / targetCount;
-        normalized.add(points.get(sourceIndex).clone());
-      }
-    }
-
-    return normalized;
+  private ParticleShapeMorph(ParticleShapeMorph source) {
+    super(source);
+    this.particle = source.particle;
+    this.fromShape = source.fromShape;
+    this.toShape = source.toShape;
+    this.path = source.path;
+    this.duration = source.duration;
+    this.speed = source.speed;
+    this.loop = source.loop;
+    this.reverse = source.reverse;
+    this.progressiveDraw = source.progressiveDraw;
+    this.interpolationType = source.interpolationType;
+    this.options = source.options;
+    this.priority = source.priority;
+    this.animator = source.animator;
+    this.emitter = new ParticleEmitter(this.particle, this.options).viewDistance(source.emitter.viewDistance());
+    this.timeline = source.timeline.share();
+    this.pathFrames = source.pathFrames.copy();
   }
 
   // ###############################################################
@@ -129,14 +91,14 @@ public final class ParticleShapeMorph extends TickTask<ParticleShapeMorph> {
   @Override
   public void onStart() {
     this.index = 0;
-    if (morphFrames.isEmpty() || pathFrames.isEmpty()) {
+    if (timeline.isEmpty() || pathFrames.isEmpty()) {
       stop();
     }
   }
 
   @Override
   public void onTick() {
-    if (index >= morphFrames.size() || index >= pathFrames.size()) {
+    if (index >= timeline.frameCount() || index >= pathFrames.frameCount()) {
       if (this.loop) {
         index = 0;
         if (reverse) swap();
@@ -146,68 +108,49 @@ public final class ParticleShapeMorph extends TickTask<ParticleShapeMorph> {
       }
     }
 
-    if (index < morphFrames.size() && index < pathFrames.size()) {
-      List<Vector> currentFrame = morphFrames.get(index);
-      Location baseLocation = pathFrames.get(index);
+    if (index < timeline.frameCount() && index < pathFrames.frameCount()) {
+      final var currentFrame = timeline.frame(index);
+      pathFrames.seek(index);
+
+      if (animator != null) {
+        animator.animate(transform.identity(), current());
+        transform.apply(currentFrame, timeline.pointCount());
+      }
 
-      int pointsToDraw = currentFrame.size();
+      int pointsToDraw = timeline.pointCount();
       if (progressiveDraw) {
 
         int currentCycleIndex = index;
         if (reverse && loop && (current() / duration) % 2 != 0) {
 
-          currentCycleIndex = morphFrames.size() - 1 - index;
+          currentCycleIndex = timeline.frameCount() - 1 - index;
         }
-        double progress = (double) currentCycleIndex / (morphFrames.size() - 1);
+        double progress = (double) currentCycleIndex / (timeline.frameCount() - 1);
 
-        pointsToDraw = (int) Math.ceil((double) currentFrame.size() * progress);
+        pointsToDraw = (int) Math.ceil((double) timeline.pointCount() * progress);
 
-        if (currentCycleIndex == morphFrames.size() - 1) {
-          pointsToDraw = currentFrame.size();
+        if (currentCycleIndex == timeline.frameCount() - 1) {
+          pointsToDraw = timeline.pointCount();
         }
 
       }
 
-      for (int i = 0; i < pointsToDraw; i++) {
-        Vector offset = currentFrame.get(i);
-        Location particleLocation = baseLocation.clone().add(offset);
-
-        if (particle == Particle.DUST && options.color() != null) {
-          Particle.DustOptions dustOptions = new Particle.DustOptions(
-            org.bukkit.Color.fromRGB(
-              options.color().getRed(),
-              options.color().getGreen(),
-              options.color().getBlue()
-            ),
-            options.size()
-          );
-          baseLocation.getWorld().spawnParticle(
-            particle,
-            particleLocation,
-            options.count(),
-            options.offset().getX(),
-            options.offset().getY(),
-            options.offset().getZ(),
-            0,
-            dustOptions
-          );
-        } else {
-          baseLocation.getWorld().spawnParticle(
-            particle,
-            particleLocation,
-            options.count(),
-            options.offset().getX(),
-            options.offset().getY(),
-            options.offset().getZ(),
-            0
-          );
-        }
-      }
+      emitter.emit(pathFrames.world(), pathFrames.x(), pathFrames.y(), pathFrames.z(), currentFrame, pointsToDraw);
 
       index++;
     }
   }
 
+  @Override
+  protected void schedule() {
+    DreamAPI.getAPI().getService(ParticleEngineService.class).register(this, this::advance, this.emitter, this.priority);
+  }
+
+  @Override
+  protected void unschedule() {
+    DreamAPI.getAPI().getService(ParticleEngineService.class).unregister(this);
+  }
+
   /**
    * Starts the morphing animation.
    * <p>
@@ -222,8 +165,7 @@ public final class ParticleShapeMorph extends TickTask<ParticleShapeMorph> {
    * @param player The player who will see the particles.
    */
   public void play(@NotNull Player player) {
-    this.fromShape.viewer(player);
-    this.toShape.viewer(player);
+    viewer(player);
     this.start();
   }
 
@@ -232,20 +174,51 @@ public final class ParticleShapeMorph extends TickTask<ParticleShapeMorph> {
    * @param players The collection of players who will see the particles.
    */
   public void play(@NotNull Collection<Player> players) {
-    players.forEach(this.fromShape::viewer);
-    players.forEach(this.toShape::viewer);
+    viewers(players);
     this.start();
   }
 
+  /**
+   * Restricts the morphing animation to this player, without starting it.
+   * <p>
+   * Frames are still computed once and sent to every registered viewer.
+   * @param player The player who will see the particles.
+   * @return This ParticleShapeMorph instance.
+   */
+  public ParticleShapeMorph viewer(@NotNull Player player) {
+    this.emitter.viewer(player);
+    return this;
+  }
+
+  /**
+   * Restricts the morphing animation to these players, without starting it.
+   * @param players The players who will see the particles.
+   * @return This ParticleShapeMorph instance.
+   */
+  public ParticleShapeMorph viewers(@NotNull Collection<? extends Player> players) {
+    this.emitter.viewers(players);
+    return this;
+  }
+
+  /**
+   * Creates a new, stopped morph sharing the precomputed frames of this one.
+   * <p>
+   * Viewers and listeners are not copied.
+   * @return A new ParticleShapeMorph instance.
+   */
+  public ParticleShapeMorph copy() {
+    return new ParticleShapeMorph(this);
+  }
+
   /**
    * Reverses the order of the morph and path frames for the reverse effect.
    */
   private void swap() {
-    if (morphFrames == null || morphFrames.isEmpty()) return;
-    if (pathFrames == null || pathFrames.isEmpty()) return;
+    if (timeline.isEmpty()) return;
+    if (pathFrames.isEmpty()) return;
 
-    Collections.reverse(morphFrames);
-    Collections.reverse(pathFrames);
+    timeline.reverse();
+    pathFrames.reverse();
     index = 0;
   }
 
@@ -273,6 +246,9 @@ public final class ParticleShapeMorph extends TickTask<ParticleShapeMorph> {
     private boolean reverse = false;
     private boolean progressiveDraw = false;
     private InterpolationType interpolationType = InterpolationType.LINEAR;
+    private double viewDistance = ParticleEmitter.DEFAULT_VIEW_DISTANCE;
+    private int priority = 0;
+    private ParticleTransform.Animator animator = null;
 
     public Builder particle(Particle particle) {
       this.particle = particle;
@@ -329,6 +305,24 @@ public final class ParticleShapeMorph extends TickTask<ParticleShapeMorph> {
       return this;
     }
 
+    /** Players farther than this distance (in blocks) from a frame don't receive it. */
+    public Builder viewDistance(double viewDistance) {
+      this.viewDistance = viewDistance;
+      return this;
+    }
+
+    /** Higher priorities keep rendering when the particle engine budget runs out. */
+    public Builder priority(int priority) {
+      this.priority = priority;
+      return this;
+    }
+
+    /** Composes a transform (rotation, scale, translation) applied to each frame. */
+    public Builder transform(ParticleTransform.Animator animator) {
+      this.animator = animator;
+      return this;
+    }
+
     @Override
     public ParticleShapeMorph build() {
       long tickInterval = (long) (1 / this.speed);
@@ -6,7 +6,6 @@ import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class ParticleShapes {
@@ -27,126 +26,71 @@ public class ParticleShapes {
       public void render(final @NotNull Location base, final @Nullable ParticleShape.ParticleOptions options) {
         spawn(Particle.DUST, base, options); // default redstone for color support
       }
-    };
-  }
 
-  /** Circle in XZ plane. */
-  public static ParticleShape circle(final double radius, final int points) {
-    return new ParticleShape() {
       @Override
-      public void render(final @NotNull Particle particle, final @NotNull Location base) {
-        for (int i = 0; i < points; i++) {
-          final var angle = 2 * Math.PI * i / points;
-          final var x = Math.cos(angle) * radius;
-          final var z = Math.sin(angle) * radius;
-          spawn(particle, base.clone().add(x, 0, z), ParticleShape.ParticleOptions.defaultOptions());
-        }
+      public @NotNull PointCloud points() {
+        return PointCloud.ORIGIN;
       }
 
       @Override
-      public void render(final @NotNull Location base, final @Nullable ParticleShape.ParticleOptions options) {
-        final var opts = options != null ? options : ParticleShape.ParticleOptions.defaultOptions();
-        for (var i = 0; i < points; i++) {
-          final var angle = 2 * Math.PI * i / points;
-          final var x = Math.cos(angle) * radius;
-          final var z = Math.sin(angle) * radius;
-          spawn(Particle.DUST, base.clone().add(x, 0, z), opts);
-        }
+      public boolean hasPoints() {
+        return true;
       }
+    };
+  }
 
+  /** Circle in XZ plane. */
+  public static ParticleShape circle(final double radius, final int points) {
+    return new CachedShape() {
       @Override
-      public @NotNull List<Vector> sample() {
-        List<Vector> pointsList = new ArrayList<>(points);
-        for (int i = 0; i < points; i++) {
-          double angle = 2 * Math.PI * i / points;
-          double x = Math.cos(angle) * radius;
-          double z = Math.sin(angle) * radius;
-          pointsList.add(new Vector(x, 0, z));
-        }
-        return pointsList;
+      protected @NotNull PointCloud resolve() {
+        return ParticleShapeCache.get("circle", () -> {
+          final var coords = new double[points * 3];
+          for (int i = 0; i < points; i++) {
+            final var angle = 2 * Math.PI * i / points;
+            coords[i * 3] = Math.cos(angle) * radius;
+            coords[i * 3 + 2] = Math.sin(angle) * radius;
+          }
+          return coords;
+        }, radius, points);
       }
-
     };
   }
 
   /** Spiral shape going upwards. */
   public static ParticleShape spiral(final double radius, final int turns, final int pointsPerTurn) {
-    return new ParticleShape() {
+    return new CachedShape() {
       @Override
-      public void render(final @NotNull Particle particle, final @NotNull Location base) {
-        final var total = turns * pointsPerTurn;
-        for (var i = 0; i < total; i++) {
-          final var angle = 2 * Math.PI * i / pointsPerTurn;
-          final var y = (i / (double) total) * radius * 2;
-          final var x = Math.cos(angle) * radius;
-          final var z = Math.sin(angle) * radius;
-          spawn(particle, base.clone().add(x, y, z), ParticleShape.ParticleOptions.defaultOptions());
-        }
+      protected @NotNull PointCloud resolve() {
+        return ParticleShapeCache.get("spiral", () -> {
+          final var total = turns * pointsPerTurn;
+          final var coords = new double[total * 3];
+          for (var i = 0; i < total; i++) {
+            final var angle = 2 * Math.PI * i / pointsPerTurn;
+            coords[i * 3] = Math.cos(angle) * radius;
+            coords[i * 3 + 1] = (i / (double) total) * radius * 2;
+            coords[i * 3 + 2] = Math.sin(angle) * radius;
+          }
+          return coords;
+        }, radius, turns, pointsPerTurn);
       }
-
-      @Override
-      public void render(final @NotNull Location base, final @Nullable ParticleShape.ParticleOptions options) {
-        ParticleShape.ParticleOptions opts = options != null ? options : ParticleShape.ParticleOptions.defaultOptions();
-        final var total = turns * pointsPerTurn;
-        for (var i = 0; i < total; i++) {
-          final var angle = 2 * Math.PI * i / pointsPerTurn;
-          final var y = (i / (double) total) * radius * 2;
-          final var x = Math.cos(angle) * radius;
-          final var z = Math.sin(angle) * radius;
-          spawn(Particle.DUST, base.clone().add(x, y, z), opts);
-        }
-      }
-
-      @Override
-      public @NotNull List<Vector> sample() {
-        List<Vector> pointsList = new ArrayList<>(turns * pointsPerTurn);
-        int total = turns * pointsPerTurn;
-        for (int i = 0; i < total; i++) {
-          double angle = 2 * Math.PI * i / pointsPerTurn;
-          double y = (i / (double) total) * radius * 2;
-          double x = Math.cos(angle) * radius;
-          double z = Math.sin(angle) * radius;
-          pointsList.add(new Vector(x, y, z));
-        }
-        return pointsList;
-      }
-
     };
   }
 
   /** Line shape (from -radius to +radius). */
   public static ParticleShape line(final double length, final int points) {
-    return new ParticleShape() {
+    return new CachedShape() {
       @Override
-      public void render(final @NotNull Particle particle, final @NotNull Location base) {
-        for (var i = 0; i < points; i++) {
-          final var t = (double) i / (points - 1);
-          final var offset = (t - 0.5) * length;
-          spawn(particle, base.clone().add(0, offset, 0), ParticleShape.ParticleOptions.defaultOptions());
-        }
+      protected @NotNull PointCloud resolve() {
+        return ParticleShapeCache.get("line", () -> {
+          final var coords = new double[points * 3];
+          for (var i = 0; i < points; i++) {
+            final var t = (double) i / (points - 1);
+            coords[i * 3 + 1] = (t - 0.5) * length;
+          }
+          return coords;
+        }, length, points);
       }
-
-      @Override
-      public void render(final @NotNull Location base, final @Nullable ParticleShape.ParticleOptions options) {
-        ParticleShape.ParticleOptions opts = options != null ? options : ParticleShape.ParticleOptions.defaultOptions();
-        for (var i = 0; i < points; i++) {
-          final var t = (double) i / (points - 1);
-          final var offset = (t - 0.5) * length;
-          spawn(Particle.DUST, base.clone().add(0, offset, 0), opts);
-        }
-      }
-
-      @Override
-      public @NotNull List<Vector> sample() {
-        List<Vector> pointsList = new ArrayList<>(points);
-        for (int i = 0; i < points; i++) {
-          double t = (double) i / (points - 1);
-          double offset = (t - 0.5) * length;
-          pointsList.add(new Vector(0, offset, 0));
-        }
-        return pointsList;
-      }
-
     };
   }
 
@@ -154,9 +98,66 @@ public class ParticleShapes {
   // --------------------- UTILITY METHOD ---------------------------
   // ###############################################################
 
-  private static void spawn(final @NotNull Particle particle, final @NotNull Location loc, final @NotNull ParticleShape.ParticleOptions opts) {
-    if (particle == Particle.DUST && opts.color() != null) {
-      var dust = new Particle.DustOptions(opts.color(), opts.size());
+  /**
+   * Shape backed by a cached {@link PointCloud}: rendering and sampling both read the cloud.
+   * The cloud is resolved once per shape, then read from a field.
+   */
+  private static abstract class CachedShape implements ParticleShape {
+
+    private volatile PointCloud cloud;
+
+    @Override
+    public void render(final @NotNull Particle particle, final @NotNull Location base) {
+      spawnAll(particle, base, ParticleShape.ParticleOptions.defaultOptions(), points());
+    }
+
+    @Override
+    public void render(final @NotNull Location base, final @Nullable ParticleShape.ParticleOptions options) {
+      spawnAll(Particle.DUST, base, options != null ? options : ParticleShape.ParticleOptions.defaultOptions(), points());
+    }
+
+    @Override
+    public @NotNull List<Vector> sample() {
+      return points().asList();
+    }
+
+    @Override
+    public final @NotNull PointCloud points() {
+      var cloud = this.cloud;
+      if (cloud == null) this.cloud = cloud = resolve();
+      return cloud;
+    }
+
+    /** Resolves the cloud through the {@link ParticleShapeCache}, so equal shapes share it. */
+    protected abstract @NotNull PointCloud resolve();
+
+    @Override
+    public boolean hasPoints() {
+      return true;
+    }
+  }
+
+  private static void spawnAll(final @NotNull Particle particle, final @NotNull Location base, final @NotNull ParticleShape.ParticleOptions opts, final @NotNull PointCloud cloud) {
+    // One dust payload per render, shared by every point
+    final var dust = dust(particle, opts);
+    final var loc = base.clone();
+    for (int i = 0; i < cloud.size(); i++) {
+      loc.set(base.getX() + cloud.x(i), base.getY() + cloud.y(i), base.getZ() + cloud.z(i));
+      spawn(particle, loc, opts, dust);
+    }
+  }
+
+  private static void spawn(final @NotNull Particle particle, final @NotNull Location loc, final @Nullable ParticleShape.ParticleOptions options) {
+    final var opts = options != null ? options : ParticleShape.ParticleOptions.defaultOptions();
+    spawn(particle, loc, opts, dust(particle, opts));
+  }
+
+  private static @Nullable Particle.DustOptions dust(final @NotNull Particle particle, final @NotNull ParticleShape.ParticleOptions opts) {
+    return particle == Particle.DUST && opts.color() != null ? new Particle.DustOptions(opts.color(), opts.size()) : null;
+  }
+
+  private static void spawn(final @NotNull Particle particle, final @NotNull Location loc, final @NotNull ParticleShape.ParticleOptions opts, final @Nullable Particle.DustOptions dust) {
+    if (dust != null) {
       loc.getWorld().spawnParticle(
         particle,
         loc,
@@ -179,4 +180,4 @@ public class ParticleShapes {
       );
     }
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,156 @@
+package fr.dreamin.dreamapi.core.particle;
+
+import org.bukkit.util.Vector;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.DoubleBuffer;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * PointCloud - Immutable, packed list of points relative to a shape origin.
+ * <p>
+ * Coordinates are stored interleaved ({@code x0, y0, z0, x1, y1, z1...}) in a single
+ * {@code double[]}, so a cloud of N points is one array instead of N {@link Vector}s.
+ * Instances are shared (see {@link ParticleShapeCache}) and must never be mutated.
+ */
+public final class PointCloud {
+
+  public static final PointCloud EMPTY = new PointCloud(new double[0]);
+  public static final PointCloud ORIGIN = new PointCloud(new double[3]);
+
+  private final double[] coords;
+  private final int size;
+
+  PointCloud(final double @NotNull [] coords) {
+    if (coords.length % 3 != 0)
+      throw new IllegalArgumentException(String.format("Packed coordinates must be a multiple of 3, got %d", coords.length));
+
+    this.coords = coords;
+    this.size = coords.length / 3;
+  }
+
+  // ###############################################################
+  // ----------------------- PUBLIC METHODS ------------------------
+  // ###############################################################
+
+  /**
+   * Packs a list of vectors into a new cloud.
+   * @param points The points to copy
+   * @return A new PointCloud holding a copy of the points
+   */
+  public static @NotNull PointCloud of(final @NotNull List<Vector> points) {
+    if (points.isEmpty()) return EMPTY;
+
+    final var coords = new double[points.size() * 3];
+    for (int i = 0; i < points.size(); i++) {
+      final var point = points.get(i);
+      coords[i * 3] = point.getX();
+      coords[i * 3 + 1] = point.getY();
+      coords[i * 3 + 2] = point.getZ();
+    }
+    return new PointCloud(coords);
+  }
+
+  /**
+   * Wraps packed coordinates; the array is copied.
+   * @param coords Interleaved x, y, z coordinates
+   * @return A new PointCloud
+   */
+  public static @NotNull PointCloud of(final double @NotNull [] coords) {
+    return coords.length == 0 ? EMPTY : new PointCloud(coords.clone());
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+  public boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  public double x(final int index) {
+    return this.coords[index * 3];
+  }
+
+  public double y(final int index) {
+    return this.coords[index * 3 + 1];
+  }
+
+  public double z(final int index) {
+    return this.coords[index * 3 + 2];
+  }
+
+  /**
+   * Resamples the cloud to exactly {@code count} points, repeating or skipping points evenly.
+   * An empty cloud becomes {@code count} points at the origin.
+   * @param count The wanted number of points
+   * @return This cloud if it already has {@code count} points, a new cloud otherwise
+   */
+  public @NotNull PointCloud resample(final int count) {
+    if (count == this.size) return this;
+    if (count <= 0) return EMPTY;
+
+    final var resampled = new double[count * 3];
+    if (this.size > 0) {
+      for (int i = 0; i < count; i++) {
+        final int source = (int) ((long) i * this.size / count);
+        System.arraycopy(this.coords, source * 3, resampled, i * 3, 3);
+      }
+    }
+    return new PointCloud(resampled);
+  }
+
+  /**
+   * @return A read-only view over the interleaved coordinates
+   */
+  public @NotNull DoubleBuffer buffer() {
+    return DoubleBuffer.wrap(this.coords).asReadOnlyBuffer();
+  }
+
+  /**
+   * Copies the interleaved coordinates into the given array.
+   * @param dest   Destination array
+   * @param offset Offset (in doubles) in the destination
+   */
+  public void copyTo(final double @NotNull [] dest, final int offset) {
+    System.arraycopy(this.coords, 0, dest, offset, this.coords.length);
+  }
+
+  /**
+   * Read-only list view of the points. Every {@code get} returns a new {@link Vector},
+   * so callers can freely modify it without affecting the cloud.
+   * @return An unmodifiable view of this cloud
+   */
+  public @NotNull List<Vector> asList() {
+    return new VectorView();
+  }
+
+  /**
+   * Direct access to the packed coordinates, for hot loops in this package. Never modify.
+   */
+  double @NotNull [] coords() {
+    return this.coords;
+  }
+
+  // ###############################################################
+  // --------------------------- CLASS -----------------------------
+  // ###############################################################
+
+  private final class VectorView extends AbstractList<Vector> implements RandomAccess {
+
+    @Override
+    public Vector get(final int index) {
+      if (index < 0 || index >= size)
+        throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for size %d", index, size));
+      return new Vector(x(index), y(index), z(index));
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+
+}
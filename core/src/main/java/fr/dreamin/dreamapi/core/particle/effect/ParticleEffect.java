@@ -0,0 +1,62 @@
+package fr.dreamin.dreamapi.core.particle.effect;
+
+import fr.dreamin.dreamapi.core.particle.ParticleAnimation;
+import fr.dreamin.dreamapi.core.particle.ParticleChainMorph;
+import fr.dreamin.dreamapi.core.particle.ParticleSequence;
+import fr.dreamin.dreamapi.core.particle.ParticleShapeMorph;
+import fr.dreamin.dreamapi.core.time.TickTask;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+
+/**
+ * ParticleEffect - An effect definition compiled once by the {@link ParticleEffectService}.
+ * <p>
+ * The compiled task is a template that is never started: its shapes, morph keyframes and path
+ * frames are computed when the definition is loaded, and every instance returned by
+ * {@link #create()} reads them instead of recomputing its own.
+ */
+@Getter
+@Accessors(fluent = true)
+public final class ParticleEffect {
+
+  private final @NotNull String id;
+  private final @NotNull File source;
+  private final long loadedAt;
+  private final @NotNull TickTask<?> template;
+
+  ParticleEffect(final @NotNull String id, final @NotNull File source, final @NotNull TickTask<?> template) {
+    this.id = id;
+    this.source = source;
+    this.loadedAt = System.currentTimeMillis();
+    this.template = template;
+  }
+
+  // ###############################################################
+  // ----------------------- PUBLIC METHODS ------------------------
+  // ###############################################################
+
+  /**
+   * Creates a new, stopped instance of the effect, sharing the precomputed frames of the definition.
+   * <p>
+   * Instances keep the data they were created with: reloading the definition only affects the
+   * instances created afterwards.
+   *
+   * @return A new task ready to be started
+   */
+  public @NotNull TickTask<?> create() {
+    if (this.template instanceof ParticleSequence sequence)
+      return sequence.copy();
+    else if (this.template instanceof ParticleAnimation animation)
+      return animation.copy();
+    else if (this.template instanceof ParticleShapeMorph morph)
+      return morph.copy();
+    else if (this.template instanceof ParticleChainMorph chainMorph)
+      return chainMorph.copy();
+
+    throw new IllegalStateException(String.format("Effect '%s' is not a particle task", this.id));
+  }
+
+}
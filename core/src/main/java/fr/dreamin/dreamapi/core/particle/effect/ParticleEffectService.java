@@ -0,0 +1,54 @@
+package fr.dreamin.dreamapi.core.particle.effect;
+
+import fr.dreamin.dreamapi.core.time.TickTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.Map;
+
+/**
+ * Registry of particle effects loaded from JSON definitions.
+ * <p>
+ * Each {@code <id>.json} file of the effects folder holds a serialized particle task
+ * ({@link fr.dreamin.dreamapi.core.particle.ParticleAnimation}, morphs or sequences). Definitions
+ * are compiled once into a {@link ParticleEffect}; the folder is then watched and changed files
+ * are recompiled in the background. Running instances are never restarted by a reload.
+ */
+public interface ParticleEffectService {
+
+  /** Folder, relative to the plugin data folder, loaded when the service starts. */
+  String DEFAULT_FOLDER = "effects";
+
+  /**
+   * Loads every definition of the folder, replacing the current effects, and watches it for changes.
+   * @param folder The effects folder
+   */
+  void load(final @NotNull File folder);
+
+  /**
+   * Recompiles every definition of the current folder.
+   */
+  void reloadAll();
+
+  /**
+   * @return The compiled effect, or null if no definition has this id
+   */
+  @Nullable ParticleEffect getEffect(final @NotNull String id);
+
+  @NotNull Map<String, ParticleEffect> getEffects();
+
+  /**
+   * Creates a new instance of an effect.
+   * @return A new stopped task, or null if no definition has this id
+   */
+  @Nullable TickTask<?> create(final @NotNull String id);
+
+  @Nullable File getFolder();
+
+  boolean isWatching();
+
+  /** Stops watching the folder; loaded effects are kept. */
+  void stopWatching();
+
+}
@@ -0,0 +1,222 @@
+package fr.dreamin.dreamapi.core.particle.effect;
+
+import fr.dreamin.dreamapi.api.config.Configurations;
+import fr.dreamin.dreamapi.api.services.DreamAutoService;
+import fr.dreamin.dreamapi.api.services.DreamService;
+import fr.dreamin.dreamapi.api.services.Inject;
+import fr.dreamin.dreamapi.core.particle.module.ParticleModules;
+import fr.dreamin.dreamapi.core.time.TickTask;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+@Inject
+@RequiredArgsConstructor
+@DreamAutoService(value = ParticleEffectService.class)
+public final class ParticleEffectServiceImpl implements ParticleEffectService, DreamService {
+
+  // Editors often write a file in several steps: wait a bit before reading it
+  private static final long WATCH_SETTLE_MILLIS = 100L;
+
+  private final Plugin plugin;
+
+  private final @NotNull Map<String, ParticleEffect> effects = new ConcurrentHashMap<>();
+
+  private volatile @Nullable File folder;
+  private @Nullable WatchService watchService;
+  private @Nullable Thread watcher;
+
+  // ###############################################################
+  // -------------------------- METHODS ----------------------------
+  // ###############################################################
+
+  @Override
+  public void onLoad(@NotNull Plugin plugin) {
+    final var defaultFolder = new File(this.plugin.getDataFolder(), DEFAULT_FOLDER);
+    if (defaultFolder.isDirectory())
+      load(defaultFolder);
+  }
+
+  @Override
+  public void onReload() {
+    reloadAll();
+  }
+
+  @Override
+  public void onClose() {
+    stopWatching();
+    this.effects.clear();
+  }
+
+  // ##############################################################
+  // ---------------------- SERVICE METHODS -----------------------
+  // ##############################################################
+
+  @Override
+  public void load(@NotNull File folder) {
+    stopWatching();
+    this.folder = folder;
+    reloadAll();
+    startWatching(folder);
+  }
+
+  @Override
+  public void reloadAll() {
+    final var current = this.folder;
+    if (current == null) return;
+
+    ParticleModules.registerAll();
+
+    final var files = current.listFiles((dir, name) -> name.endsWith(".json"));
+    final var loaded = new HashSet<String>();
+    if (files != null) {
+      for (final var file : files) {
+        if (compile(file)) loaded.add(effectId(file));
+      }
+    }
+
+    this.effects.keySet().retainAll(loaded);
+  }
+
+  @Override
+  public @Nullable ParticleEffect getEffect(@NotNull String id) {
+    return this.effects.get(id);
+  }
+
+  @Override
+  public @NotNull Map<String, ParticleEffect> getEffects() {
+    return Collections.unmodifiableMap(this.effects);
+  }
+
+  @Override
+  public @Nullable TickTask<?> create(@NotNull String id) {
+    final var effect = this.effects.get(id);
+    return effect == null ? null : effect.create();
+  }
+
+  @Override
+  public @Nullable File getFolder() {
+    return this.folder;
+  }
+
+  @Override
+  public boolean isWatching() {
+    return this.watcher != null && this.watcher.isAlive();
+  }
+
+  @Override
+  public void stopWatching() {
+    if (this.watchService != null) {
+      try {
+        this.watchService.close();
+      } catch (IOException e) {
+        this.plugin.getLogger().log(Level.WARNING, "Failed to close the particle effect watcher", e);
+      }
+      this.watchService = null;
+    }
+
+    if (this.watcher != null) {
+      this.watcher.interrupt();
+      this.watcher = null;
+    }
+  }
+
+  // ###############################################################
+  // ----------------------- PRIVATE METHODS -----------------------
+  // ###############################################################
+
+  /**
+   * Compiles a definition and swaps it in. On failure the previously compiled effect is kept.
+   * @return True if the definition compiled
+   */
+  private boolean compile(final @NotNull File file) {
+    final var id = effectId(file);
+    try {
+      final var node = Configurations.MAPPER.readTree(file);
+      final var type = ParticleModules.taskType(node.path("type").asText(null));
+      if (type == TickTask.class)
+        throw new IOException(String.format("Unknown particle effect type '%s'", node.path("type").asText()));
+
+      final TickTask<?> template = Configurations.MAPPER.treeToValue(node, type);
+      this.effects.put(id, new ParticleEffect(id, file, template));
+      return true;
+    } catch (IOException | RuntimeException e) {
+      this.plugin.getLogger().log(Level.WARNING, String.format("Failed to load particle effect '%s'", id), e);
+      return this.effects.containsKey(id);
+    }
+  }
+
+  private void startWatching(final @NotNull File folder) {
+    if (!folder.isDirectory()) return;
+
+    try {
+      final var service = folder.toPath().getFileSystem().newWatchService();
+      folder.toPath().register(service,
+        StandardWatchEventKinds.ENTRY_CREATE,
+        StandardWatchEventKinds.ENTRY_MODIFY,
+        StandardWatchEventKinds.ENTRY_DELETE);
+
+      this.watchService = service;
+      this.watcher = Thread.ofPlatform()
+        .daemon()
+        .name("DreamAPI-ParticleEffectWatcher")
+        .start(() -> watch(service, folder));
+    } catch (IOException e) {
+      this.plugin.getLogger().log(Level.WARNING, String.format("Failed to watch particle effects folder '%s'", folder), e);
+    }
+  }
+
+  /**
+   * Runs on the watcher thread. Definitions are recompiled there and swapped in the concurrent map,
+   * so effects created on the main thread afterwards use the new data.
+   */
+  private void watch(final @NotNull WatchService service, final @NotNull File folder) {
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        final var key = service.take();
+        Thread.sleep(WATCH_SETTLE_MILLIS);
+
+        final var changed = new HashSet<Path>();
+        boolean overflow = false;
+        for (final var event : key.pollEvents()) {
+          if (event.kind() == StandardWatchEventKinds.OVERFLOW) overflow = true;
+          else if (event.context() instanceof Path path && path.toString().endsWith(".json")) changed.add(path);
+        }
+        key.reset();
+
+        if (overflow) {
+          reloadAll();
+          continue;
+        }
+
+        for (final var path : changed) {
+          final var file = new File(folder, path.toString());
+          if (file.isFile()) {
+            if (compile(file))
+              this.plugin.getLogger().info(String.format("Reloaded particle effect '%s'", effectId(file)));
+          } else {
+            this.effects.remove(effectId(file));
+          }
+        }
+      }
+    } catch (InterruptedException | ClosedWatchServiceException ignored) {
+      // stopWatching()
+    }
+  }
+
+  private static @NotNull String effectId(final @NotNull File file) {
+    final var name = file.getName();
+    return name.substring(0, name.length() - ".json".length());
+  }
+
+}
@@ -0,0 +1,48 @@
+package fr.dreamin.dreamapi.core.particle.engine;
+
+import fr.dreamin.dreamapi.core.particle.ParticleEmitter;
+import fr.dreamin.dreamapi.core.time.TickTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Drives every running particle task from a single server task.
+ * <p>
+ * Particle tasks ({@link fr.dreamin.dreamapi.core.particle.ParticleAnimation}, morphs and sequences)
+ * register themselves when started instead of scheduling their own Bukkit timer. Each tick the
+ * engine advances them by descending priority; once the particle budget of the tick is spent,
+ * the remaining tasks keep advancing but their frames are culled.
+ */
+public interface ParticleEngineService {
+
+  int DEFAULT_PARTICLE_BUDGET = 50_000;
+
+  /**
+   * Registers a started task. Called by the task itself from {@code TickTask#schedule()}.
+   * @param task     The task (used as identity for {@link #unregister(TickTask)})
+   * @param step     Advances the task by one server tick
+   * @param emitter  The task's emitter, culled when the budget is exhausted (null if it emits nothing)
+   * @param priority Higher priorities are advanced (and therefore rendered) first
+   */
+  void register(final @NotNull TickTask<?> task, final @NotNull Runnable step, final @Nullable ParticleEmitter emitter, final int priority);
+
+  void unregister(final @NotNull TickTask<?> task);
+
+  /**
+   * @return Maximum particles sent per tick before lower-priority tasks are culled
+   */
+  int getParticleBudget();
+
+  void setParticleBudget(final int particleBudget);
+
+  int getActiveCount();
+
+  /**
+   * @return Number of task frames culled during the last tick
+   */
+  int getCulledLastTick();
+
+  /** Stops every registered task. */
+  void stopAll();
+
+}
@@ -0,0 +1,197 @@
+package fr.dreamin.dreamapi.core.particle.engine;
+
+import fr.dreamin.dreamapi.api.services.DreamAutoService;
+import fr.dreamin.dreamapi.api.services.DreamService;
+import fr.dreamin.dreamapi.core.DreamContext;
+import fr.dreamin.dreamapi.core.particle.ParticleEmitter;
+import fr.dreamin.dreamapi.core.time.TickTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.logging.Level;
+
+@DreamAutoService(value = ParticleEngineService.class)
+public final class ParticleEngineServiceImpl implements ParticleEngineService, DreamService {
+
+  // Flat array sorted by descending priority; removed entries are compacted after each tick
+  private Entry[] entries = new Entry[32];
+  private int size = 0;
+
+  private final @NotNull Map<TickTask<?>, Entry> byTask = new IdentityHashMap<>();
+  private final @NotNull List<Entry> pending = new ArrayList<>();
+  private boolean ticking = false;
+
+  private int particleBudget = DEFAULT_PARTICLE_BUDGET;
+  private int culledLastTick = 0;
+
+  private @Nullable TickTask<?> driver;
+
+  // ###############################################################
+  // -------------------------- METHODS ----------------------------
+  // ###############################################################
+
+  @Override
+  public void onClose() {
+    stopAll();
+  }
+
+  // ##############################################################
+  // ---------------------- SERVICE METHODS -----------------------
+  // ##############################################################
+
+  @Override
+  public void register(@NotNull TickTask<?> task, @NotNull Runnable step, @Nullable ParticleEmitter emitter, int priority) {
+    final var previous = this.byTask.remove(task);
+    if (previous != null) previous.removed = true;
+
+    final var entry = new Entry(step, emitter, priority, task.delay());
+    this.byTask.put(task, entry);
+
+    if (this.ticking) this.pending.add(entry);
+    else insert(entry);
+
+    if (this.driver == null)
+      this.driver = startDriver();
+  }
+
+  @Override
+  public void unregister(@NotNull TickTask<?> task) {
+    final var entry = this.byTask.remove(task);
+    if (entry != null) entry.removed = true;
+  }
+
+  @Override
+  public int getParticleBudget() {
+    return this.particleBudget;
+  }
+
+  @Override
+  public void setParticleBudget(int particleBudget) {
+    this.particleBudget = Math.max(0, particleBudget);
+  }
+
+  @Override
+  public int getActiveCount() {
+    return this.byTask.size();
+  }
+
+  @Override
+  public int getCulledLastTick() {
+    return this.culledLastTick;
+  }
+
+  @Override
+  public void stopAll() {
+    List.copyOf(this.byTask.keySet()).forEach(TickTask::stop);
+    this.byTask.clear();
+    this.pending.clear();
+    Arrays.fill(this.entries, 0, this.size, null);
+    this.size = 0;
+    stopDriver();
+  }
+
+  // ###############################################################
+  // ----------------------- PRIVATE METHODS -----------------------
+  // ###############################################################
+
+  private TickTask<?> startDriver() {
+    return new TickTask() {
+      @Override public void onTick() { tickTasks(); }
+    }.autoStop(false)
+      .start();
+  }
+
+  private void stopDriver() {
+    if (this.driver != null) {
+      this.driver.stop();
+      this.driver = null;
+    }
+  }
+
+  private void tickTasks() {
+    final long start = ParticleEmitter.particlesThisTick();
+    int culled = 0;
+
+    this.ticking = true;
+    try {
+      for (int i = 0; i < this.size; i++) {
+        final var entry = this.entries[i];
+        if (entry.removed) continue;
+
+        if (entry.delay > 0) {
+          entry.delay--;
+          continue;
+        }
+
+        final boolean cull = entry.emitter != null && ParticleEmitter.particlesThisTick() - start >= this.particleBudget;
+        if (cull) {
+          entry.emitter.culled(true);
+          culled++;
+        }
+
+        try {
+          entry.step.run();
+        } catch (RuntimeException e) {
+          DreamContext.getPlugin().getLogger().log(Level.SEVERE, "Particle task failed", e);
+        } finally {
+          if (cull) entry.emitter.culled(false);
+        }
+      }
+    } finally {
+      this.ticking = false;
+    }
+
+    compact();
+    this.pending.forEach(this::insert);
+    this.pending.clear();
+    this.culledLastTick = culled;
+
+    if (this.size == 0) stopDriver();
+  }
+
+  private void insert(final @NotNull Entry entry) {
+    if (this.size == this.entries.length)
+      this.entries = Arrays.copyOf(this.entries, this.size * 2);
+
+    int index = this.size;
+    while (index > 0 && this.entries[index - 1].priority < entry.priority) {
+      this.entries[index] = this.entries[index - 1];
+      index--;
+    }
+
+    this.entries[index] = entry;
+    this.size++;
+  }
+
+  private void compact() {
+    int alive = 0;
+    for (int i = 0; i < this.size; i++) {
+      if (!this.entries[i].removed)
+        this.entries[alive++] = this.entries[i];
+    }
+
+    Arrays.fill(this.entries, alive, this.size, null);
+    this.size = alive;
+  }
+
+  // ###############################################################
+  // --------------------------- CLASS -----------------------------
+  // ###############################################################
+
+  private static final class Entry {
+    final @NotNull Runnable step;
+    final @Nullable ParticleEmitter emitter;
+    final int priority;
+    long delay;
+    boolean removed = false;
+
+    Entry(final @NotNull Runnable step, final @Nullable ParticleEmitter emitter, final int priority, final long delay) {
+      this.step = step;
+      this.emitter = emitter;
+      this.priority = priority;
+      this.delay = delay;
+    }
+  }
+
+}
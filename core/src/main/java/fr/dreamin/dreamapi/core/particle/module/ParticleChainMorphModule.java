@@ -37,6 +37,7 @@ public final class ParticleChainMorphModule extends SimpleModule {
         if (!Configurations.containModule(ParticleOptionsModule.class))
           Configurations.addModule(new ParticleOptionsModule());
 
+        result.put("type", "ParticleChainMorph");
         result.put("particle", value.particle().name());
         result.put("shapes", value.shapes());
         result.put("path", value.path());
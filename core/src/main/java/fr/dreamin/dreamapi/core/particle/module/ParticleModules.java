@@ -0,0 +1,73 @@
+package fr.dreamin.dreamapi.core.particle.module;
+
+import fr.dreamin.dreamapi.api.config.Configurations;
+import fr.dreamin.dreamapi.core.particle.ParticleAnimation;
+import fr.dreamin.dreamapi.core.particle.ParticleChainMorph;
+import fr.dreamin.dreamapi.core.particle.ParticleSequence;
+import fr.dreamin.dreamapi.core.particle.ParticleShapeMorph;
+import fr.dreamin.dreamapi.core.time.TickTask;
+import fr.dreamin.dreamapi.core.time.module.TickTaskModule;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * ParticleModules - Registers every particle Jackson module and resolves the {@code "type"} field
+ * written by the particle task serializers.
+ */
+public final class ParticleModules {
+
+  private ParticleModules() {}
+
+  // ###############################################################
+  // ----------------------- PUBLIC METHODS ------------------------
+  // ###############################################################
+
+  /**
+   * Registers the particle modules missing from {@link Configurations#MAPPER}.
+   */
+  public static void registerAll() {
+    if (!Configurations.containModule(TickTaskModule.class))
+      Configurations.addModule(new TickTaskModule());
+
+    if (!Configurations.containModule(ParticleOptionsModule.class))
+      Configurations.addModule(new ParticleOptionsModule());
+
+    if (!Configurations.containModule(ParticleShapeModule.class))
+      Configurations.addModule(new ParticleShapeModule());
+
+    if (!Configurations.containModule(ParticlePathModule.class))
+      Configurations.addModule(new ParticlePathModule());
+
+    if (!Configurations.containModule(ParticleAnimationModule.class))
+      Configurations.addModule(new ParticleAnimationModule());
+
+    if (!Configurations.containModule(ParticleShapeMorphModule.class))
+      Configurations.addModule(new ParticleShapeMorphModule());
+
+    if (!Configurations.containModule(ParticleChainMorphModule.class))
+      Configurations.addModule(new ParticleChainMorphModule());
+
+    if (!Configurations.containModule(ParticleSequenceItemModule.class))
+      Configurations.addModule(new ParticleSequenceItemModule());
+
+    if (!Configurations.containModule(ParticleSequenceModule.class))
+      Configurations.addModule(new ParticleSequenceModule());
+  }
+
+  /**
+   * @param type Value of the {@code "type"} field of a serialized task
+   * @return The task class to deserialize, {@link TickTask} for unknown or missing types
+   */
+  public static @NotNull Class<? extends TickTask> taskType(final @Nullable String type) {
+    if (type == null) return TickTask.class;
+
+    return switch (type) {
+      case "ParticleAnimation" -> ParticleAnimation.class;
+      case "ParticleShapeMorph" -> ParticleShapeMorph.class;
+      case "ParticleChainMorph" -> ParticleChainMorph.class;
+      case "ParticleSequence" -> ParticleSequence.class;
+      default -> TickTask.class;
+    };
+  }
+
+}
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import fr.dreamin.dreamapi.core.particle.ParticleLod;
 import fr.dreamin.dreamapi.core.particle.ParticleShape;
 import org.bukkit.Color;
 import org.bukkit.util.Vector;
@@ -32,6 +33,14 @@ public final class ParticleOptionsModule extends SimpleModule {
         result.put("offset", value.offset());
         result.put("count", value.count());
 
+        if (value.lod().isEnabled()) {
+          final var lod = new HashMap<String, Object>();
+          lod.put("fullDetailDistance", value.lod().fullDetailDistance());
+          lod.put("cullDistance", value.lod().cullDistance());
+          lod.put("minDetail", value.lod().minDetail());
+          result.put("lod", lod);
+        }
+
         gen.writeObject(result);
       }
 
@@ -52,7 +61,17 @@ public final class ParticleOptionsModule extends SimpleModule {
         final var offset = jsonParser.getCodec().treeToValue(node.get("offset"), Vector.class);
         final var count = node.get("count").asInt();
 
-        return new ParticleShape.ParticleOptions(color, size, offset, count);
+        var lod = ParticleLod.NONE;
+        if (node.hasNonNull("lod")) {
+          final var lodNode = node.get("lod");
+          lod = new ParticleLod(
+            lodNode.get("fullDetailDistance").asDouble(),
+            lodNode.get("cullDistance").asDouble(),
+            lodNode.path("minDetail").asDouble(1D)
+          );
+        }
+
+        return new ParticleShape.ParticleOptions(color, size, offset, count, lod);
       }
     });
 
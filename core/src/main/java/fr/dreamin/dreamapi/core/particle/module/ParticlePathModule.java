@@ -3,18 +3,18 @@ package fr.dreamin.dreamapi.core.particle.module;
 import com.fasterxml.jackson.core.JacksonException;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import fr.dreamin.dreamapi.api.config.Configurations;
 import fr.dreamin.dreamapi.api.interpolation.InterpolationType;
-import fr.dreamin.dreamapi.core.interpolation.Interpolation;
 import fr.dreamin.dreamapi.core.bukkit.module.BukkitLocationModule;
 import fr.dreamin.dreamapi.core.particle.ParticlePath;
 import org.bukkit.Location;
 
 import java.io.IOException;
 import java.util.HashMap;
-import java.util.Objects;
+import java.util.List;
 
 public final class ParticlePathModule extends SimpleModule {
 
@@ -29,15 +29,31 @@ public final class ParticlePathModule extends SimpleModule {
         if (!Configurations.containModule(BukkitLocationModule.class))
           Configurations.addModule(new BukkitLocationModule());
 
-        if (Objects.equals(value, ParticlePath.none()))
-          result.put("type", "none");
-        else {
-          result.put("type", "between");
-          result.put("start", value.getStart());
-          result.put("end", value.getEnd());
-          result.put("ease", value.getEase().name());
+        switch (value.getType()) {
+          case NONE -> result.put("type", "none");
+          case LINEAR -> {
+            if (value.getWaypointCount() == 2) {
+              result.put("type", "between");
+              result.put("start", value.getStart());
+              result.put("end", value.getEnd());
+            } else {
+              result.put("type", "linear");
+              result.put("points", value.getWaypoints());
+            }
+          }
+          case CATMULL_ROM -> {
+            result.put("type", "catmullRom");
+            result.put("points", value.getWaypoints());
+          }
+          case BEZIER -> {
+            result.put("type", "bezier");
+            result.put("points", value.getWaypoints());
+          }
         }
 
+        if (!value.isNone())
+          result.put("ease", value.getEase().name());
+
         gen.writeObject(result);
       }
     });
@@ -54,11 +70,22 @@ public final class ParticlePathModule extends SimpleModule {
         if (type.equals("none"))
           return ParticlePath.none();
 
-        final var start = jsonParser.getCodec().treeToValue(node.get("start"), Location.class);
-        final var end = jsonParser.getCodec().treeToValue(node.get("end"), Location.class);
         final var ease = InterpolationType.valueOf(node.get("ease").asText());
 
-        return ParticlePath.between(start, end).ease(ease);
+        if (type.equals("between")) {
+          final var start = jsonParser.getCodec().treeToValue(node.get("start"), Location.class);
+          final var end = jsonParser.getCodec().treeToValue(node.get("end"), Location.class);
+          return ParticlePath.between(start, end).ease(ease);
+        }
+
+        final List<Location> points = jsonParser.getCodec().readValue(node.get("points").traverse(jsonParser.getCodec()), new TypeReference<>() {});
+
+        return switch (type) {
+          case "linear" -> ParticlePath.linear(points).ease(ease);
+          case "catmullRom" -> ParticlePath.catmullRom(points).ease(ease);
+          case "bezier" -> ParticlePath.bezier(points).ease(ease);
+          default -> throw new IOException(String.format("Unknown particle path type '%s'", type));
+        };
       }
     });
 
@@ -5,10 +5,8 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.module.SimpleModule;
-import fr.dreamin.dreamapi.api.config.Configurations;
 import fr.dreamin.dreamapi.core.particle.ParticleSequenceItem;
 import fr.dreamin.dreamapi.core.time.TickTask;
-import fr.dreamin.dreamapi.core.time.module.TickTaskModule;
 
 import java.io.IOException;
 import java.util.HashMap;
@@ -23,8 +21,7 @@ public final class ParticleSequenceItemModule extends SimpleModule {
       public void serialize(ParticleSequenceItem value, JsonGenerator gen, SerializerProvider serializerProvider) throws IOException {
         final var result = new HashMap<String, Object>();
 
-        if (!Configurations.containModule(TickTaskModule.class))
-          Configurations.addModule(new TickTaskModule());
+        ParticleModules.registerAll();
 
         result.put("type", "ParticleSequenceItem");
         result.put("task", value.task());
@@ -40,10 +37,11 @@ public final class ParticleSequenceItemModule extends SimpleModule {
       public ParticleSequenceItem deserialize(JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException, JacksonException {
         JsonNode node = jsonParser.getCodec().readTree(jsonParser);
 
-        if (!Configurations.containModule(TickTaskModule.class))
-          Configurations.addModule(new TickTaskModule());
+        ParticleModules.registerAll();
 
-        final var task = jsonParser.getCodec().treeToValue(node.get("task"), TickTask.class);
+        // Particle tasks keep their concrete type, anything else falls back to a plain TickTask
+        final var taskNode = node.get("task");
+        final TickTask<?> task = jsonParser.getCodec().treeToValue(taskNode, ParticleModules.taskType(taskNode.path("type").asText(null)));
         final var delayBefore = node.get("delayBefore").asInt();
         final var delayAfter = node.get("delayAfter").asInt();
 
@@ -1,14 +1,23 @@
 package fr.dreamin.dreamapi.core.time;
 
 import fr.dreamin.dreamapi.core.DreamContext;
+import fr.dreamin.dreamapi.core.time.profile.TickTaskProfiler;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.experimental.Accessors;
+import org.bukkit.Bukkit;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
 
 /**
  * TickTask - a flexible task system designed for Minecraft ticks.
@@ -38,17 +47,50 @@ import java.util.function.Consumer;
 @Accessors(fluent = true)
 public abstract class TickTask<T extends TickTask<T>> {
 
+  /** Nominal duration of a server tick at 20 TPS. */
+  public static final long TICK_NANOS = 50_000_000L;
+
+  // Wall-clock catch-up cap, so a long freeze doesn't replay hundreds of executions in one tick
+  private static final int MAX_CATCH_UP = 20;
+
+  /** What a wall-clock task does with the executions it missed while the server lagged. */
+  public enum MissedPolicy {
+    /** Runs every missed execution, up to a few per tick, until the task is back on time. */
+    CATCH_UP,
+    /** Runs once and jumps {@code current} to where the clock is, dropping the missed executions. */
+    SKIP
+  }
+
+  // Blocking bodies (database polling...) park a virtual thread, not a Bukkit async pool thread
+  private static @Nullable ExecutorService virtualExecutor;
+
   private @Nullable BukkitTask task;
-  private long current = 0;
+  // Read by virtual-thread executions while the main thread counts and stops the task
+  private volatile long current = 0;
   private long startAt = 0;
   private long limit = -1;
   private long delay = 0;
   private long every = 1;
   private long tickCounter = 0;
-  private boolean paused = false;
+  private volatile boolean paused = false;
   private boolean async = false;
-  private boolean running = false;
+  private volatile boolean running = false;
   private boolean autoStop = false;
+  private boolean virtualThreads = false;
+  private long skippedExecutions = 0;
+  private boolean wallClock = false;
+  private @NotNull MissedPolicy missedPolicy = MissedPolicy.CATCH_UP;
+  private long driftNanos = 0;
+  private long maxDriftNanos = 0;
+  private @Nullable String profileName;
+
+  @Getter(AccessLevel.NONE)
+  private @Nullable TickWheel.Entry wheelEntry;
+  @Getter(AccessLevel.NONE)
+  private final AtomicBoolean inFlight = new AtomicBoolean(false);
+  // Wall clock: time of execution 0, executions done since, and when the task was paused
+  @Getter(AccessLevel.NONE)
+  private long origin, executions, pausedAt;
 
   // Listeners (optional via builder)
   private Consumer<T> onStartListener, onTickListener, onPauseListener, onResumeListener, onStopListener, onEndListener;
@@ -66,6 +108,10 @@ public abstract class TickTask<T extends TickTask<T>> {
     this.every = builder.interval;
     this.async = builder.async;
     this.autoStop = builder.autoStop;
+    this.virtualThreads = builder.virtualThreads;
+    this.wallClock = builder.wallClock;
+    this.missedPolicy = builder.missedPolicy;
+    this.profileName = builder.profileName;
 
     this.onStartListener = builder.onStart;
     this.onTickListener = builder.onTick;
@@ -75,6 +121,23 @@ public abstract class TickTask<T extends TickTask<T>> {
     this.onEndListener = builder.onEnd;
   }
 
+  /**
+   * Copies the timing settings (start, limit, delay, interval, async, auto stop) of another task.
+   * Listeners and running state are not copied.
+   */
+  protected TickTask(@NotNull TickTask<?> source) {
+    this.startAt = source.startAt;
+    this.limit = source.limit;
+    this.delay = source.delay;
+    this.every = source.every;
+    this.async = source.async;
+    this.autoStop = source.autoStop;
+    this.virtualThreads = source.virtualThreads;
+    this.wallClock = source.wallClock;
+    this.missedPolicy = source.missedPolicy;
+    this.profileName = source.profileName;
+  }
+
   // ###############################################################
   // -------------------------- CORE METHODS -----------------------
   // ###############################################################
@@ -129,6 +192,31 @@ public abstract class TickTask<T extends TickTask<T>> {
   @SuppressWarnings("unchecked")
   public T async(boolean async) { this.async = async; return (T) this; }
 
+  /**
+   * With {@link #async(boolean)}, runs each execution on a virtual thread instead of a Bukkit async timer.
+   * <p>
+   * Timing stays on the main thread; an execution is skipped if the previous one is still running.
+   */
+  @SuppressWarnings("unchecked")
+  public T virtualThreads(boolean virtualThreads) { this.virtualThreads = virtualThreads; return (T) this; }
+
+  /**
+   * Counts time with {@link System#nanoTime()} instead of server ticks: an execution is due every
+   * {@code every * 50ms} of real time, so timers stay accurate when the TPS drops.
+   * @see #missedPolicy(MissedPolicy)
+   */
+  @SuppressWarnings("unchecked")
+  public T wallClock(boolean wallClock) { this.wallClock = wallClock; return (T) this; }
+
+  @SuppressWarnings("unchecked")
+  public T missedPolicy(@NotNull MissedPolicy missedPolicy) { this.missedPolicy = missedPolicy; return (T) this; }
+
+  /**
+   * Groups the executions of this task under a name in the {@link TickTaskProfiler} instead of its class name.
+   */
+  @SuppressWarnings("unchecked")
+  public T profileName(@Nullable String profileName) { this.profileName = profileName; return (T) this; }
+
   @SuppressWarnings("unchecked")
   public T every(long ticks) { this.every = ticks > 0 ? ticks : 1; return (T) this; }
 
@@ -145,7 +233,12 @@ public abstract class TickTask<T extends TickTask<T>> {
   // -------------------------- CONTROL FLOW -----------------------
   // ###############################################################
 
-  /** Starts the ticking process. */
+  /**
+   * Starts the ticking process.
+   * <p>
+   * May be called from any thread: off the main thread, the {@link TickWheel} registration is queued
+   * onto it and the first execution counts from the next tick.
+   */
   @SuppressWarnings("unchecked")
   public T start() {
     if (running) stop();
@@ -155,51 +248,219 @@ public abstract class TickTask<T extends TickTask<T>> {
 
     if (onStartListener != null) onStartListener.accept((T) this);
     onStart();
-
-    BukkitRunnable runnable = new BukkitRunnable() {
-      @Override
-      public void run() {
-        if (paused || !running) return;
-
-        if (++tickCounter < every) return;
-        tickCounter = 0;
-
-        current++;
-        if (onTickListener != null) onTickListener.accept((T) TickTask.this);
-        onTick();
-
-        if (limit > 0 && current >= limit) {
-          if (onEndListener != null) onEndListener.accept((T) TickTask.this);
-          onEnd();
-          if (autoStop) stop();
-        }
-      }
-    };
+    if (!running) return (T) this; // stopped from onStart
 
     this.tickCounter = 0;
-    this.task = async
-      ? runnable.runTaskTimerAsynchronously(DreamContext.getPlugin(), delay, 1L)
-      : runnable.runTaskTimer(DreamContext.getPlugin(), delay, 1L);
+    resetClock();
+    schedule();
 
     return (T) this;
   }
 
-  /** Stops the task completely. */
+  /**
+   * Stops the task completely.
+   * <p>
+   * A virtual-thread task stopped from another thread (e.g. from its own {@link #onTick()}) is
+   * stopped on the main thread, where its stop listeners run.
+   */
   @SuppressWarnings("unchecked")
   public T stop() {
+    if (virtualThreads && !Bukkit.isPrimaryThread()) {
+      syncBack(this::stop);
+      return (T) this;
+    }
+
     if (!running) return (T) this;
 
     running = false;
     paused = false;
 
+    unschedule();
+
+    if (onStopListener != null) onStopListener.accept((T) this);
+    onStop();
+    return (T) this;
+  }
+
+  /**
+   * Advances the task by one server tick: honours pause, interval and limit, then fires the tick listeners.
+   * <p>
+   * Called every server tick by drivers that don't know when the task is due (see {@link #schedule()}).
+   */
+  protected final void advance() {
+    if (paused || !running) return;
+
+    if (wallClock) {
+      runWallClock();
+      return;
+    }
+
+    if (++tickCounter < every) return;
+    tickCounter = 0;
+
+    execute();
+  }
+
+  /**
+   * Runs one execution of a task that is due, called by the {@link TickWheel} on the ticks the task fires.
+   */
+  final void fire() {
+    if (paused || !running) return;
+
+    tickCounter = 0;
+    if (wallClock) runWallClock();
+    else runOnce();
+  }
+
+  private void runOnce() {
+    if (async && virtualThreads) dispatch();
+    else execute();
+  }
+
+  /**
+   * Runs the executions due by the wall clock, following the {@link #missedPolicy()}.
+   */
+  private void runWallClock() {
+    final long period = every * TICK_NANOS;
+    final long elapsed = System.nanoTime() - origin;
+    // Half a tick of tolerance, server ticks never land exactly on the nominal times
+    final long due = (elapsed + TICK_NANOS / 2) / period;
+    if (due <= executions) return; // Early: the clock hasn't reached the next execution yet
+
+    // Lateness of the next execution against its nominal time
+    driftNanos = elapsed - (executions + 1) * period;
+    maxDriftNanos = Math.max(maxDriftNanos, driftNanos);
+
+    final long missed = due - executions;
+    if (missedPolicy == MissedPolicy.SKIP) {
+      executions = due;
+      current += missed - 1;
+      skippedExecutions += missed - 1;
+      runOnce();
+      return;
+    }
+
+    final long run = Math.min(missed, MAX_CATCH_UP);
+    for (long i = 0; i < run && running && !paused; i++) {
+      executions++;
+      runOnce();
+    }
+  }
+
+  /**
+   * @return Ticks until the task is due again, used by the {@link TickWheel} to re-arm it
+   */
+  long nextDelay() {
+    if (!wallClock) return every;
+
+    final long next = origin + (executions + 1) * every * TICK_NANOS - System.nanoTime();
+    return Math.max(1L, (next + TICK_NANOS / 2) / TICK_NANOS);
+  }
+
+  private void resetClock() {
+    this.origin = System.nanoTime() + (Math.max(1L, delay) - 1L) * TICK_NANOS;
+    this.executions = 0;
+    this.driftNanos = 0;
+    this.maxDriftNanos = 0;
+  }
+
+  /**
+   * Runs one execution on a virtual thread. Counting stays on the main thread, and the end of the
+   * task (listeners, auto stop) hops back to it once the last execution is done.
+   */
+  @SuppressWarnings("unchecked")
+  private void dispatch() {
+    if (!inFlight.compareAndSet(false, true)) {
+      skippedExecutions++;
+      return;
+    }
+
+    current++;
+    final boolean last = limit > 0 && current >= limit;
+
+    virtualExecutor().execute(() -> {
+      try {
+        tick();
+      } catch (RuntimeException e) {
+        DreamContext.getPlugin().getLogger().log(Level.SEVERE, String.format("TickTask %s failed", getClass().getName()), e);
+      } finally {
+        // The last execution keeps the task in flight until it has ended on the main thread
+        if (!last) inFlight.set(false);
+        else syncBack(() -> {
+          if (running) end();
+          else inFlight.set(false);
+        });
+      }
+    });
+  }
+
+  @SuppressWarnings("unchecked")
+  private void execute() {
+    current++;
+    tick();
+
+    if (limit > 0 && current >= limit) end();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void tick() {
+    final boolean profiled = TickTaskProfiler.isEnabled();
+    final long start = profiled ? System.nanoTime() : 0L;
+    try {
+      if (onTickListener != null) onTickListener.accept((T) this);
+      onTick();
+    } finally {
+      if (profiled)
+        TickTaskProfiler.record(profileName != null ? profileName : getClass().getName(), System.nanoTime() - start);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void end() {
+    inFlight.set(false);
+    if (onEndListener != null) onEndListener.accept((T) this);
+    onEnd();
+    if (autoStop) stop();
+  }
+
+  /**
+   * Registers the task so that it runs every {@link #every()} ticks, after {@link #delay()} ticks.
+   * <p>
+   * Synchronous and virtual-thread tasks are handed to the shared {@link TickWheel}, which only wakes
+   * them on the ticks they fire. Other async tasks own a Bukkit timer calling {@link #advance()}.
+   * Subclasses may hand themselves to another driver instead.
+   */
+  protected void schedule() {
+    if (!async || virtualThreads) {
+      TickWheel.INSTANCE.schedule(this);
+      return;
+    }
+
+    this.task = new BukkitRunnable() {
+      @Override
+      public void run() {
+        advance();
+      }
+    }.runTaskTimerAsynchronously(DreamContext.getPlugin(), delay, 1L);
+  }
+
+  /** Undoes {@link #schedule()}. */
+  protected void unschedule() {
+    TickWheel.INSTANCE.cancel(this);
+
     if (task != null) {
       task.cancel();
       task = null;
     }
+  }
 
-    if (onStopListener != null) onStopListener.accept((T) this);
-    onStop();
-    return (T) this;
+  TickWheel.@NotNull Entry wheelEntry() {
+    if (this.wheelEntry == null) this.wheelEntry = new TickWheel.Entry(this);
+    return this.wheelEntry;
+  }
+
+  TickWheel.@Nullable Entry wheelEntryIfPresent() {
+    return this.wheelEntry;
   }
 
   /** Pauses the ticking process. */
@@ -207,6 +468,8 @@ public abstract class TickTask<T extends TickTask<T>> {
   public T pause() {
     if (!running || paused) return (T) this;
     paused = true;
+    pausedAt = System.nanoTime();
+    TickWheel.INSTANCE.pause(this);
     if (onPauseListener != null) onPauseListener.accept((T) this);
     onPause();
     return (T) this;
@@ -217,6 +480,8 @@ public abstract class TickTask<T extends TickTask<T>> {
   public T resume() {
     if (!running || !paused) return (T) this;
     paused = false;
+    origin += System.nanoTime() - pausedAt; // Paused time doesn't count on the wall clock
+    TickWheel.INSTANCE.resume(this);
     if (onResumeListener != null) onResumeListener.accept((T) this);
     onResume();
     return (T) this;
@@ -224,11 +489,66 @@ public abstract class TickTask<T extends TickTask<T>> {
 
   /** Resets the tick counter without restarting the task. */
   @SuppressWarnings("unchecked")
-  public T reset() { this.current = startAt; return (T) this; }
+  public T reset() { this.current = startAt; resetClock(); return (T) this; }
 
   /** Checks if the task is active (running and not paused). */
   public boolean isActive() { return running && !paused; }
 
+  // ###############################################################
+  // ------------------------- THREADING ---------------------------
+  // ###############################################################
+
+  /**
+   * Interrupts the running virtual-thread executions and releases their executor, called when the
+   * plugin is disabled so they don't outlive a reload. A later execution creates a new executor.
+   */
+  public static synchronized void shutdownVirtualThreads() {
+    if (virtualExecutor == null) return;
+
+    virtualExecutor.shutdownNow();
+    virtualExecutor = null;
+  }
+
+  private static synchronized @NotNull ExecutorService virtualExecutor() {
+    if (virtualExecutor == null)
+      virtualExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("DreamAPI-TickTask-", 0).factory());
+    return virtualExecutor;
+  }
+
+  /**
+   * Runs an action on the main thread, directly if already on it.
+   * <pre>
+   * TickTask.syncBack(() -> player.sendMessage("Loaded"));
+   * </pre>
+   * @return A future completed once the action has run
+   */
+  public static @NotNull CompletableFuture<Void> syncBack(final @NotNull Runnable action) {
+    return syncBack(() -> {
+      action.run();
+      return null;
+    });
+  }
+
+  /**
+   * Computes a value on the main thread, directly if already on it, e.g. to hand the result of a
+   * virtual-thread execution back to Bukkit.
+   * @return A future completed with the value, or exceptionally if the supplier failed
+   */
+  public static <R> @NotNull CompletableFuture<R> syncBack(final @NotNull Supplier<R> supplier) {
+    final var future = new CompletableFuture<R>();
+    final Runnable task = () -> {
+      try {
+        future.complete(supplier.get());
+      } catch (RuntimeException e) {
+        future.completeExceptionally(e);
+      }
+    };
+
+    if (Bukkit.isPrimaryThread()) task.run();
+    else Bukkit.getScheduler().runTask(DreamContext.getPlugin(), task);
+    return future;
+  }
+
   // ###############################################################
   // --------------------------- BUILDER ---------------------------
   // ###############################################################
@@ -242,6 +562,10 @@ public abstract class TickTask<T extends TickTask<T>> {
     protected long interval = 1;
     protected boolean async = false;
     protected boolean autoStop = true;
+    protected boolean virtualThreads = false;
+    protected boolean wallClock = false;
+    protected MissedPolicy missedPolicy = MissedPolicy.CATCH_UP;
+    protected String profileName;
 
     protected Consumer<T> onStart, onTick, onPause, onResume, onStop, onEnd;
 
@@ -254,6 +578,10 @@ public abstract class TickTask<T extends TickTask<T>> {
     @SuppressWarnings("unchecked") public B every(long ticks) { this.interval = ticks > 0 ? ticks : 1; return (B) this; }
     @SuppressWarnings("unchecked") public B async(boolean async) { this.async = async; return (B) this; }
     @SuppressWarnings("unchecked") public B autoStop(boolean autoStop) { this.autoStop = autoStop; return (B) this; }
+    @SuppressWarnings("unchecked") public B virtualThreads(boolean virtualThreads) { this.virtualThreads = virtualThreads; return (B) this; }
+    @SuppressWarnings("unchecked") public B wallClock(boolean wallClock) { this.wallClock = wallClock; return (B) this; }
+    @SuppressWarnings("unchecked") public B missedPolicy(MissedPolicy missedPolicy) { this.missedPolicy = missedPolicy; return (B) this; }
+    @SuppressWarnings("unchecked") public B profileName(String profileName) { this.profileName = profileName; return (B) this; }
 
     @SuppressWarnings("unchecked") public B onStart(Consumer<T> onStart) { this.onStart = onStart; return (B) this; }
     @SuppressWarnings("unchecked") public B onTick(Consumer<T> onTick) { this.onTick = onTick; return (B) this; }
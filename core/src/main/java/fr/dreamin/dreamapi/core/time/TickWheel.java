@@ -0,0 +1,240 @@
+package fr.dreamin.dreamapi.core.time;
+
+import fr.dreamin.dreamapi.core.DreamContext;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.logging.Level;
+
+/**
+ * TickWheel - Hierarchical timing wheel driving every synchronous {@link TickTask} from one Bukkit timer.
+ * <p>
+ * Four levels of 64 slots cover 2^24 ticks (about 9.7 days at 20 TPS); later expiries park in the
+ * last level and are re-cascaded. Each level-0 slot holds the tasks due on one tick, so a task with
+ * {@code every(20)} is only touched once every 20 ticks instead of every tick. Tasks are linked
+ * into their slot through an intrusive {@link Entry}, which makes insert and cancel O(1).
+ * <p>
+ * The wheel itself is only touched from the main thread. {@link #schedule}, {@link #cancel},
+ * {@link #pause} and {@link #resume} may be called from any thread (async callbacks, future stages,
+ * virtual threads): off the main thread they are queued onto it and take effect from the next tick,
+ * in the order they were called.
+ */
+final class TickWheel {
+
+  static final TickWheel INSTANCE = new TickWheel(true);
+
+  private static final int BITS = 6;
+  private static final int SLOTS = 1 << BITS;
+  private static final int MASK = SLOTS - 1;
+  private static final int LEVELS = 4;
+  private static final long SPAN = 1L << (BITS * LEVELS);
+
+  // Sentinel heads of each slot's circular list
+  private final Entry[][] wheel = new Entry[LEVELS][SLOTS];
+
+  private final boolean driven;
+  private long now = 0;
+  private int size = 0;
+  private @Nullable BukkitTask driver;
+
+  /**
+   * @param driven true to advance from a Bukkit timer, false to advance only through {@link #tick()}
+   */
+  TickWheel(final boolean driven) {
+    this.driven = driven;
+    for (int level = 0; level < LEVELS; level++) {
+      for (int slot = 0; slot < SLOTS; slot++) {
+        final var head = new Entry(null);
+        head.prev = head;
+        head.next = head;
+        this.wheel[level][slot] = head;
+      }
+    }
+  }
+
+  // ###############################################################
+  // ----------------------- PUBLIC METHODS ------------------------
+  // ###############################################################
+
+  /**
+   * Schedules the first execution of a task, {@code delay + every - 1} ticks from now (at least one).
+   */
+  void schedule(final @NotNull TickTask<?> task) {
+    if (hop(() -> schedule(task))) return;
+
+    final var entry = task.wheelEntry();
+    unlink(entry);
+    insert(entry, this.now + Math.max(1L, task.delay()) + task.every() - 1L);
+    ensureDriver();
+  }
+
+  void cancel(final @NotNull TickTask<?> task) {
+    if (hop(() -> cancel(task))) return;
+
+    final var entry = task.wheelEntryIfPresent();
+    if (entry == null) return;
+
+    unlink(entry);
+    entry.remaining = 0; // A cancelled task doesn't come back on resume
+  }
+
+  /**
+   * Takes a paused task out of the wheel, remembering how many ticks it had left.
+   */
+  void pause(final @NotNull TickTask<?> task) {
+    if (hop(() -> pause(task))) return;
+
+    final var entry = task.wheelEntryIfPresent();
+    if (entry == null || !entry.isLinked()) return;
+
+    // Paused on its due tick before its slot ran: fire on the tick after the resume
+    entry.remaining = Math.max(1L, entry.expiry - this.now);
+    unlink(entry);
+  }
+
+  /**
+   * Puts a resumed task back with the ticks it had left when paused.
+   */
+  void resume(final @NotNull TickTask<?> task) {
+    if (hop(() -> resume(task))) return;
+
+    final var entry = task.wheelEntryIfPresent();
+    if (entry == null || entry.isLinked() || entry.remaining <= 0) return;
+
+    insert(entry, this.now + entry.remaining);
+    entry.remaining = 0;
+    ensureDriver();
+  }
+
+  int size() {
+    return this.size;
+  }
+
+  /** Advances the wheel by one tick and fires the tasks due on it. */
+  void tick() {
+    this.now++;
+
+    // Bring the next revolution of the upper levels down, lowest level first
+    if ((this.now & MASK) == 0) {
+      for (int level = 1; level < LEVELS; level++) {
+        cascade(level, (int) ((this.now >>> (BITS * level)) & MASK));
+        if (((this.now >>> (BITS * level)) & MASK) != 0) break;
+      }
+    }
+
+    final var head = this.wheel[0][(int) (this.now & MASK)];
+    while (head.next != head) {
+      final var entry = head.next;
+      unlink(entry);
+      run(entry);
+    }
+
+    if (this.size == 0 && this.driver != null) {
+      this.driver.cancel();
+      this.driver = null;
+    }
+  }
+
+  // ###############################################################
+  // ----------------------- PRIVATE METHODS -----------------------
+  // ###############################################################
+
+  /**
+   * Queues an operation onto the main thread when called from another one.
+   * @return true if the operation was queued, false if the caller may run it now
+   */
+  private boolean hop(final @NotNull Runnable operation) {
+    if (!this.driven || Bukkit.isPrimaryThread()) return false;
+
+    Bukkit.getScheduler().runTask(DreamContext.getPlugin(), operation);
+    return true;
+  }
+
+  private void ensureDriver() {
+    if (!this.driven || (this.driver != null && !this.driver.isCancelled())) return;
+
+    this.driver = new BukkitRunnable() {
+      @Override
+      public void run() {
+        tick();
+      }
+    }.runTaskTimer(DreamContext.getPlugin(), 1L, 1L);
+  }
+
+  private void run(final @NotNull Entry entry) {
+    final var task = entry.task;
+    try {
+      task.fire();
+    } catch (RuntimeException e) {
+      DreamContext.getPlugin().getLogger().log(Level.SEVERE, String.format("TickTask %s failed", task.getClass().getName()), e);
+    }
+
+    // Re-arm unless the task stopped, paused or was re-scheduled from its own callbacks
+    if (entry.isLinked() || !task.running()) return;
+
+    if (task.paused()) entry.remaining = task.every();
+    else insert(entry, this.now + task.nextDelay());
+  }
+
+  private void cascade(final int level, final int slot) {
+    final var head = this.wheel[level][slot];
+    while (head.next != head) {
+      final var entry = head.next;
+      unlink(entry);
+      insert(entry, entry.expiry);
+    }
+  }
+
+  private void insert(final @NotNull Entry entry, final long expiry) {
+    entry.expiry = expiry;
+
+    final long delta = Math.min(Math.max(expiry - this.now, 0L), SPAN - 1L);
+    int level = 0;
+    while (level < LEVELS - 1 && delta >= 1L << (BITS * (level + 1)))
+      level++;
+
+    // Far expiries are parked in the last level and re-cascaded until they fit
+    final long target = expiry - this.now >= SPAN ? this.now + delta : Math.max(expiry, this.now);
+    final var head = this.wheel[level][(int) ((target >>> (BITS * level)) & MASK)];
+
+    entry.prev = head.prev;
+    entry.next = head;
+    head.prev.next = entry;
+    head.prev = entry;
+    this.size++;
+  }
+
+  private void unlink(final @NotNull Entry entry) {
+    if (!entry.isLinked()) return;
+
+    entry.prev.next = entry.next;
+    entry.next.prev = entry.prev;
+    entry.prev = null;
+    entry.next = null;
+    this.size--;
+  }
+
+  // ###############################################################
+  // --------------------------- CLASS -----------------------------
+  // ###############################################################
+
+  /** Slot membership of one task, allocated once per task. */
+  static final class Entry {
+    private final TickTask<?> task;
+    private @Nullable Entry prev, next;
+    private long expiry;
+    private long remaining;
+
+    Entry(final @Nullable TickTask<?> task) {
+      this.task = task;
+    }
+
+    boolean isLinked() {
+      return this.next != null;
+    }
+  }
+
+}
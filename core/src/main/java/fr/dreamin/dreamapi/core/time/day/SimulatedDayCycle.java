@@ -3,12 +3,18 @@ package fr.dreamin.dreamapi.core.time.day;
 import fr.dreamin.dreamapi.api.DreamAPI;
 import fr.dreamin.dreamapi.core.time.SimulateTime;
 import fr.dreamin.dreamapi.core.time.TickTask;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.experimental.Accessors;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
+import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
 /**
  * Advanced simulated day/night cycle that uses {@link SimulateTime} and {@link TickTask}
  * to emulate a time progression system with callbacks for sunrise, sunset, and midnight.
@@ -17,6 +23,25 @@ import org.jetbrains.annotations.NotNull;
 @Accessors(fluent = true)
 public final class SimulatedDayCycle extends TickTask<SimulatedDayCycle> {
 
+  private static final long DAY_TICKS = 24000L;
+
+  /** How the simulated time reaches the clients. */
+  public enum UpdateStrategy {
+    /** Sets the world time on every tick, one time packet per player per tick. */
+    EVERY_TICK,
+    /**
+     * Sets the world time only when the visible time is more than {@link #updateThreshold()} ticks off.
+     * With the daylight cycle game rule on, the world and the clients advance on their own in between.
+     */
+    COALESCED,
+    /**
+     * Leaves the world time alone and moves each player's time, relative to the world time so clients
+     * keep advancing it between updates. Pushed under the same threshold as {@link #COALESCED}.
+     * Players leaving the world, or all of them when the cycle stops, get the world time back.
+     */
+    PLAYER_TIME
+  }
+
   private final World world;
   private SimulateTime sunrise = new SimulateTime(6, 0, 0);
   private SimulateTime sunset = new SimulateTime(18, 0, 0);
@@ -25,6 +50,13 @@ public final class SimulatedDayCycle extends TickTask<SimulatedDayCycle> {
   private SimulateTime simulateTime = new SimulateTime(6, 0, 0);
   private double incrementPerTick = 0.5;
   private boolean updateWorldTime = true;
+  private UpdateStrategy updateStrategy = UpdateStrategy.COALESCED;
+  private long updateThreshold = 0;
+  private boolean batched = false;
+
+  // Offsets given to players with PLAYER_TIME, reset once they leave the world
+  @Getter(AccessLevel.NONE)
+  private final Map<UUID, Long> playerOffsets = new HashMap<>();
 
   private Runnable onSunrise;
   private Runnable onSunset;
@@ -77,6 +109,34 @@ public final class SimulatedDayCycle extends TickTask<SimulatedDayCycle> {
     return this;
   }
 
+  public SimulatedDayCycle updateStrategy(final @NotNull UpdateStrategy strategy) {
+    this.updateStrategy = strategy;
+    return this;
+  }
+
+  /**
+   * @param threshold Minecraft ticks the visible time may drift before it is pushed, 0 pushes every change
+   */
+  public SimulatedDayCycle updateThreshold(final long threshold) {
+    this.updateThreshold = Math.max(0L, threshold);
+    return this;
+  }
+
+  /**
+   * When batched, the cycle no longer schedules itself: the owner calls {@link #tickBatched()} once per tick,
+   * like {@link fr.dreamin.dreamapi.core.time.day.impl.DayCycleService} does for all worlds from a single task.
+   * A running cycle is moved between its own schedule and the owner's right away.
+   */
+  public SimulatedDayCycle batched(final boolean batched) {
+    if (this.batched == batched) return this;
+
+    final boolean moving = running();
+    if (moving) unschedule();
+    this.batched = batched;
+    if (moving) schedule();
+    return this;
+  }
+
   // ###############################################################
   // ---------------------- EVENT CALLBACKS ------------------------
   // ###############################################################
@@ -115,26 +175,108 @@ public final class SimulatedDayCycle extends TickTask<SimulatedDayCycle> {
   public void onTick() {
     simulateTime.advanceTime(incrementPerTick);
 
-    if (updateWorldTime) {
-      final var mcTime = (long) ((simulateTime.getTotalSeconds() / (24D * 3600D)) * 24000D);
-      world.setTime(mcTime);
-    }
+    if (!batched) pushTime();
 
     if (simulateTime.equalsTime(sunrise) && onSunrise != null) onSunrise.run();
     if (simulateTime.equalsTime(sunset) && onSunset != null) onSunset.run();
     if (simulateTime.equalsTime(end) && onMidnight != null) onMidnight.run();
   }
 
+  @Override
+  public void onStop() {
+    releasePlayers(true);
+  }
+
+  @Override
+  protected void schedule() {
+    if (!batched) super.schedule();
+  }
+
   @Override
   public void onEnd() {
     if (onCycleEnd != null) onCycleEnd.run();
     DreamAPI.getAPI().getLogger().info(String.format("[DayCycle] Ended at %s", simulateTime.toShortString()));
   }
 
+  // ###############################################################
+  // ----------------------- PUBLIC METHODS ------------------------
+  // ###############################################################
+
+  /**
+   * Advances a batched cycle by one server tick, then pushes its time in the same tick.
+   * Does nothing unless the cycle is {@link #batched(boolean) batched}.
+   */
+  public void tickBatched() {
+    if (!batched) return;
+
+    advance();
+    if (isActive()) pushTime();
+  }
+
+  /**
+   * Sends the simulated time to the world or its players, following the {@link #updateStrategy()}.
+   */
+  public void pushTime() {
+    if (!updateWorldTime) return;
+
+    final long mcTime = visibleTime();
+    switch (updateStrategy) {
+      case EVERY_TICK -> world.setTime(mcTime);
+      case COALESCED -> {
+        if (drift(world.getTime(), mcTime) > updateThreshold) world.setTime(mcTime);
+      }
+      case PLAYER_TIME -> {
+        for (final Player player : world.getPlayers()) {
+          if (drift(player.getPlayerTime(), mcTime) > updateThreshold) {
+            final long offset = mcTime - world.getTime();
+            player.setPlayerTime(offset, true);
+            playerOffsets.put(player.getUniqueId(), offset);
+          }
+        }
+      }
+    }
+
+    releasePlayers(updateStrategy != UpdateStrategy.PLAYER_TIME);
+  }
+
   // ###############################################################
   // --------------------------- HELPERS ---------------------------
   // ###############################################################
 
+  /**
+   * Resets the time of the players given an offset who left the world (or all of them), unless
+   * something else changed their time since.
+   */
+  private void releasePlayers(final boolean all) {
+    if (playerOffsets.isEmpty()) return;
+
+    final var it = playerOffsets.entrySet().iterator();
+    while (it.hasNext()) {
+      final var entry = it.next();
+      final var player = Bukkit.getPlayer(entry.getKey());
+      if (player == null) {
+        it.remove();
+        continue;
+      }
+
+      if (!all && player.getWorld() == world) continue;
+
+      if (player.isPlayerTimeRelative() && player.getPlayerTimeOffset() == entry.getValue())
+        player.resetPlayerTime();
+      it.remove();
+    }
+  }
+
+  private long visibleTime() {
+    return (long) ((simulateTime.getTotalSeconds() / (24D * 3600D)) * DAY_TICKS);
+  }
+
+  /** Distance between two times of day, the short way around midnight. */
+  private static long drift(final long time, final long target) {
+    final long diff = Math.floorMod(time - target, DAY_TICKS);
+    return Math.min(diff, DAY_TICKS - diff);
+  }
+
   private void recalculateIncrement() {
     this.incrementPerTick = sunrise.calculateIncrementPerTick(24000, end);
   }
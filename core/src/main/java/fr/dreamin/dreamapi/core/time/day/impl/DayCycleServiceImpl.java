@@ -4,9 +4,11 @@ import fr.dreamin.dreamapi.api.services.DreamAutoService;
 import fr.dreamin.dreamapi.api.services.DreamService;
 import fr.dreamin.dreamapi.core.DreamContext;
 import fr.dreamin.dreamapi.core.time.SimulateTime;
+import fr.dreamin.dreamapi.core.time.TickTask;
 import fr.dreamin.dreamapi.core.time.day.SimulatedDayCycle;
 import org.bukkit.World;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -23,10 +25,18 @@ public final class DayCycleServiceImpl implements DayCycleService, DreamService
   private Runnable onGlobalSunset;
   private Runnable onGlobalMidnight;
 
+  // Advances and pushes the time of every world once per tick
+  private @Nullable TickTask<?> driver;
+
   // ###############################################################
   // -------------------------- METHODS ----------------------------
   // ###############################################################
 
+  @Override
+  public void onClose() {
+    stopDriver();
+  }
+
   @Override
   public @NotNull SimulatedDayCycle addWorld(@NotNull World world, @NotNull SimulateTime sunrise, @NotNull SimulateTime sunset) {
     return addWorld(world, sunrise, sunset, new SimulateTime(0, 0, 0));
@@ -47,7 +57,7 @@ public final class DayCycleServiceImpl implements DayCycleService, DreamService
       .onSunset(() -> handleGlobalCallback(this.onGlobalSunset, String.format("Sunset in %s", world.getName())))
       .onMidnight(() -> handleGlobalCallback(this.onGlobalMidnight, String.format("Midnight in %s", world.getName())));
 
-    this.cycles.put(world.getName(), cycle);
+    register(world, cycle);
     DreamContext.getPlugin().getLogger().info(String.format("Registered day cycle for world: %s", world.getName()));
     return cycle;
   }
@@ -57,7 +67,7 @@ public final class DayCycleServiceImpl implements DayCycleService, DreamService
     if (isWorldRegistered(world.getName()))
       return this.cycles.get(world.getName());
 
-    this.cycles.put(world.getName(), cycle);
+    register(world, cycle);
     DreamContext.getPlugin().getLogger().info(String.format("Registered custom day cycle for world: %s", world.getName()));
     return cycle;
   }
@@ -68,14 +78,17 @@ public final class DayCycleServiceImpl implements DayCycleService, DreamService
     Optional.ofNullable(this.cycles.remove(worldName))
       .ifPresent(cycle -> {
         cycle.stop();
+        cycle.batched(false);
+        if (this.cycles.isEmpty()) stopDriver();
         DreamContext.getPlugin().getLogger().info(String.format("Removed day cycle for world: %s", worldName));
       });
   }
 
   @Override
   public void clearAll() {
-    this.cycles.values().forEach(SimulatedDayCycle::stop);
+    this.cycles.values().forEach(cycle -> cycle.stop().batched(false));
     this.cycles.clear();
+    stopDriver();
     DreamContext.getPlugin().getLogger().info("Cleared all simulated day cycles.");
   }
 
@@ -155,6 +168,32 @@ public final class DayCycleServiceImpl implements DayCycleService, DreamService
   // ----------------------- PRIVATE METHODS -----------------------
   // ###############################################################
 
+  private void register(final @NotNull World world, final @NotNull SimulatedDayCycle cycle) {
+    this.cycles.put(world.getName(), cycle.batched(true));
+
+    if (this.driver == null)
+      this.driver = startDriver();
+  }
+
+  private TickTask<?> startDriver() {
+    return new TickTask() {
+      @Override public void onTick() { tickAll(); }
+    }.autoStop(false)
+      .profileName("DayCycleService")
+      .start();
+  }
+
+  private void stopDriver() {
+    if (this.driver == null) return;
+    this.driver.stop();
+    this.driver = null;
+  }
+
+  private void tickAll() {
+    for (final SimulatedDayCycle cycle : this.cycles.values())
+      cycle.tickBatched();
+  }
+
   private boolean isWorldRegistered(@NotNull String worldName) {
     final var registered = this.cycles.containsKey(worldName);
     if (registered)
@@ -38,6 +38,10 @@ public final class TickTaskModule extends SimpleModule {
         if (node.has("every")) task.every(node.get("every").asLong());
         if (node.has("async")) task.async(node.get("async").asBoolean());
         if (node.has("autoStop")) task.autoStop(node.get("autoStop").asBoolean());
+        if (node.has("virtualThreads")) task.virtualThreads(node.get("virtualThreads").asBoolean());
+        if (node.has("wallClock")) task.wallClock(node.get("wallClock").asBoolean());
+        if (node.has("missedPolicy")) task.missedPolicy(TickTask.MissedPolicy.valueOf(node.get("missedPolicy").asText()));
+        if (node.has("profileName")) task.profileName(node.get("profileName").asText());
 
         // paused/running not restored automatically (runtime only)
         return task;
@@ -58,6 +62,10 @@ public final class TickTaskModule extends SimpleModule {
       gen.writeBooleanField("async", task.async());
       gen.writeBooleanField("running", task.running());
       gen.writeBooleanField("autoStop", task.autoStop());
+      gen.writeBooleanField("virtualThreads", task.virtualThreads());
+      gen.writeBooleanField("wallClock", task.wallClock());
+      gen.writeStringField("missedPolicy", task.missedPolicy().name());
+      if (task.profileName() != null) gen.writeStringField("profileName", task.profileName());
       gen.writeEndObject();
     }
   }
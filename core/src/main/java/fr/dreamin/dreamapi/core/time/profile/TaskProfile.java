@@ -0,0 +1,20 @@
+package fr.dreamin.dreamapi.core.time.profile;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Execution metrics of one task type (or profile name).
+ *
+ * @param name       Profile name of the task, its class name by default
+ * @param count      Number of executions
+ * @param totalNanos Time spent in all executions
+ * @param maxNanos   Longest execution
+ * @param histogram  Executions per duration bucket, see {@link TickTaskProfiler#HISTOGRAM_BOUNDS_NANOS}
+ */
+public record TaskProfile(@NotNull String name, long count, long totalNanos, long maxNanos, long @NotNull [] histogram) {
+
+  public long averageNanos() {
+    return this.count == 0 ? 0L : this.totalNanos / this.count;
+  }
+
+}
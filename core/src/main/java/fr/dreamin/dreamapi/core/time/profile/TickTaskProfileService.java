@@ -0,0 +1,42 @@
+package fr.dreamin.dreamapi.core.time.profile;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Exposes the {@link TickTaskProfiler} metrics: executions, total, average and max time, and a
+ * duration histogram per task type.
+ */
+public interface TickTaskProfileService {
+
+  /**
+   * @return True if executions are being recorded, see {@link #setEnabled(boolean)}
+   */
+  boolean isEnabled();
+
+  /**
+   * Switches profiling on or off. It starts on only when the server runs with {@code -Ddreamapi.profile=true}.
+   */
+  void setEnabled(final boolean enabled);
+
+  /**
+   * @return Every profile, by descending total time
+   */
+  @NotNull List<TaskProfile> getProfiles();
+
+  /**
+   * @return The profile of a task type or profile name, or null if it never ran
+   */
+  @Nullable TaskProfile getProfile(final @NotNull String name);
+
+  /**
+   * @return Upper bounds (exclusive) of the histogram buckets, in nanoseconds
+   */
+  long @NotNull [] getHistogramBounds();
+
+  /** Clears every recorded metric. */
+  void reset();
+
+}
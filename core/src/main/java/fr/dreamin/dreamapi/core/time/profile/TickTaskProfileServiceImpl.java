@@ -0,0 +1,59 @@
+package fr.dreamin.dreamapi.core.time.profile;
+
+import fr.dreamin.dreamapi.api.services.DreamAutoService;
+import fr.dreamin.dreamapi.api.services.DreamService;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+@DreamAutoService(value = TickTaskProfileService.class)
+public final class TickTaskProfileServiceImpl implements TickTaskProfileService, DreamService {
+
+  // ###############################################################
+  // -------------------------- METHODS ----------------------------
+  // ###############################################################
+
+  @Override
+  public void onReset() {
+    reset();
+  }
+
+  // ##############################################################
+  // ---------------------- SERVICE METHODS -----------------------
+  // ##############################################################
+
+  @Override
+  public boolean isEnabled() {
+    return TickTaskProfiler.isEnabled();
+  }
+
+  @Override
+  public void setEnabled(final boolean enabled) {
+    TickTaskProfiler.setEnabled(enabled);
+  }
+
+  @Override
+  public @NotNull List<TaskProfile> getProfiles() {
+    return TickTaskProfiler.snapshot();
+  }
+
+  @Override
+  public @Nullable TaskProfile getProfile(@NotNull String name) {
+    return TickTaskProfiler.snapshot().stream()
+      .filter(profile -> profile.name().equals(name))
+      .findFirst()
+      .orElse(null);
+  }
+
+  @Override
+  public long @NotNull [] getHistogramBounds() {
+    return TickTaskProfiler.HISTOGRAM_BOUNDS_NANOS.clone();
+  }
+
+  @Override
+  public void reset() {
+    TickTaskProfiler.reset();
+  }
+
+}
@@ -0,0 +1,103 @@
+package fr.dreamin.dreamapi.core.time.profile;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TickTaskProfiler - Records the time spent in each {@link fr.dreamin.dreamapi.core.time.TickTask} execution.
+ * <p>
+ * Profiling starts on when the server runs with {@code -Ddreamapi.profile=true} (see {@link #ENABLED}),
+ * and can be switched at runtime with {@link #setEnabled(boolean)}, e.g. from {@code /dreamapi profile on}.
+ * While it is off, an execution only pays one volatile read.
+ * <p>
+ * Executions are grouped by the task's profile name, or its class name when none is set.
+ */
+public final class TickTaskProfiler {
+
+  /** Whether profiling was switched on at startup with {@code -Ddreamapi.profile=true}. */
+  public static final boolean ENABLED = Boolean.getBoolean("dreamapi.profile");
+
+  /** Upper bounds (exclusive) of the histogram buckets, the last bucket holds everything above. */
+  public static final long[] HISTOGRAM_BOUNDS_NANOS = {
+    1_000L, 10_000L, 100_000L, 500_000L, 1_000_000L, 5_000_000L, 10_000_000L, 50_000_000L
+  };
+
+  private static final Map<String, Stats> STATS = new ConcurrentHashMap<>();
+
+  private static volatile boolean enabled = ENABLED;
+
+  private TickTaskProfiler() {}
+
+  // ###############################################################
+  // ----------------------- PUBLIC METHODS ------------------------
+  // ###############################################################
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Switches profiling on or off at runtime; recorded metrics are kept.
+   */
+  public static void setEnabled(final boolean enabled) {
+    TickTaskProfiler.enabled = enabled;
+  }
+
+  /**
+   * Records one execution. Callers must check {@link #isEnabled()} first.
+   * @param name  Profile name of the task
+   * @param nanos Time spent in the execution
+   */
+  public static void record(final @NotNull String name, final long nanos) {
+    STATS.computeIfAbsent(name, Stats::new).record(nanos);
+  }
+
+  /**
+   * @return A snapshot of every profile, by descending total time
+   */
+  public static @NotNull List<TaskProfile> snapshot() {
+    return STATS.values().stream()
+      .map(Stats::snapshot)
+      .sorted(Comparator.comparingLong(TaskProfile::totalNanos).reversed())
+      .toList();
+  }
+
+  public static void reset() {
+    STATS.clear();
+  }
+
+  // ###############################################################
+  // --------------------------- CLASS -----------------------------
+  // ###############################################################
+
+  private static final class Stats {
+    private final String name;
+    private final long[] histogram = new long[HISTOGRAM_BOUNDS_NANOS.length + 1];
+    private long count, totalNanos, maxNanos;
+
+    Stats(final @NotNull String name) {
+      this.name = name;
+    }
+
+    // Virtual-thread tasks record from their own threads
+    synchronized void record(final long nanos) {
+      this.count++;
+      this.totalNanos += nanos;
+      if (nanos > this.maxNanos) this.maxNanos = nanos;
+
+      int bucket = 0;
+      while (bucket < HISTOGRAM_BOUNDS_NANOS.length && nanos >= HISTOGRAM_BOUNDS_NANOS[bucket])
+        bucket++;
+      this.histogram[bucket]++;
+    }
+
+    synchronized @NotNull TaskProfile snapshot() {
+      return new TaskProfile(this.name, this.count, this.totalNanos, this.maxNanos, this.histogram.clone());
+    }
+  }
+
+}
@@ -0,0 +1,29 @@
+package fr.dreamin.dreamapi.core;
+
+import com.sun.management.ThreadMXBean;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Bench - Allocation measurements for the performance tests.
+ * <p>
+ * Bounds asserted with these are deliberately loose: they catch an allocation per point or per
+ * entry, not a few bytes.
+ */
+public final class Bench {
+
+  private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  private Bench() {}
+
+  /**
+   * @return Bytes allocated by the calling thread while running the action
+   */
+  public static long allocated(final @NotNull Runnable action) {
+    final long before = THREADS.getCurrentThreadAllocatedBytes();
+    action.run();
+    return THREADS.getCurrentThreadAllocatedBytes() - before;
+  }
+
+}
@@ -0,0 +1,161 @@
+package fr.dreamin.dreamapi.core.cuboid.core;
+
+import fr.dreamin.dreamapi.api.DreamAPI;
+import fr.dreamin.dreamapi.core.Bench;
+import fr.dreamin.dreamapi.core.cuboid.Cuboid;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the chunk-column index against the linear scan it replaced, at 10 to 10,000 cuboids.
+ */
+class CuboidIndexTest {
+
+  private static final UUID WORLD_ID = UUID.randomUUID();
+  private static final World WORLD = (World) Proxy.newProxyInstance(
+    World.class.getClassLoader(), new Class<?>[]{World.class},
+    (proxy, method, args) -> switch (method.getName()) {
+      case "getUID" -> WORLD_ID;
+      case "hashCode" -> WORLD_ID.hashCode();
+      case "equals" -> proxy == args[0];
+      default -> throw new UnsupportedOperationException(method.getName());
+    }
+  );
+
+  private static final int AREA = 2000;
+  private static final int QUERIES = 2000;
+
+  private static int sink;
+
+  @BeforeAll
+  static void provideApi() {
+    // Cuboids register themselves with the CuboidService on creation
+    DreamAPI.setProvider((DreamAPI.IApiProvider) Proxy.newProxyInstance(
+      DreamAPI.class.getClassLoader(), new Class<?>[]{DreamAPI.IApiProvider.class},
+      (provider, method, args) -> method.getName().equals("getService") ? noop((Class<?>) args[0]) : null
+    ));
+  }
+
+  // ###############################################################
+  // ---------------------------- TESTS ----------------------------
+  // ###############################################################
+
+  @ParameterizedTest
+  @ValueSource(ints = {10, 100, 1_000, 10_000})
+  void matchesLinearScan(final int count) {
+    final var random = new SplittableRandom(count);
+    final var cuboids = cuboids(count, random);
+    final var index = index(cuboids);
+
+    for (int i = 0; i < QUERIES; i++) {
+      final double x = random.nextDouble(-AREA, AREA), y = random.nextDouble(0, 128), z = random.nextDouble(-AREA, AREA);
+
+      final var expected = new HashSet<Cuboid>();
+      for (Cuboid cuboid : cuboids)
+        if (cuboid.contains(x, y, z)) expected.add(cuboid);
+
+      final var actual = new HashSet<Cuboid>();
+      for (Cuboid cuboid : index.query(WORLD_ID, (int) Math.floor(x), (int) Math.floor(z)))
+        if (cuboid.contains(x, y, z)) actual.add(cuboid);
+
+      assertEquals(expected, actual);
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1_000, 10_000})
+  void checksFarFewerCuboidsThanLinearScan(final int count) {
+    final var random = new SplittableRandom(count);
+    final var index = index(cuboids(count, random));
+    final var points = points(random);
+
+    // Each candidate returned by a query costs one contains() check; a linear scan checks every cuboid
+    long candidates = 0;
+    for (int i = 0; i < points.length; i += 3)
+      candidates += index.query(WORLD_ID, (int) Math.floor(points[i]), (int) Math.floor(points[i + 2])).size();
+
+    final long linear = (long) count * QUERIES;
+    assertTrue(candidates * 100 < linear, String.format("%d contains checks, linear scan %d", candidates, linear));
+  }
+
+  @Test
+  void queryDoesNotAllocatePerCuboid() {
+    final var random = new SplittableRandom(7);
+    final var index = index(cuboids(10_000, random));
+    final var points = points(random);
+
+    for (int i = 0; i < 20; i++)
+      queryAll(index, points);
+    final long bytes = Bench.allocated(() -> consume(queryAll(index, points)));
+
+    // At most the boxed chunk key of the cell lookup
+    final int queries = points.length / 3;
+    assertTrue(bytes <= 16L * queries, String.format("%d bytes for %d queries", bytes, queries));
+  }
+
+  // ###############################################################
+  // ----------------------- PRIVATE METHODS -----------------------
+  // ###############################################################
+
+  private static @NotNull List<Cuboid> cuboids(final int count, final @NotNull SplittableRandom random) {
+    final var cuboids = new ArrayList<Cuboid>(count);
+    for (int i = 0; i < count; i++) {
+      final int x = random.nextInt(-AREA, AREA), y = random.nextInt(0, 100), z = random.nextInt(-AREA, AREA);
+      cuboids.add(new Cuboid(
+        new Location(WORLD, x, y, z),
+        new Location(WORLD, x + random.nextInt(4, 48), y + random.nextInt(4, 28), z + random.nextInt(4, 48))
+      ));
+    }
+    return cuboids;
+  }
+
+  private static @NotNull CuboidIndex index(final @NotNull List<Cuboid> cuboids) {
+    final var index = new CuboidIndex();
+    cuboids.forEach(index::insert);
+    return index;
+  }
+
+  private static double @NotNull [] points(final @NotNull SplittableRandom random) {
+    final var points = new double[QUERIES * 3];
+    for (int i = 0; i < points.length; i += 3) {
+      points[i] = random.nextDouble(-AREA, AREA);
+      points[i + 1] = random.nextDouble(0, 128);
+      points[i + 2] = random.nextDouble(-AREA, AREA);
+    }
+    return points;
+  }
+
+  private static int queryAll(final @NotNull CuboidIndex index, final double @NotNull [] points) {
+    int hits = 0;
+    for (int i = 0; i < points.length; i += 3) {
+      final var found = index.query(WORLD_ID, (int) Math.floor(points[i]), (int) Math.floor(points[i + 2]));
+      for (int j = 0; j < found.size(); j++)
+        if (found.get(j).contains(points[i], points[i + 1], points[i + 2])) hits++;
+    }
+    return hits;
+  }
+
+  private static void consume(final int value) {
+    sink += value;
+  }
+
+  private static @NotNull Object noop(final @NotNull Class<?> type) {
+    return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> null);
+  }
+
+}
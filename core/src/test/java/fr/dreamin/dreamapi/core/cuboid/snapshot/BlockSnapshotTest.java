@@ -0,0 +1,196 @@
+package fr.dreamin.dreamapi.core.cuboid.snapshot;
+
+import fr.dreamin.dreamapi.core.Bench;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the packed palette encoding, and compares its memory against the list of per-block
+ * objects ({@code Location} + {@code BlockData}) it replaced.
+ */
+class BlockSnapshotTest {
+
+  private static final World WORLD = (World) Proxy.newProxyInstance(
+    World.class.getClassLoader(), new Class<?>[]{World.class},
+    (proxy, method, args) -> switch (method.getName()) {
+      case "hashCode" -> System.identityHashCode(proxy);
+      case "equals" -> proxy == args[0];
+      default -> throw new UnsupportedOperationException(method.getName());
+    }
+  );
+
+  private static final int SIZE_X = 64, SIZE_Y = 32, SIZE_Z = 64;
+  private static final int VOLUME = SIZE_X * SIZE_Y * SIZE_Z;
+
+  private static int sink;
+
+  /** Per-block entry of the former list-based snapshot. */
+  private record SavedBlock(@NotNull Location location, @NotNull BlockData data) {}
+
+  // ###############################################################
+  // ---------------------------- TESTS ----------------------------
+  // ###############################################################
+
+  @Test
+  void bitsForPaletteSize() {
+    assertEquals(0, BlockSnapshot.bitsFor(0));
+    assertEquals(0, BlockSnapshot.bitsFor(1));
+    assertEquals(1, BlockSnapshot.bitsFor(2));
+    assertEquals(2, BlockSnapshot.bitsFor(3));
+    assertEquals(2, BlockSnapshot.bitsFor(4));
+    assertEquals(3, BlockSnapshot.bitsFor(5));
+    assertEquals(4, BlockSnapshot.bitsFor(16));
+    assertEquals(5, BlockSnapshot.bitsFor(17));
+    assertEquals(16, BlockSnapshot.bitsFor(65_536));
+  }
+
+  @Test
+  void setAndGetAtEveryWidth() {
+    final var random = new SplittableRandom(1);
+    for (int bits = 1; bits <= 16; bits++) {
+      final int entries = 1_000;
+      final var data = new long[BlockSnapshot.longsFor(entries, bits)];
+      final var values = new int[entries];
+
+      for (int i = 0; i < entries; i++) {
+        values[i] = random.nextInt(1 << bits);
+        BlockSnapshot.set(data, bits, i, values[i]);
+      }
+
+      // Overwrite a few entries: neighbours sharing the long must keep their value
+      for (int i = 0; i < entries; i += 7) {
+        values[i] = random.nextInt(1 << bits);
+        BlockSnapshot.set(data, bits, i, values[i]);
+      }
+
+      for (int i = 0; i < entries; i++)
+        assertEquals(values[i], BlockSnapshot.get(data, bits, i), String.format("%d bits, entry %d", bits, i));
+    }
+  }
+
+  @Test
+  void writerGrowsIndexWidth() {
+    final var palette = palette(40);
+    final var writer = new BlockSnapshot.Writer(WORLD, 0, 0, 0, SIZE_X, SIZE_Y, SIZE_Z);
+    final var expected = new int[VOLUME];
+
+    // New states keep appearing along the way, forcing a resize at 2, 3, 5, 9, 17 and 33 entries
+    for (int i = 0; i < VOLUME; i++) {
+      expected[i] = Math.min(palette.size() - 1, (int) ((long) i * palette.size() / VOLUME));
+      writer.set(i, palette.get(expected[i]));
+    }
+
+    final var snapshot = writer.build();
+    assertEquals(palette.size(), snapshot.paletteSize());
+    assertEquals(BlockSnapshot.bitsFor(palette.size()), snapshot.getBitsPerEntry());
+    for (int i = 0; i < VOLUME; i++)
+      assertSame(palette.get(expected[i]), snapshot.blockData(i));
+  }
+
+  @Test
+  void singleStateUsesNoIndexStorage() {
+    final var writer = new BlockSnapshot.Writer(WORLD, 0, 0, 0, SIZE_X, SIZE_Y, SIZE_Z);
+    final var air = state(0);
+    for (int i = 0; i < VOLUME; i++)
+      writer.set(i, air);
+
+    final var snapshot = writer.build();
+    assertEquals(0, snapshot.getBitsPerEntry());
+    assertEquals(Integer.BYTES, snapshot.memoryFootprint());
+  }
+
+  @Test
+  void smallerThanBlockList() {
+    final var palette = palette(20);
+    final var random = new SplittableRandom(2);
+    final var states = new int[VOLUME];
+    for (int i = 0; i < VOLUME; i++)
+      states[i] = random.nextInt(palette.size());
+
+    final var snapshot = new BlockSnapshot[1];
+    final long compact = Bench.allocated(() -> {
+      final var writer = new BlockSnapshot.Writer(WORLD, 0, 0, 0, SIZE_X, SIZE_Y, SIZE_Z);
+      for (int i = 0; i < VOLUME; i++)
+        writer.set(i, palette.get(states[i]));
+      snapshot[0] = writer.build();
+    });
+
+    final long list = Bench.allocated(() -> {
+      final var blocks = new ArrayList<SavedBlock>(VOLUME);
+      int i = 0;
+      for (int y = 0; y < SIZE_Y; y++)
+        for (int z = 0; z < SIZE_Z; z++)
+          for (int x = 0; x < SIZE_X; x++)
+            blocks.add(new SavedBlock(new Location(WORLD, x, y, z), palette.get(states[i++])));
+      sink += blocks.size();
+    });
+
+    // 20 states fit in 5 bits: 12 indices per long instead of an object pair per block
+    assertEquals(5, snapshot[0].getBitsPerEntry());
+    assertEquals(BlockSnapshot.longsFor(VOLUME, 5), snapshot[0].packed().capacity());
+    assertEquals((long) BlockSnapshot.longsFor(VOLUME, 5) * Long.BYTES + 20L * Integer.BYTES, snapshot[0].memoryFootprint());
+    assertTrue(compact * 10 < list, String.format("compact %d bytes, list %d bytes", compact, list));
+  }
+
+  @Test
+  void decodesWithoutAllocating() {
+    final var palette = palette(20);
+    final var random = new SplittableRandom(3);
+    final var writer = new BlockSnapshot.Writer(WORLD, 0, 0, 0, SIZE_X, SIZE_Y, SIZE_Z);
+    for (int i = 0; i < VOLUME; i++)
+      writer.set(i, palette.get(random.nextInt(palette.size())));
+    final var snapshot = writer.build();
+
+    final Runnable decode = () -> {
+      int hash = 0;
+      for (int i = 0; i < VOLUME; i++)
+        hash += snapshot.paletteIndex(i);
+      sink += hash;
+    };
+
+    decode.run();
+    final long bytes = Bench.allocated(decode);
+
+    assertTrue(bytes < 1_024, String.format("%d bytes allocated", bytes));
+  }
+
+  // ###############################################################
+  // ----------------------- PRIVATE METHODS -----------------------
+  // ###############################################################
+
+  private static @NotNull List<BlockData> palette(final int size) {
+    final var palette = new ArrayList<BlockData>(size);
+    for (int i = 0; i < size; i++)
+      palette.add(state(i));
+    return palette;
+  }
+
+  /**
+   * Block state compared by identity, like the server's interned states. Its small hash code keeps
+   * the proxy from boxing, so the palette lookup doesn't count in the measured allocations.
+   */
+  private static @NotNull BlockData state(final int id) {
+    return (BlockData) Proxy.newProxyInstance(
+      BlockData.class.getClassLoader(), new Class<?>[]{BlockData.class},
+      (proxy, method, args) -> switch (method.getName()) {
+        case "getAsString", "toString" -> String.format("minecraft:block_%d", id);
+        case "hashCode" -> id;
+        case "equals" -> proxy == args[0];
+        default -> throw new UnsupportedOperationException(method.getName());
+      }
+    );
+  }
+
+}
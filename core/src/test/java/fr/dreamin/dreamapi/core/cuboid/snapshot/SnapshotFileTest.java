@@ -0,0 +1,240 @@
+package fr.dreamin.dreamapi.core.cuboid.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.dreamin.dreamapi.core.Bench;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.EntityType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnapshotFileTest {
+
+  private static final World WORLD = (World) Proxy.newProxyInstance(
+    World.class.getClassLoader(), new Class<?>[]{World.class},
+    (proxy, method, args) -> switch (method.getName()) {
+      case "getName" -> "world";
+      case "hashCode" -> System.identityHashCode(proxy);
+      case "equals" -> proxy == args[0];
+      default -> throw new UnsupportedOperationException(method.getName());
+    }
+  );
+
+  private static final List<EntitySnapshot> ENTITIES = List.of(
+    new EntitySnapshot(EntityType.ZOMBIE, 12.5, 65, -3.25, 90f, 10f),
+    new EntitySnapshot(EntityType.ARMOR_STAND, 14, 64, 2.75, -45f, 0f)
+  );
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private static long sink;
+
+  @TempDir
+  Path directory;
+
+  // ###############################################################
+  // ---------------------------- TESTS ----------------------------
+  // ###############################################################
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void roundTrip(final boolean compress) throws IOException {
+    final var snapshot = sample();
+    final var path = this.directory.resolve("region.snap");
+
+    SnapshotFile.write(path, snapshot, ENTITIES, compress);
+    final var content = read(path);
+
+    assertSameBlocks(snapshot, content.blocks());
+    assertEquals(ENTITIES, content.entities());
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void rewriteSamePath(final boolean compress) throws IOException {
+    final var snapshot = sample();
+    final var path = this.directory.resolve("region.snap");
+
+    SnapshotFile.write(path, snapshot, ENTITIES, compress);
+    final var loaded = read(path).blocks();
+
+    // The loaded snapshot is written back over the file it was read from
+    SnapshotFile.write(path, loaded, ENTITIES, compress);
+    assertSameBlocks(snapshot, loaded);
+    assertSameBlocks(snapshot, read(path).blocks());
+
+    try (final var files = Files.list(this.directory)) {
+      assertFalse(files.anyMatch(file -> file.getFileName().toString().endsWith(".tmp")));
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void rejectsTruncatedFile(final boolean compress) throws IOException {
+    final var path = this.directory.resolve("region.snap");
+    SnapshotFile.write(path, sample(), ENTITIES, compress);
+
+    try (final var channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+      channel.truncate(channel.size() - 40);
+    }
+
+    assertThrows(IOException.class, () -> read(path));
+  }
+
+  @Test
+  void rejectsWrongLongCount() throws IOException {
+    final var palette = List.of(blockData("minecraft:stone"), blockData("minecraft:dirt"), blockData("minecraft:air"));
+    // 4 x 4 x 4 blocks at 2 bits need 2 longs
+    final var snapshot = new BlockSnapshot(WORLD, 0, 0, 0, 4, 4, 4, palette.toArray(BlockData[]::new), 2, LongBuffer.wrap(new long[1]));
+    final var path = this.directory.resolve("region.snap");
+    SnapshotFile.write(path, snapshot, List.of(), false);
+
+    final var error = assertThrows(IOException.class, () -> read(path));
+    assertTrue(error.getMessage().contains("packed longs"), error.getMessage());
+  }
+
+  @Test
+  void rejectsPaletteIndexOutOfRange() throws IOException {
+    final var palette = List.of(blockData("minecraft:stone"), blockData("minecraft:dirt"), blockData("minecraft:air"));
+    final var data = new long[BlockSnapshot.longsFor(64, 2)];
+    BlockSnapshot.set(data, 2, 37, 3);
+    final var snapshot = new BlockSnapshot(WORLD, 0, 0, 0, 4, 4, 4, palette.toArray(BlockData[]::new), 2, LongBuffer.wrap(data));
+    final var path = this.directory.resolve("region.snap");
+    SnapshotFile.write(path, snapshot, List.of(), false);
+
+    final var error = assertThrows(IOException.class, () -> read(path));
+    assertTrue(error.getMessage().contains("palette entry 3"), error.getMessage());
+  }
+
+  @Test
+  void loadsWithFarLessThanJson() throws IOException {
+    final int sizeX = 32, sizeY = 32, sizeZ = 32;
+    final var random = new SplittableRandom(4);
+    final var writer = new BlockSnapshot.Writer(WORLD, 0, 0, 0, sizeX, sizeY, sizeZ);
+    for (int i = 0; i < sizeX * sizeY * sizeZ; i++)
+      writer.set(i, blockData(String.format("minecraft:block_%d", random.nextInt(16))));
+    final var snapshot = writer.build();
+
+    final var binary = this.directory.resolve("region.snap");
+    SnapshotFile.write(binary, snapshot, List.of(), false);
+
+    // The same region as a JSON list of blocks
+    final var json = this.directory.resolve("region.json");
+    final var blocks = new ArrayList<Map<String, Object>>(snapshot.size());
+    for (int y = 0; y < sizeY; y++)
+      for (int z = 0; z < sizeZ; z++)
+        for (int x = 0; x < sizeX; x++)
+          blocks.add(Map.of("x", x, "y", y, "z", z, "data", snapshot.blockData(x, y, z).getAsString()));
+    MAPPER.writeValue(json.toFile(), blocks);
+
+    final Runnable loadBinary = () -> sink += unchecked(() -> read(binary)).blocks().size();
+    final Runnable loadJson = () -> sink += unchecked(() -> readJson(json, sizeX, sizeY, sizeZ)).size();
+    loadBinary.run();
+    loadJson.run();
+
+    final long binaryBytes = Bench.allocated(loadBinary);
+    final long jsonBytes = Bench.allocated(loadJson);
+
+    assertTrue(binaryBytes * 20 < jsonBytes, String.format("binary %d bytes, JSON %d bytes allocated", binaryBytes, jsonBytes));
+    assertTrue(Files.size(binary) * 10 < Files.size(json));
+    assertSameBlocks(snapshot, readJson(json, sizeX, sizeY, sizeZ));
+  }
+
+  // ###############################################################
+  // ----------------------- PRIVATE METHODS -----------------------
+  // ###############################################################
+
+  private static @NotNull SnapshotFile.Content read(final @NotNull Path path) throws IOException {
+    return SnapshotFile.read(path, WORLD, SnapshotFileTest::blockData, SnapshotFileTest::entityType);
+  }
+
+  /** Loads the JSON list of blocks into a snapshot, parsing each distinct state once. */
+  private static @NotNull BlockSnapshot readJson(final @NotNull Path path, final int sizeX, final int sizeY, final int sizeZ) throws IOException {
+    final var states = new HashMap<String, BlockData>();
+    final var writer = new BlockSnapshot.Writer(WORLD, 0, 0, 0, sizeX, sizeY, sizeZ);
+    for (final var node : MAPPER.readTree(path.toFile())) {
+      final int index = (node.get("y").asInt() * sizeZ + node.get("z").asInt()) * sizeX + node.get("x").asInt();
+      writer.set(index, states.computeIfAbsent(node.get("data").asText(), SnapshotFileTest::blockData));
+    }
+    return writer.build();
+  }
+
+  private static @NotNull BlockSnapshot sample() {
+    final var writer = new BlockSnapshot.Writer(WORLD, 10, 64, -5, 7, 5, 9);
+    final int size = 7 * 5 * 9;
+    for (int i = 0; i < size; i++)
+      writer.set(i, blockData(String.format("minecraft:block_%d", (i * 31) % 11)));
+
+    return writer.build();
+  }
+
+  private static void assertSameBlocks(final @NotNull BlockSnapshot expected, final @NotNull BlockSnapshot actual) {
+    assertEquals(expected.getOriginX(), actual.getOriginX());
+    assertEquals(expected.getOriginY(), actual.getOriginY());
+    assertEquals(expected.getOriginZ(), actual.getOriginZ());
+    assertEquals(expected.getSizeX(), actual.getSizeX());
+    assertEquals(expected.getSizeY(), actual.getSizeY());
+    assertEquals(expected.getSizeZ(), actual.getSizeZ());
+    assertEquals(expected.paletteSize(), actual.paletteSize());
+
+    for (int i = 0; i < expected.size(); i++)
+      assertEquals(expected.blockData(i).getAsString(), actual.blockData(i).getAsString(), String.format("block %d", i));
+  }
+
+  private static <R> R unchecked(final @NotNull IoSupplier<R> supplier) {
+    try {
+      return supplier.get();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static @Nullable EntityType entityType(final @NotNull NamespacedKey key) {
+    for (final var entity : ENTITIES)
+      if (entity.type().getKey().equals(key)) return entity.type();
+    return null;
+  }
+
+  /** Minimal block state, equal by its string form like the server's. */
+  static @NotNull BlockData blockData(final @NotNull String value) {
+    return (BlockData) Proxy.newProxyInstance(
+      BlockData.class.getClassLoader(), new Class<?>[]{BlockData.class},
+      (proxy, method, args) -> switch (method.getName()) {
+        case "getAsString", "toString" -> value;
+        case "hashCode" -> value.hashCode();
+        case "equals" -> args[0] instanceof BlockData other && value.equals(other.getAsString());
+        default -> throw new UnsupportedOperationException(method.getName());
+      }
+    );
+  }
+
+  @FunctionalInterface
+  private interface IoSupplier<R> {
+    R get() throws IOException;
+  }
+
+}
@@ -0,0 +1,89 @@
+package fr.dreamin.dreamapi.core.particle;
+
+import fr.dreamin.dreamapi.api.interpolation.InterpolationType;
+import fr.dreamin.dreamapi.core.Bench;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the on-demand interpolation, and compares its memory against the former
+ * {@code List<List<Vector>>} frames (one Vector per point per frame).
+ */
+class MorphTimelineTest {
+
+  private static final int POINTS = 2_000;
+  private static final int DURATION = 200;
+  // Object header + 3 doubles, without the list overhead
+  private static final long VECTOR_BYTES = 40;
+
+  private static double sink;
+
+  // ###############################################################
+  // ---------------------------- TESTS ----------------------------
+  // ###############################################################
+
+  @Test
+  void interpolatesBetweenKeyframes() {
+    final var from = ParticleShapes.line(4, POINTS);
+    final var to = ParticleShapes.circle(3, POINTS / 2);
+    final var timeline = MorphTimeline.between(from, to, DURATION, InterpolationType.LINEAR);
+
+    final var start = from.points().coords();
+    final var end = to.points().resample(POINTS).coords();
+
+    assertEquals(DURATION + 1, timeline.frameCount());
+    assertEquals(POINTS, timeline.pointCount());
+    assertArrayEquals(start, timeline.frame(0), 1e-9);
+    assertArrayEquals(end, timeline.frame(DURATION), 1e-9);
+
+    final var middle = timeline.frame(DURATION / 2);
+    for (int i = 0; i < middle.length; i++)
+      assertEquals((start[i] + end[i]) / 2, middle[i], 1e-9);
+  }
+
+  @Test
+  void reversedAndSharedViews() {
+    final var timeline = MorphTimeline.between(ParticleShapes.line(4, POINTS), ParticleShapes.circle(3, POINTS), DURATION, InterpolationType.LINEAR);
+    final var last = timeline.frame(DURATION).clone();
+
+    final var shared = timeline.share();
+    timeline.reverse();
+
+    assertArrayEquals(last, timeline.frame(0), 1e-9);
+    // The shared view plays forward and writes to its own buffer
+    final var first = shared.frame(0);
+    assertArrayEquals(last, timeline.frame(0), 1e-9);
+    assertTrue(first != timeline.frame(0));
+  }
+
+  @Test
+  void memoryIsPerPointNotPerFrame() {
+    final var timeline = MorphTimeline.between(ParticleShapes.line(4, POINTS), ParticleShapes.circle(3, POINTS), DURATION, InterpolationType.EASE_IN_OUT);
+    final long points = timeline.pointCount(), frames = timeline.frameCount();
+
+    // Two keyframes and one frame buffer of packed coordinates, plus a segment and a progress per frame
+    assertEquals(3 * points * 3 * Double.BYTES + frames * (Integer.BYTES + Double.BYTES), timeline.memoryFootprint());
+    assertTrue(timeline.memoryFootprint() * 50 < points * frames * VECTOR_BYTES);
+  }
+
+  @Test
+  void framesDoNotAllocate() {
+    final var timeline = MorphTimeline.between(ParticleShapes.line(4, POINTS), ParticleShapes.circle(3, POINTS), DURATION, InterpolationType.EASE_IN_OUT);
+    final Runnable play = () -> {
+      double sum = 0;
+      for (int frame = 0; frame < timeline.frameCount(); frame++)
+        sum += timeline.frame(frame)[0];
+      sink += sum;
+    };
+
+    play.run();
+    final long bytes = Bench.allocated(play);
+
+    // Nothing per frame or per point, only measurement noise
+    assertTrue(bytes < 1024, String.format("%d bytes allocated", bytes));
+  }
+
+}
@@ -0,0 +1,90 @@
+package fr.dreamin.dreamapi.core.particle;
+
+import fr.dreamin.dreamapi.api.DreamAPI;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParticlePathTest {
+
+  @BeforeAll
+  static void setUp() {
+    // The animation unregisters itself from the particle engine when it stops
+    DreamAPI.setProvider((DreamAPI.IApiProvider) Proxy.newProxyInstance(
+      DreamAPI.class.getClassLoader(), new Class<?>[]{DreamAPI.IApiProvider.class},
+      (provider, method, args) -> method.getName().equals("getService") ? noop((Class<?>) args[0]) : null
+    ));
+  }
+
+  // ###############################################################
+  // ---------------------------- TESTS ----------------------------
+  // ###############################################################
+
+  @Test
+  void noneHasNoFrames() {
+    final var cursor = ParticlePath.none().cursor(40);
+
+    assertEquals(0, cursor.frameCount());
+    assertTrue(cursor.isEmpty());
+  }
+
+  @Test
+  void noneAnimationStopsWithoutDrawing() {
+    final var shape = new RenderCountingShape();
+    final var animation = ParticleAnimation.create()
+      .particle(Particle.FLAME)
+      .shape(shape)
+      .path(ParticlePath.none())
+      .duration(20)
+      .build();
+
+    animation.play();
+
+    assertFalse(animation.running());
+    assertEquals(0, shape.renders);
+  }
+
+  @Test
+  void pathYieldsStepsPlusOneFrames() {
+    final var cursor = ParticlePath.between(new Location(null, 0, 64, 0), new Location(null, 10, 64, 0)).cursor(10);
+
+    assertEquals(11, cursor.frameCount());
+    cursor.seek(5);
+    assertEquals(5D, cursor.x(), 1e-9);
+    assertEquals(64D, cursor.y(), 1e-9);
+    cursor.seek(10);
+    assertEquals(10D, cursor.x(), 1e-9);
+  }
+
+  // ###############################################################
+  // ----------------------- PRIVATE METHODS -----------------------
+  // ###############################################################
+
+  private static @NotNull Object noop(final @NotNull Class<?> type) {
+    return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> null);
+  }
+
+  /** Shape drawn through its render methods, counting the calls. */
+  private static final class RenderCountingShape implements ParticleShape {
+    private int renders;
+
+    @Override
+    public void render(final @NotNull Particle particle, final @NotNull Location base) {
+      this.renders++;
+    }
+
+    @Override
+    public void render(final @NotNull Location base, final @NotNull ParticleOptions options) {
+      this.renders++;
+    }
+  }
+
+}
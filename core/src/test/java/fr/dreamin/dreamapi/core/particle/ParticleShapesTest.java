@@ -0,0 +1,115 @@
+package fr.dreamin.dreamapi.core.particle;
+
+import fr.dreamin.dreamapi.core.Bench;
+import org.bukkit.Color;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Allocation checks of the built-in shapes: clouds are resolved once and shared, and rendering
+ * doesn't build a particle payload per point.
+ */
+class ParticleShapesTest {
+
+  private static final int CALLS = 1_000;
+
+  // ###############################################################
+  // ---------------------------- TESTS ----------------------------
+  // ###############################################################
+
+  @Test
+  void pointsAreResolvedOnce() {
+    for (final var shape : shapes()) {
+      final var cloud = shape.points();
+      assertTrue(cloud.size() > 0);
+
+      final long bytes = Bench.allocated(() -> {
+        for (int i = 0; i < CALLS; i++)
+          shape.points();
+      });
+
+      assertSame(cloud, shape.points());
+      assertTrue(bytes < CALLS, String.format("%d bytes allocated by %d points() calls", bytes, CALLS));
+    }
+  }
+
+  @Test
+  void equalShapesShareTheirCloud() {
+    assertSame(ParticleForms.sphere(2, 300).points(), ParticleForms.sphere(2, 300).points());
+    assertSame(ParticleForms.heart(1.5, 200).points(), ParticleForms.heart(1.5, 200).points());
+    assertSame(ParticleShapes.circle(3, 100).points(), ParticleShapes.circle(3, 100).points());
+  }
+
+  @Test
+  void renderSharesOneDustPayload() {
+    final var options = ParticleShape.ParticleOptions.ofColor(Color.RED);
+
+    for (final var shape : shapes()) {
+      final var world = new RecordingWorld();
+      shape.render(new Location(world.proxy, 0, 64, 0), options);
+
+      assertEquals(shape.points().size(), world.spawns);
+      assertEquals(1, world.payloads.size());
+    }
+
+    // Uncolored dust falls back to a default payload, still built once
+    final var world = new RecordingWorld();
+    final var shape = ParticleForms.tornado(4, 1.5, 3, 40);
+    shape.render(Particle.DUST, new Location(world.proxy, 0, 64, 0));
+
+    assertEquals(shape.points().size(), world.spawns);
+    assertEquals(1, world.payloads.size());
+  }
+
+  // ###############################################################
+  // ----------------------- PRIVATE METHODS -----------------------
+  // ###############################################################
+
+  private static @NotNull List<ParticleShape> shapes() {
+    return List.of(
+      ParticleForms.sphere(2, 300),
+      ParticleForms.hollowSphere(2, 300),
+      ParticleForms.cube(2, 4),
+      ParticleForms.ring3D(2, 0.5, 200),
+      ParticleForms.heart(1.5, 200),
+      ParticleForms.tornado(4, 1.5, 3, 40),
+      ParticleShapes.circle(3, 100),
+      ParticleShapes.spiral(2, 3, 40),
+      ParticleShapes.line(5, 50)
+    );
+  }
+
+  /** World stub counting particle spawns and the distinct payloads they carry. */
+  private static final class RecordingWorld {
+    private final Set<Object> payloads = Collections.newSetFromMap(new IdentityHashMap<>());
+    private int spawns;
+
+    private final World proxy = (World) Proxy.newProxyInstance(
+      World.class.getClassLoader(), new Class<?>[]{World.class},
+      (proxy, method, args) -> switch (method.getName()) {
+        case "spawnParticle" -> {
+          this.spawns++;
+          if (args.length == 8) this.payloads.add(args[7]);
+          yield null;
+        }
+        case "hashCode" -> System.identityHashCode(proxy);
+        case "equals" -> proxy == args[0];
+        default -> throw new UnsupportedOperationException(method.getName());
+      }
+    );
+  }
+
+}
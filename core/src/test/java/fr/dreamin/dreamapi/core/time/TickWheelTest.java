@@ -0,0 +1,171 @@
+package fr.dreamin.dreamapi.core.time;
+
+import fr.dreamin.dreamapi.core.Bench;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TickWheelTest {
+
+  private final TickWheel wheel = new TickWheel(false);
+  private long now = 0;
+
+  // ###############################################################
+  // ---------------------------- TESTS ----------------------------
+  // ###############################################################
+
+  @Test
+  void firesEveryInterval() {
+    final var task = task(5).start();
+
+    ticks(20);
+
+    assertEquals(List.of(5L, 10L, 15L, 20L), task.fired);
+  }
+
+  @Test
+  void cascadesFromUpperLevels() {
+    // 100 ticks lands on level 1, 5000 on level 2
+    final var medium = task(100).start();
+    final var far = task(5000).start();
+
+    ticks(4999);
+    assertEquals(List.of(100L, 200L, 300L), medium.fired.subList(0, 3));
+    assertEquals(49, medium.fired.size());
+    assertTrue(far.fired.isEmpty());
+
+    ticks(1);
+    assertEquals(List.of(5000L), far.fired);
+    assertEquals(50, medium.fired.size());
+  }
+
+  @Test
+  void cancelRemovesTask() {
+    final var task = task(3).start();
+
+    ticks(2);
+    task.stop();
+    ticks(10);
+
+    assertTrue(task.fired.isEmpty());
+    assertEquals(0, this.wheel.size());
+  }
+
+  @Test
+  void resumesWithRemainingTicks() {
+    final var task = task(10).start();
+
+    ticks(4);
+    this.wheel.pause(task);
+    ticks(20);
+    assertTrue(task.fired.isEmpty());
+
+    this.wheel.resume(task);
+    ticks(6);
+
+    assertEquals(List.of(30L), task.fired);
+  }
+
+  @Test
+  void resumesTaskPausedOnItsDueTick() {
+    final var second = task(3);
+    // Scheduled first, so it runs first in the shared slot and pauses the other before it fires
+    final var first = task(3).onTick(self -> this.wheel.pause(second)).start();
+    second.start();
+
+    ticks(3);
+    assertEquals(List.of(3L), first.fired);
+    assertTrue(second.fired.isEmpty());
+
+    this.wheel.resume(second);
+    ticks(1);
+
+    assertEquals(List.of(4L), second.fired);
+    assertTrue(second.running());
+  }
+
+  @Test
+  void tenThousandTasksOnlyTouchDueOnes() {
+    final int ticks = 1_200;
+    final var tasks = new CountingTask[10_000];
+    for (int i = 0; i < tasks.length; i++)
+      tasks[i] = new CountingTask().every(1 + i % 100).autoStop(false).start();
+
+    ticks(ticks);
+    final long bytes = Bench.allocated(() -> ticks(ticks));
+
+    // The wheel fires a task without checking it is due, so an exact count means no task was touched early
+    long fired = 0;
+    for (final var task : tasks) {
+      assertEquals(2L * ticks / task.every(), task.count);
+      fired += task.count;
+    }
+
+    // A per-tick driver advances every task on every tick
+    final long polled = (long) tasks.length * 2 * ticks;
+    assertTrue(fired * 10 < polled, String.format("%d executions for %d polls", fired, polled));
+    assertEquals(tasks.length, this.wheel.size());
+    assertTrue(bytes < ticks, String.format("%d bytes allocated over %d ticks", bytes, ticks));
+  }
+
+  // ###############################################################
+  // ----------------------- PRIVATE METHODS -----------------------
+  // ###############################################################
+
+  private @NotNull RecordingTask task(final long every) {
+    return new RecordingTask().every(every).autoStop(false);
+  }
+
+  private void ticks(final int count) {
+    for (int i = 0; i < count; i++) {
+      this.now++;
+      this.wheel.tick();
+    }
+  }
+
+  /** Task driven by the test wheel, recording the ticks it fired on. */
+  private final class RecordingTask extends TickTask<RecordingTask> {
+    private final @NotNull List<Long> fired = new ArrayList<>();
+
+    @Override
+    public void onTick() {
+      this.fired.add(now);
+    }
+
+    @Override
+    protected void schedule() {
+      wheel.schedule(this);
+    }
+
+    @Override
+    protected void unschedule() {
+      wheel.cancel(this);
+    }
+  }
+
+  /** Task driven by the test wheel, only counting its executions. */
+  private final class CountingTask extends TickTask<CountingTask> {
+    private long count;
+
+    @Override
+    public void onTick() {
+      this.count++;
+    }
+
+    @Override
+    protected void schedule() {
+      wheel.schedule(this);
+    }
+
+    @Override
+    protected void unschedule() {
+      wheel.cancel(this);
+    }
+  }
+
+}
@@ -0,0 +1,124 @@
+package fr.dreamin.dreamapi.core.time.profile;
+
+import fr.dreamin.dreamapi.core.Bench;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TickTaskProfilerTest {
+
+  private static final String NAME = "test";
+  private static final long[] BOUNDS = TickTaskProfiler.HISTOGRAM_BOUNDS_NANOS;
+
+  @BeforeEach
+  void setUp() {
+    TickTaskProfiler.reset();
+  }
+
+  @AfterEach
+  void tearDown() {
+    TickTaskProfiler.reset();
+  }
+
+  // ###############################################################
+  // ---------------------------- TESTS ----------------------------
+  // ###############################################################
+
+  @Test
+  void bucketsAtBounds() {
+    final var expected = new long[BOUNDS.length + 1];
+
+    // Bounds are exclusive: a value equal to a bound belongs to the next bucket
+    for (int i = 0; i < BOUNDS.length; i++) {
+      TickTaskProfiler.record(NAME, BOUNDS[i] - 1);
+      TickTaskProfiler.record(NAME, BOUNDS[i]);
+      expected[i]++;
+      expected[i + 1]++;
+    }
+
+    TickTaskProfiler.record(NAME, 0L);
+    expected[0]++;
+    TickTaskProfiler.record(NAME, 1_000_000_000L);
+    expected[BOUNDS.length]++;
+
+    assertArrayEquals(expected, profile().histogram());
+  }
+
+  @Test
+  void aggregatesExecutions() {
+    TickTaskProfiler.record(NAME, 2_000L);
+    TickTaskProfiler.record(NAME, 7_000L);
+    TickTaskProfiler.record(NAME, 3_000L);
+
+    final var profile = profile();
+    assertEquals(3, profile.count());
+    assertEquals(12_000L, profile.totalNanos());
+    assertEquals(7_000L, profile.maxNanos());
+    assertEquals(4_000L, profile.averageNanos());
+  }
+
+  @Test
+  void snapshotIsSortedAndDetached() {
+    TickTaskProfiler.record("light", 1_000L);
+    TickTaskProfiler.record("heavy", 1_000_000L);
+    TickTaskProfiler.record("medium", 50_000L);
+
+    final var profiles = TickTaskProfiler.snapshot();
+    assertEquals("heavy", profiles.get(0).name());
+    assertEquals("medium", profiles.get(1).name());
+    assertEquals("light", profiles.get(2).name());
+
+    TickTaskProfiler.record("light", 1_000L);
+    assertEquals(1, profiles.get(2).count());
+
+    TickTaskProfiler.reset();
+    assertTrue(TickTaskProfiler.snapshot().isEmpty());
+    assertNull(new TickTaskProfileServiceImpl().getProfile("heavy"));
+  }
+
+  @Test
+  void switchesAtRuntime() {
+    final boolean initial = TickTaskProfiler.isEnabled();
+    try {
+      TickTaskProfiler.setEnabled(true);
+      assertTrue(new TickTaskProfileServiceImpl().isEnabled());
+
+      TickTaskProfiler.setEnabled(false);
+      assertFalse(new TickTaskProfileServiceImpl().isEnabled());
+    } finally {
+      TickTaskProfiler.setEnabled(initial);
+    }
+  }
+
+  @Test
+  void recordDoesNotAllocate() {
+    final Runnable record = () -> {
+      for (int i = 0; i < 10_000; i++)
+        TickTaskProfiler.record(NAME, i * 5_000L);
+    };
+
+    // The first call creates the entry
+    record.run();
+    final long bytes = Bench.allocated(record);
+
+    assertTrue(bytes < 1024, String.format("%d bytes allocated", bytes));
+  }
+
+  // ###############################################################
+  // ----------------------- PRIVATE METHODS -----------------------
+  // ###############################################################
+
+  private static @NotNull TaskProfile profile() {
+    final var profile = new TickTaskProfileServiceImpl().getProfile(NAME);
+    assertTrue(profile != null, "No profile recorded");
+    return profile;
+  }
+
+}
@@ -10,6 +10,7 @@ import fr.dreamin.dreamapi.api.services.DreamService;
 import fr.dreamin.dreamapi.core.ApiProviderImpl;
 import fr.dreamin.dreamapi.core.DreamContext;
 import fr.dreamin.dreamapi.core.animation.AnimationServiceImpl;
+import fr.dreamin.dreamapi.core.cuboid.animation.RegionAnimationServiceImpl;
 import fr.dreamin.dreamapi.core.cuboid.core.CuboidServiceImpl;
 import fr.dreamin.dreamapi.core.glowing.GlowingServiceImpl;
 import fr.dreamin.dreamapi.core.inventory.service.InventoryServiceImpl;
@@ -17,13 +18,18 @@ import fr.dreamin.dreamapi.core.item.service.ItemServiceImpl;
 import fr.dreamin.dreamapi.core.logger.DebugServiceImpl;
 import fr.dreamin.dreamapi.core.luckperms.LuckPermsServiceImpl;
 import fr.dreamin.dreamapi.core.packUtils.GlobalTexturesServiceImpl;
+import fr.dreamin.dreamapi.core.particle.effect.ParticleEffectServiceImpl;
+import fr.dreamin.dreamapi.core.particle.engine.ParticleEngineServiceImpl;
 import fr.dreamin.dreamapi.core.service.DreamServiceManager;
 import fr.dreamin.dreamapi.core.team.TeamServiceImpl;
+import fr.dreamin.dreamapi.core.time.TickTask;
 import fr.dreamin.dreamapi.core.time.day.impl.DayCycleServiceImpl;
+import fr.dreamin.dreamapi.core.time.profile.TickTaskProfileServiceImpl;
 import fr.dreamin.dreamapi.core.world.impl.WorldServiceImpl;
 import fr.dreamin.dreamapi.plugin.cmd.admin.broadcast.AdminBroadcastCmd;
 import fr.dreamin.dreamapi.plugin.cmd.admin.broadcast.BroadcastContext;
 import fr.dreamin.dreamapi.plugin.cmd.admin.debug.DebugCmd;
+import fr.dreamin.dreamapi.plugin.cmd.admin.profile.ProfileCmd;
 import lombok.Getter;
 import lombok.Setter;
 import net.luckperms.api.LuckPerms;
@@ -134,6 +140,7 @@ public abstract class DreamPlugin extends JavaPlugin {
   public void onDisable() {
 
     onDreamDisable();
+    TickTask.shutdownVirtualThreads();
   }
 
   // ##############################################################
@@ -225,10 +232,14 @@ public abstract class DreamPlugin extends JavaPlugin {
     this.serviceManager.loadServiceFromClass(AnimationServiceImpl.class);
     this.serviceManager.loadServiceFromClass(WorldServiceImpl.class);
     this.serviceManager.loadServiceFromClass(DayCycleServiceImpl.class);
+    this.serviceManager.loadServiceFromClass(TickTaskProfileServiceImpl.class);
     this.serviceManager.loadServiceFromClass(GlowingServiceImpl.class);
     this.serviceManager.loadServiceFromClass(GlobalTexturesServiceImpl.class);
     this.serviceManager.loadServiceFromClass(InventoryServiceImpl.class);
     this.serviceManager.loadServiceFromClass(CuboidServiceImpl.class);
+    this.serviceManager.loadServiceFromClass(RegionAnimationServiceImpl.class);
+    this.serviceManager.loadServiceFromClass(ParticleEngineServiceImpl.class);
+    this.serviceManager.loadServiceFromClass(ParticleEffectServiceImpl.class);
     this.serviceManager.loadServiceFromClass(TeamServiceImpl.class);
     this.serviceManager.loadServiceFromClass(ItemServiceImpl.class);
 
@@ -268,6 +279,7 @@ public abstract class DreamPlugin extends JavaPlugin {
       this.annotationParser.parse(new AdminBroadcastCmd(this));
 
     this.annotationParser.parse(new DebugCmd());
+    this.annotationParser.parse(new ProfileCmd());
 
   }
 
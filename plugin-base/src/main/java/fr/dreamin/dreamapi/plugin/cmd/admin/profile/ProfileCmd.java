@@ -0,0 +1,131 @@
+package fr.dreamin.dreamapi.plugin.cmd.admin.profile;
+
+import cloud.commandframework.annotations.Argument;
+import cloud.commandframework.annotations.CommandDescription;
+import cloud.commandframework.annotations.CommandMethod;
+import cloud.commandframework.annotations.CommandPermission;
+import cloud.commandframework.annotations.suggestions.Suggestions;
+import cloud.commandframework.context.CommandContext;
+import fr.dreamin.dreamapi.api.DreamAPI;
+import fr.dreamin.dreamapi.core.time.profile.TaskProfile;
+import fr.dreamin.dreamapi.core.time.profile.TickTaskProfileService;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+public class ProfileCmd {
+
+  private static final int TOP = 10;
+
+  private final TickTaskProfileService profiler = DreamAPI.getAPI().getService(TickTaskProfileService.class);
+
+  // ###############################################################
+  // -------------------------- METHODS ----------------------------
+  // ###############################################################
+
+  @CommandDescription("Show the most expensive TickTasks")
+  @CommandMethod("dreamapi profile")
+  @CommandPermission("dreamapi.cmd.profile")
+  private void onRoot(CommandSender sender) {
+    if (!checkEnabled(sender)) return;
+
+    final var profiles = this.profiler.getProfiles();
+    if (profiles.isEmpty()) {
+      sender.sendMessage(Component.text("No TickTask executions recorded yet.", NamedTextColor.GOLD));
+      return;
+    }
+
+    var rs = Component.newline()
+      .append(Component.text(String.format("DreamAPI TickTask Profile (top %s of %s)", Math.min(TOP, profiles.size()), profiles.size()), NamedTextColor.GOLD))
+      .appendNewline();
+
+    for (final var profile : profiles.subList(0, Math.min(TOP, profiles.size()))) {
+      rs = rs.append(Component.text(String.format(" - %s: %s runs, total %s, avg %s, max %s",
+        profile.name(), profile.count(), formatNanos(profile.totalNanos()), formatNanos(profile.averageNanos()), formatNanos(profile.maxNanos())
+      ), NamedTextColor.GOLD)).appendNewline();
+    }
+
+    sender.sendMessage(rs);
+  }
+
+  @CommandDescription("Show the execution time histogram of a TickTask")
+  @CommandMethod("dreamapi profile task <name>")
+  @CommandPermission("dreamapi.cmd.profile")
+  private void onTask(CommandSender sender, @Argument(value = "name", suggestions = "profiles") String name) {
+    if (!checkEnabled(sender)) return;
+
+    final var profile = this.profiler.getProfile(name);
+    if (profile == null) {
+      sender.sendMessage(Component.text(String.format("No executions recorded for %s.", name), NamedTextColor.RED));
+      return;
+    }
+
+    var rs = Component.newline()
+      .append(Component.text(String.format("%s: %s runs, total %s, avg %s, max %s",
+        profile.name(), profile.count(), formatNanos(profile.totalNanos()), formatNanos(profile.averageNanos()), formatNanos(profile.maxNanos())
+      ), NamedTextColor.GOLD))
+      .appendNewline();
+
+    final long[] bounds = this.profiler.getHistogramBounds();
+    final long[] histogram = profile.histogram();
+    for (int i = 0; i < histogram.length; i++) {
+      final String range = i < bounds.length
+        ? String.format("< %s", formatNanos(bounds[i]))
+        : String.format(">= %s", formatNanos(bounds[bounds.length - 1]));
+
+      rs = rs.append(Component.text(String.format(" - %s: %s", range, histogram[i]), NamedTextColor.GOLD)).appendNewline();
+    }
+
+    sender.sendMessage(rs);
+  }
+
+  @Suggestions("profiles")
+  public List<String> suggestProfiles(CommandContext<CommandSender> sender, String input) {
+    return this.profiler.getProfiles().stream().map(TaskProfile::name).toList();
+  }
+
+  @CommandDescription("Start recording TickTask executions")
+  @CommandMethod("dreamapi profile on")
+  @CommandPermission("dreamapi.cmd.profile")
+  private void onEnable(CommandSender sender) {
+    this.profiler.setEnabled(true);
+    sender.sendMessage(Component.text("TickTask profiling enabled.", NamedTextColor.GOLD));
+  }
+
+  @CommandDescription("Stop recording TickTask executions")
+  @CommandMethod("dreamapi profile off")
+  @CommandPermission("dreamapi.cmd.profile")
+  private void onDisable(CommandSender sender) {
+    this.profiler.setEnabled(false);
+    sender.sendMessage(Component.text("TickTask profiling disabled, recorded metrics are kept.", NamedTextColor.GOLD));
+  }
+
+  @CommandDescription("Clear the recorded TickTask metrics")
+  @CommandMethod("dreamapi profile reset")
+  @CommandPermission("dreamapi.cmd.profile")
+  private void onReset(CommandSender sender) {
+    this.profiler.reset();
+    sender.sendMessage(Component.text("TickTask profile cleared.", NamedTextColor.GOLD));
+  }
+
+  // ###############################################################
+  // ----------------------- PRIVATE METHODS -----------------------
+  // ###############################################################
+
+  private boolean checkEnabled(final @NotNull CommandSender sender) {
+    if (this.profiler.isEnabled()) return true;
+
+    sender.sendMessage(Component.text("TickTask profiling is disabled: enable it with /dreamapi profile on, or start the server with -Ddreamapi.profile=true.", NamedTextColor.RED));
+    return false;
+  }
+
+  private static @NotNull String formatNanos(final long nanos) {
+    if (nanos >= 1_000_000L) return String.format("%.2fms", nanos / 1_000_000D);
+    if (nanos >= 1_000L) return String.format("%.1fµs", nanos / 1_000D);
+    return String.format("%sns", nanos);
+  }
+
+}